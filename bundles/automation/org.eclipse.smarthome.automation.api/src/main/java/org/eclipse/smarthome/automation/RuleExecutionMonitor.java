@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.automation;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Provides statistics about the rule runs caused by triggers.
+ *
+ * The rule engine executes the triggered rules on a shared thread pool. The runs of a single {@link Rule} are executed
+ * one after another, so triggers that fire while the rule is running are queued.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface RuleExecutionMonitor {
+
+    /**
+     * Gets the number of triggered rule runs that wait for their execution.
+     *
+     * @return the number of queued rule runs
+     */
+    int getQueuedRuns();
+
+    /**
+     * Gets the number of rule runs that are currently executed.
+     *
+     * @return the number of running rule runs
+     */
+    int getRunningRuns();
+
+    /**
+     * Gets the number of triggered rule runs that have been rejected because too many runs of the same rule were
+     * queued.
+     *
+     * @return the number of rejected rule runs
+     */
+    long getRejectedRuns();
+
+    /**
+     * Gets the number of rule runs that have been completed.
+     *
+     * @return the number of completed rule runs
+     */
+    long getCompletedRuns();
+
+}
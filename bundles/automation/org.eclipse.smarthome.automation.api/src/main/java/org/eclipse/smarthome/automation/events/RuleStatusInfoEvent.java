@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.automation.events;
 
+import java.util.function.Supplier;
+
 import org.eclipse.smarthome.automation.RuleStatusInfo;
 import org.eclipse.smarthome.core.events.AbstractEvent;
 
@@ -44,6 +46,22 @@ public class RuleStatusInfoEvent extends AbstractEvent {
         this.ruleId = ruleId;
     }
 
+    /**
+     * constructs a new rule status event with a lazily serialized payload
+     *
+     * @param topic           the topic of the event
+     * @param payloadSupplier the supplier of the payload of the event
+     * @param source          the source of the event
+     * @param statusInfo      the status info for this event
+     * @param ruleId          the rule for which this event is
+     */
+    public RuleStatusInfoEvent(String topic, Supplier<String> payloadSupplier, String source,
+            RuleStatusInfo statusInfo, String ruleId) {
+        super(topic, payloadSupplier, source);
+        this.statusInfo = statusInfo;
+        this.ruleId = ruleId;
+    }
+
     @Override
     public String getType() {
         return TYPE;
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.automation.internal.commands;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.automation.RuleExecutionMonitor;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console command extension to show the statistics of the rule executions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class RuleEngineConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATS = "stats";
+
+    private @NonNullByDefault({}) RuleExecutionMonitor ruleExecutionMonitor;
+
+    public RuleEngineConsoleCommandExtension() {
+        super("ruleengine", "Show information about the rule engine.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage(SUBCMD_STATS,
+                "shows the number of queued, running, rejected and completed rule runs"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_STATS.equals(args[0])) {
+            console.println("Queued runs:    " + ruleExecutionMonitor.getQueuedRuns());
+            console.println("Running runs:   " + ruleExecutionMonitor.getRunningRuns());
+            console.println("Rejected runs:  " + ruleExecutionMonitor.getRejectedRuns());
+            console.println("Completed runs: " + ruleExecutionMonitor.getCompletedRuns());
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Reference
+    protected void setRuleExecutionMonitor(RuleExecutionMonitor ruleExecutionMonitor) {
+        this.ruleExecutionMonitor = ruleExecutionMonitor;
+    }
+
+    protected void unsetRuleExecutionMonitor(RuleExecutionMonitor ruleExecutionMonitor) {
+        this.ruleExecutionMonitor = null;
+    }
+
+}
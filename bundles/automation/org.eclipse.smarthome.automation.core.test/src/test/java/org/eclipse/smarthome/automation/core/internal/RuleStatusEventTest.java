@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.smarthome.automation.RuleStatus;
+import org.eclipse.smarthome.automation.RuleStatusDetail;
+import org.eclipse.smarthome.automation.RuleStatusInfo;
+import org.eclipse.smarthome.automation.core.internal.ruleengine.WrappedRule;
+import org.eclipse.smarthome.automation.core.util.RuleBuilder;
+import org.junit.Test;
+
+/**
+ * Tests the status events posted for concurrent status changes of a rule.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleStatusEventTest {
+
+    private static final int CHANGES = 1000;
+
+    private final WrappedRule rule = new WrappedRule(RuleBuilder.create("rule").build());
+    private final List<RuleStatusInfo> events = new ArrayList<>();
+    private final AtomicBoolean postedUnderLock = new AtomicBoolean();
+
+    private final RuleEngineImpl ruleEngine = new RuleEngineImpl() {
+        @Override
+        protected void postRuleStatusInfoEvent(String ruleUID, RuleStatusInfo statusInfo) {
+            if (Thread.holdsLock(rule)) {
+                postedUnderLock.set(true);
+            }
+            synchronized (events) {
+                events.add(statusInfo);
+            }
+        }
+    };
+
+    @Test
+    public void testConcurrentStatusChangesArePostedInOrder() throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        CountDownLatch finished = new CountDownLatch(2);
+        List<RuleStatusInfo> idleChanges = startChanges(RuleStatus.IDLE, start, finished);
+        List<RuleStatusInfo> disabledChanges = startChanges(RuleStatus.UNINITIALIZED, start, finished);
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        assertEquals(CHANGES * 2, events.size());
+        assertFalse(postedUnderLock.get());
+        // the changes of each thread are posted in their order and the last event is the current status
+        assertEquals(idleChanges, filter(RuleStatus.IDLE));
+        assertEquals(disabledChanges, filter(RuleStatus.UNINITIALIZED));
+        assertSame(rule.getStatusInfo(), events.get(events.size() - 1));
+    }
+
+    private List<RuleStatusInfo> startChanges(RuleStatus status, CyclicBarrier start, CountDownLatch finished) {
+        List<RuleStatusInfo> changes = new ArrayList<>();
+        for (int i = 0; i < CHANGES; i++) {
+            changes.add(new RuleStatusInfo(status, RuleStatusDetail.NONE, String.valueOf(i)));
+        }
+        new Thread(() -> {
+            try {
+                start.await();
+                for (RuleStatusInfo change : changes) {
+                    ruleEngine.setStatus(rule, change);
+                }
+            } catch (Exception e) {
+                // the test fails as not all events are posted
+            } finally {
+                finished.countDown();
+            }
+        }).start();
+        return changes;
+    }
+
+    private List<RuleStatusInfo> filter(RuleStatus status) {
+        List<RuleStatusInfo> filtered = new ArrayList<>();
+        for (RuleStatusInfo event : events) {
+            if (event.getStatus() == status) {
+                filtered.add(event);
+            }
+        }
+        return filtered;
+    }
+
+}
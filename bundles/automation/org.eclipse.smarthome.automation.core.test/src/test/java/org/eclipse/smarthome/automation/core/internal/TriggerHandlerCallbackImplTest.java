@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.core.util.ModuleBuilder;
+import org.junit.Test;
+
+/**
+ * Tests the execution of the triggered rule runs on the shared {@link RuleExecutor}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TriggerHandlerCallbackImplTest {
+
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private final List<String> runs = new ArrayList<>();
+
+    private final RuleEngineImpl ruleEngine = new RuleEngineImpl() {
+        @Override
+        protected void runRule(String ruleUID, TriggerHandlerCallbackImpl.TriggerData td) {
+            runs.add(ruleUID + ":" + td.getTrigger().getId());
+        }
+    };
+
+    private final RuleExecutor executor = new RuleExecutor(tasks::add, 2);
+
+    @Test
+    public void testRunsOfOneRuleAreSerialized() {
+        TriggerHandlerCallbackImpl callback = new TriggerHandlerCallbackImpl(ruleEngine, "rule", executor);
+
+        callback.triggered(createTrigger("t1"), Collections.emptyMap());
+        callback.triggered(createTrigger("t2"), Collections.emptyMap());
+        assertEquals(1, tasks.size());
+        assertEquals(2, executor.getQueuedRuns());
+
+        runTasks();
+        assertEquals(Arrays.asList("rule:t1", "rule:t2"), runs);
+        assertEquals(0, executor.getQueuedRuns());
+        assertEquals(0, executor.getRunningRuns());
+        assertEquals(2, executor.getCompletedRuns());
+        assertFalse(callback.isRunning());
+    }
+
+    @Test
+    public void testRulesShareTheExecutor() {
+        TriggerHandlerCallbackImpl callback1 = new TriggerHandlerCallbackImpl(ruleEngine, "rule1", executor);
+        TriggerHandlerCallbackImpl callback2 = new TriggerHandlerCallbackImpl(ruleEngine, "rule2", executor);
+
+        callback1.triggered(createTrigger("t1"), Collections.emptyMap());
+        callback1.triggered(createTrigger("t2"), Collections.emptyMap());
+        callback2.triggered(createTrigger("t1"), Collections.emptyMap());
+        assertEquals(2, tasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList("rule1:t1", "rule2:t1", "rule1:t2"), runs);
+    }
+
+    @Test
+    public void testRunsAreRejectedIfTooManyAreQueued() {
+        TriggerHandlerCallbackImpl callback = new TriggerHandlerCallbackImpl(ruleEngine, "rule", executor);
+
+        callback.triggered(createTrigger("t1"), Collections.emptyMap());
+        callback.triggered(createTrigger("t2"), Collections.emptyMap());
+        callback.triggered(createTrigger("t3"), Collections.emptyMap());
+        assertEquals(1, executor.getRejectedRuns());
+
+        runTasks();
+        assertEquals(Arrays.asList("rule:t1", "rule:t2"), runs);
+    }
+
+    @Test
+    public void testDisposeDiscardsQueuedRuns() {
+        TriggerHandlerCallbackImpl callback = new TriggerHandlerCallbackImpl(ruleEngine, "rule", executor);
+
+        callback.triggered(createTrigger("t1"), Collections.emptyMap());
+        callback.dispose();
+        callback.triggered(createTrigger("t2"), Collections.emptyMap());
+        assertEquals(0, executor.getQueuedRuns());
+
+        runTasks();
+        assertTrue(runs.isEmpty());
+    }
+
+    @Test
+    public void testRejectedSchedulingIsCounted() {
+        RuleExecutor rejectingExecutor = new RuleExecutor(task -> {
+            throw new RejectedExecutionException("shut down");
+        }, 2);
+        TriggerHandlerCallbackImpl callback = new TriggerHandlerCallbackImpl(ruleEngine, "rule", rejectingExecutor);
+
+        callback.triggered(createTrigger("t1"), Collections.emptyMap());
+        assertEquals(0, rejectingExecutor.getQueuedRuns());
+        assertEquals(1, rejectingExecutor.getRejectedRuns());
+        assertFalse(callback.isRunning());
+    }
+
+    @Test
+    public void testConcurrentRulesAreLimited() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(4);
+        RuleEngineImpl limitedRuleEngine = new RuleEngineImpl() {
+            @Override
+            protected void runRule(String ruleUID, TriggerHandlerCallbackImpl.TriggerData td) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            }
+        };
+        limitedRuleEngine.modified(Collections.singletonMap(RuleEngineImpl.CONFIG_MAX_THREADS, 2));
+
+        for (int i = 0; i < 4; i++) {
+            new TriggerHandlerCallbackImpl(limitedRuleEngine, "rule" + i, limitedRuleEngine.getRuleExecutor())
+                    .triggered(createTrigger("t"), Collections.emptyMap());
+        }
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private Trigger createTrigger(String id) {
+        return ModuleBuilder.createTrigger().withId(id).withTypeUID("test.trigger").build();
+    }
+
+}
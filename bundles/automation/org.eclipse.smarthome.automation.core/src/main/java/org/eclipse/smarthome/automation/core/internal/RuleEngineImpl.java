@@ -24,9 +24,12 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,6 +39,7 @@ import org.eclipse.smarthome.automation.Condition;
 import org.eclipse.smarthome.automation.Module;
 import org.eclipse.smarthome.automation.ModuleHandlerCallback;
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionMonitor;
 import org.eclipse.smarthome.automation.RuleManager;
 import org.eclipse.smarthome.automation.RuleRegistry;
 import org.eclipse.smarthome.automation.RuleStatus;
@@ -67,6 +71,7 @@ import org.eclipse.smarthome.automation.type.ModuleType;
 import org.eclipse.smarthome.automation.type.ModuleTypeRegistry;
 import org.eclipse.smarthome.automation.type.Output;
 import org.eclipse.smarthome.automation.type.TriggerType;
+import org.eclipse.smarthome.core.common.ThreadFactoryBuilder;
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventPublisher;
@@ -75,6 +80,7 @@ import org.eclipse.smarthome.core.storage.StorageService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -99,9 +105,9 @@ import org.slf4j.LoggerFactory;
  * @author Markus Rathgeb - use a managed rule
  * @author Ana Dimova - new reference syntax: list[index], map["key"], bean.field
  */
-@Component(immediate = true)
+@Component(immediate = true, configurationPid = "org.eclipse.smarthome.automation.ruleengine")
 @NonNullByDefault
-public class RuleEngineImpl implements RuleManager, RegistryChangeListener<ModuleType> {
+public class RuleEngineImpl implements RuleManager, RuleExecutionMonitor, RegistryChangeListener<ModuleType> {
 
     /**
      * Constant defining separator between module id and output name.
@@ -110,6 +116,31 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
 
     private static final String DISABLED_RULE_STORAGE = "automation_rules_disabled";
 
+    /**
+     * The name of the thread pool executing the triggered rules.
+     */
+    static final String RULE_POOL_NAME = "ruleEngine";
+
+    /**
+     * The configuration parameter for the maximum number of queued runs per rule.
+     */
+    static final String CONFIG_MAX_QUEUED_RUNS = "maxQueuedRuns";
+
+    private static final int DEFAULT_MAX_QUEUED_RUNS = 1000;
+
+    /**
+     * The configuration parameter for the maximum number of rules running at the same time.
+     */
+    static final String CONFIG_MAX_THREADS = "maxThreads";
+
+    private static final int DEFAULT_MAX_THREADS = 20;
+
+    /**
+     * The configuration parameter to enable the status events of the transitions between {@link RuleStatus#IDLE} and
+     * {@link RuleStatus#RUNNING}.
+     */
+    static final String CONFIG_RUN_STATUS_EVENTS = "runStatusEvents";
+
     /**
      * Delay between rule's re-initialization tries.
      */
@@ -124,6 +155,25 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
      */
     private final @NonNullByDefault({}) Map<String, TriggerHandlerCallbackImpl> thCallbacks = new HashMap<String, TriggerHandlerCallbackImpl>();
 
+    /**
+     * The thread pool executing the triggered rules. Its size limits the number of rules running at the same time, the
+     * other triggered rules wait in its queue. As a rule is only queued once, no matter how often it is triggered, the
+     * queue never holds more entries than there are rules. Idle threads are released.
+     */
+    private final ThreadPoolExecutor rulePool = new ThreadPoolExecutor(DEFAULT_MAX_THREADS, DEFAULT_MAX_THREADS, 60L,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            ThreadFactoryBuilder.create().withName(RULE_POOL_NAME).build());
+
+    /**
+     * Executes the triggered rules on the shared thread pool.
+     */
+    private final RuleExecutor ruleExecutor = new RuleExecutor(rulePool, DEFAULT_MAX_QUEUED_RUNS);
+
+    /**
+     * Whether the status changes caused by rule runs are posted as {@link RuleStatusInfoEvent}s.
+     */
+    private volatile boolean runStatusEvents = true;
+
     /**
      * {@link Map} holding all {@link ModuleType} UIDs that are available in some rule's module definition. The relation
      * is {@link ModuleType}'s UID to {@link Set} of {@link Rule} UIDs.
@@ -250,7 +300,8 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
      * {@link ModuleType}s. Called from DS to activate the rule engine component.
      */
     @Activate
-    protected void activate() {
+    protected void activate(@Nullable Map<String, Object> config) {
+        modified(config);
         compositeFactory = new CompositeModuleHandlerFactory(mtRegistry, this);
 
         // enable the rules that are not persisted as Disabled;
@@ -263,6 +314,51 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
         }
     }
 
+    /**
+     * Applies the configuration of the rule engine - called from DS.
+     *
+     * @param config the configuration properties
+     */
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        int maxQueuedRuns = DEFAULT_MAX_QUEUED_RUNS;
+        Object value = config != null ? config.get(CONFIG_MAX_QUEUED_RUNS) : null;
+        if (value != null) {
+            try {
+                maxQueuedRuns = Math.max(1, Integer.parseInt(value.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid maximum number of queued rule runs '{}'.", value);
+            }
+        }
+        ruleExecutor.setMaxQueuedRuns(maxQueuedRuns);
+
+        int maxThreads = DEFAULT_MAX_THREADS;
+        value = config != null ? config.get(CONFIG_MAX_THREADS) : null;
+        if (value != null) {
+            try {
+                maxThreads = Math.max(1, Integer.parseInt(value.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid maximum number of rule threads '{}'.", value);
+            }
+        }
+        setMaxThreads(maxThreads);
+
+        value = config != null ? config.get(CONFIG_RUN_STATUS_EVENTS) : null;
+        runStatusEvents = value == null || Boolean.parseBoolean(value.toString());
+    }
+
+    private void setMaxThreads(int maxThreads) {
+        rulePool.allowCoreThreadTimeOut(true);
+        // the core size must never exceed the maximum size
+        if (maxThreads > rulePool.getMaximumPoolSize()) {
+            rulePool.setMaximumPoolSize(maxThreads);
+            rulePool.setCorePoolSize(maxThreads);
+        } else {
+            rulePool.setCorePoolSize(maxThreads);
+            rulePool.setMaximumPoolSize(maxThreads);
+        }
+    }
+
     /**
      * Bind the {@link ModuleTypeRegistry} service - called from DS.
      *
@@ -646,7 +742,7 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
     private synchronized TriggerHandlerCallbackImpl getTriggerHandlerCallback(String ruleUID) {
         TriggerHandlerCallbackImpl result = thCallbacks.get(ruleUID);
         if (result == null) {
-            result = new TriggerHandlerCallbackImpl(this, ruleUID);
+            result = new TriggerHandlerCallbackImpl(this, ruleUID, ruleExecutor);
             thCallbacks.put(ruleUID, result);
         }
         return result;
@@ -899,8 +995,44 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
         if (rule == null) {
             return;
         }
-        rule.setStatusInfo(newStatusInfo);
-        postRuleStatusInfoEvent(ruleUID, newStatusInfo);
+        setStatus(rule, newStatusInfo);
+    }
+
+    /**
+     * This method updates the status of the {@link Rule} and posts the status event.
+     *
+     * @param rule the rule
+     * @param newStatusInfo the new status of the rule
+     */
+    void setStatus(WrappedRule rule, RuleStatusInfo newStatusInfo) {
+        final boolean post;
+        synchronized (rule) {
+            rule.setStatusInfo(newStatusInfo);
+            post = rule.queueStatusEvent(newStatusInfo);
+        }
+        if (post) {
+            postStatusEvents(rule);
+        }
+    }
+
+    /**
+     * Posts the queued status events of a rule. The status changes are queued under the lock of the rule, but posted
+     * without holding it. Only one thread posts the events of a rule at a time, so they are posted in the order of the
+     * status changes.
+     *
+     * @param rule the rule whose events should be posted
+     */
+    private void postStatusEvents(WrappedRule rule) {
+        while (true) {
+            final RuleStatusInfo statusInfo;
+            synchronized (rule) {
+                statusInfo = rule.pollStatusEvent();
+            }
+            if (statusInfo == null) {
+                return;
+            }
+            postRuleStatusInfoEvent(rule.getUID(), statusInfo);
+        }
     }
 
     /**
@@ -985,20 +1117,18 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
             // the rule was unregistered
             return;
         }
-        synchronized (this) {
-            final RuleStatus ruleStatus = getRuleStatus(ruleUID);
-            if (ruleStatus != RuleStatus.IDLE) {
-                logger.error("Failed to execute rule ‘{}' with status '{}'", ruleUID, ruleStatus.name());
-                return;
-            }
-            // change state to RUNNING
-            setStatus(ruleUID, new RuleStatusInfo(RuleStatus.RUNNING));
+        final WrappedRule rule = managedRules.get(ruleUID);
+        if (rule == null) {
+            return;
+        }
+        final RuleStatusInfo runningStatusInfo = startRun(rule);
+        if (runningStatusInfo == null) {
+            return;
         }
         try {
             clearContext(ruleUID);
 
             setTriggerOutputs(ruleUID, td);
-            final WrappedRule rule = managedRules.get(ruleUID);
             boolean isSatisfied = calculateConditions(rule);
             if (isSatisfied) {
                 executeActions(rule, true);
@@ -1010,12 +1140,7 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
             logger.error("Failed to execute rule '{}': {}", ruleUID, t.getMessage());
             logger.debug("", t);
         }
-        // change state to IDLE only if the rule has not been DISABLED.
-        synchronized (this) {
-            if (getRuleStatus(ruleUID) == RuleStatus.RUNNING) {
-                setStatus(ruleUID, new RuleStatusInfo(RuleStatus.IDLE));
-            }
-        }
+        finishRun(rule, runningStatusInfo);
     }
 
     @Override
@@ -1025,14 +1150,9 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
             logger.warn("Failed to execute rule '{}': Invalid Rule UID", ruleUID);
             return;
         }
-        synchronized (this) {
-            final RuleStatus ruleStatus = getRuleStatus(ruleUID);
-            if (ruleStatus != RuleStatus.IDLE) {
-                logger.error("Failed to execute rule ‘{}' with status '{}'", ruleUID, ruleStatus.name());
-                return;
-            }
-            // change state to RUNNING
-            setStatus(ruleUID, new RuleStatusInfo(RuleStatus.RUNNING));
+        final RuleStatusInfo runningStatusInfo = startRun(rule);
+        if (runningStatusInfo == null) {
+            return;
         }
         try {
             clearContext(ruleUID);
@@ -1050,11 +1170,53 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
         } catch (Throwable t) {
             logger.error("Failed to execute rule '{}': ", ruleUID, t);
         }
-        // change state to IDLE only if the rule has not been DISABLED.
-        synchronized (this) {
-            if (getRuleStatus(ruleUID) == RuleStatus.RUNNING) {
-                setStatus(ruleUID, new RuleStatusInfo(RuleStatus.IDLE));
+        finishRun(rule, runningStatusInfo);
+    }
+
+    /**
+     * Changes the status of a rule from {@link RuleStatus#IDLE} to {@link RuleStatus#RUNNING}. The status is changed
+     * under the lock of the rule, so rules can be run in parallel without locking the rule engine. The status event is
+     * posted after releasing the lock, see {@link #postStatusEvents(WrappedRule)}.
+     *
+     * @param rule the rule that should be run
+     * @return the status info of the run, or null if the rule is not idle
+     */
+    private @Nullable RuleStatusInfo startRun(WrappedRule rule) {
+        final RuleStatusInfo runningStatusInfo = new RuleStatusInfo(RuleStatus.RUNNING);
+        final boolean post;
+        synchronized (rule) {
+            final RuleStatus ruleStatus = rule.getStatusInfo().getStatus();
+            if (ruleStatus != RuleStatus.IDLE) {
+                logger.error("Failed to execute rule ‘{}' with status '{}'", rule.getUID(), ruleStatus.name());
+                return null;
             }
+            rule.setStatusInfo(runningStatusInfo);
+            post = runStatusEvents && rule.queueStatusEvent(runningStatusInfo);
+        }
+        if (post) {
+            postStatusEvents(rule);
+        }
+        return runningStatusInfo;
+    }
+
+    /**
+     * Changes the status of a rule back to {@link RuleStatus#IDLE} after a run, unless the status has been changed
+     * during the run (e.g. because the rule has been disabled).
+     *
+     * @param rule the rule that has been run
+     * @param runningStatusInfo the status info returned by {@link #startRun(WrappedRule)}
+     */
+    private void finishRun(WrappedRule rule, RuleStatusInfo runningStatusInfo) {
+        final RuleStatusInfo idleStatusInfo = new RuleStatusInfo(RuleStatus.IDLE);
+        boolean post = false;
+        synchronized (rule) {
+            if (rule.getStatusInfo() == runningStatusInfo) {
+                rule.setStatusInfo(idleStatusInfo);
+                post = runStatusEvents && rule.queueStatusEvent(idleStatusInfo);
+            }
+        }
+        if (post) {
+            postStatusEvents(rule);
         }
     }
 
@@ -1239,6 +1401,7 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
         scheduleTasks.clear();
         contextMap.clear();
         unsetRuleRegistry(ruleRegistry);
+        rulePool.shutdown();
     }
 
     /**
@@ -1265,6 +1428,30 @@ public class RuleEngineImpl implements RuleManager, RegistryChangeListener<Modul
         return newExecutor;
     }
 
+    RuleExecutor getRuleExecutor() {
+        return ruleExecutor;
+    }
+
+    @Override
+    public int getQueuedRuns() {
+        return ruleExecutor.getQueuedRuns();
+    }
+
+    @Override
+    public int getRunningRuns() {
+        return ruleExecutor.getRunningRuns();
+    }
+
+    @Override
+    public long getRejectedRuns() {
+        return ruleExecutor.getRejectedRuns();
+    }
+
+    @Override
+    public long getCompletedRuns() {
+        return ruleExecutor.getCompletedRuns();
+    }
+
     /**
      * Validates IDs of modules. The module ids must be alphanumeric with only underscores and dashes.
      *
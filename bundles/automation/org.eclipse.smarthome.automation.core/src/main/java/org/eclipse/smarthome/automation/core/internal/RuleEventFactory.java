@@ -143,8 +143,7 @@ public class RuleEventFactory extends AbstractEventFactory {
     public static RuleStatusInfoEvent createRuleStatusInfoEvent(RuleStatusInfo statusInfo, String ruleUID,
             String source) {
         String topic = buildTopic(RULE_STATE_EVENT_TOPIC, ruleUID);
-        String payload = serializePayload(statusInfo);
-        return new RuleStatusInfoEvent(topic, payload, source, statusInfo, ruleUID);
+        return new RuleStatusInfoEvent(topic, () -> serializePayload(statusInfo), source, statusInfo, ruleUID);
     }
 
     /**
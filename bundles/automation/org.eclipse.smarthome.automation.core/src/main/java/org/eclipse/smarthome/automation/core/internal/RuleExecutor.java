@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.automation.RuleExecutionMonitor;
+
+/**
+ * The shared executor of the triggered rule runs.
+ *
+ * The runs of all rules are executed by one thread pool, the {@link TriggerHandlerCallbackImpl} of every rule makes
+ * sure that the runs of its rule are executed one after another. This class keeps the limit of queued runs per rule
+ * and the statistics.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RuleExecutor implements RuleExecutionMonitor {
+
+    private final Executor executor;
+    private volatile int maxQueuedRuns;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Creates a new rule executor.
+     *
+     * @param executor the executor the rules are executed on
+     * @param maxQueuedRuns the maximum number of queued runs per rule
+     */
+    public RuleExecutor(Executor executor, int maxQueuedRuns) {
+        this.executor = executor;
+        this.maxQueuedRuns = maxQueuedRuns;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    int getMaxQueuedRuns() {
+        return maxQueuedRuns;
+    }
+
+    void setMaxQueuedRuns(int maxQueuedRuns) {
+        this.maxQueuedRuns = maxQueuedRuns;
+    }
+
+    void runQueued() {
+        queued.incrementAndGet();
+    }
+
+    void runRejected() {
+        rejected.incrementAndGet();
+    }
+
+    void runsDiscarded(int count) {
+        queued.addAndGet(-count);
+    }
+
+    void runsRejected(int count) {
+        queued.addAndGet(-count);
+        rejected.addAndGet(count);
+    }
+
+    void runStarted() {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+    }
+
+    void runFinished() {
+        running.decrementAndGet();
+        completed.incrementAndGet();
+    }
+
+    @Override
+    public int getQueuedRuns() {
+        return queued.get();
+    }
+
+    @Override
+    public int getRunningRuns() {
+        return running.get();
+    }
+
+    @Override
+    public long getRejectedRuns() {
+        return rejected.get();
+    }
+
+    @Override
+    public long getCompletedRuns() {
+        return completed.get();
+    }
+
+}
@@ -12,12 +12,9 @@
  */
 package org.eclipse.smarthome.automation.core.internal;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.smarthome.automation.RuleStatus;
 import org.eclipse.smarthome.automation.RuleStatusInfo;
@@ -32,39 +29,95 @@ import org.eclipse.smarthome.automation.handler.TriggerHandlerCallback;
  * all
  * rule's {@link Trigger}s.
  *
+ * The triggered runs are queued and executed one after another on the shared {@link RuleExecutor}, so no thread is
+ * occupied by a rule that is not running.
+ *
  * @author Yordan Mihaylov - Initial Contribution
  * @author Kai Kreuzer - improved stability
  */
-public class TriggerHandlerCallbackImpl implements TriggerHandlerCallback {
+public class TriggerHandlerCallbackImpl implements TriggerHandlerCallback, Runnable {
 
     private final String ruleUID;
 
-    private ExecutorService executor;
+    private final RuleExecutor executor;
 
-    private Future<?> future;
+    // guarded by this
+    private final ArrayDeque<TriggerData> queue = new ArrayDeque<>();
+    private boolean scheduled;
+    private boolean disposed;
 
     private final RuleEngineImpl re;
 
-    protected TriggerHandlerCallbackImpl(RuleEngineImpl re, String ruleUID) {
+    protected TriggerHandlerCallbackImpl(RuleEngineImpl re, String ruleUID, RuleExecutor executor) {
         this.re = re;
         this.ruleUID = ruleUID;
-        executor = Executors.newSingleThreadExecutor();
+        this.executor = executor;
     }
 
     @Override
     public void triggered(Trigger trigger, Map<String, ?> outputs) {
         synchronized (this) {
-            if (executor == null) {
+            if (disposed) {
+                return;
+            }
+            if (queue.size() >= executor.getMaxQueuedRuns()) {
+                executor.runRejected();
+                re.logger.warn("Discarding trigger '{}' of rule '{}', because {} runs of the rule are queued.",
+                        trigger.getId(), ruleUID, queue.size());
                 return;
             }
-            future = executor.submit(new TriggerData(trigger, outputs));
+            queue.add(new TriggerData(trigger, outputs));
+            executor.runQueued();
+            if (!scheduled) {
+                scheduled = true;
+                schedule();
+            }
         }
         re.logger.debug("The trigger '{}' of rule '{}' is triggered.", trigger.getId(), ruleUID);
     }
 
-    public boolean isRunning() {
-        Future<?> future = this.future;
-        return future == null || !future.isDone();
+    private void schedule() {
+        try {
+            executor.getExecutor().execute(this);
+        } catch (RejectedExecutionException e) {
+            scheduled = false;
+            executor.runsRejected(queue.size());
+            queue.clear();
+            re.logger.warn("Cannot execute rule '{}': {}", ruleUID, e.getMessage());
+        }
+    }
+
+    /**
+     * Executes the next queued run of the rule.
+     */
+    @Override
+    public void run() {
+        TriggerData td;
+        synchronized (this) {
+            td = queue.poll();
+            if (td == null) {
+                scheduled = false;
+                return;
+            }
+        }
+        executor.runStarted();
+        try {
+            td.run();
+        } finally {
+            executor.runFinished();
+            synchronized (this) {
+                // give the other rules a chance before the next run of this rule
+                if (queue.isEmpty() || disposed) {
+                    scheduled = false;
+                } else {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduled;
     }
 
     class TriggerData implements Runnable {
@@ -94,11 +147,9 @@ public class TriggerHandlerCallbackImpl implements TriggerHandlerCallback {
 
     public void dispose() {
         synchronized (this) {
-            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-                executor.shutdownNow();
-                return null;
-            });
-            executor = null;
+            disposed = true;
+            executor.runsDiscarded(queue.size());
+            queue.clear();
         }
     }
 
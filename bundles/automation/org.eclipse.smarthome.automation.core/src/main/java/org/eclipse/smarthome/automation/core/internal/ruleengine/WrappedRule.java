@@ -12,14 +12,17 @@
  */
 package org.eclipse.smarthome.automation.core.internal.ruleengine;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.automation.Module;
 import org.eclipse.smarthome.automation.Rule;
 import org.eclipse.smarthome.automation.RuleStatus;
@@ -48,7 +51,11 @@ public class WrappedRule {
 
     private final Rule rule;
 
-    private RuleStatusInfo statusInfo = new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.NONE);
+    private volatile RuleStatusInfo statusInfo = new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.NONE);
+
+    /* the status changes whose events have not been posted yet, guarded by the lock of this rule */
+    private final Queue<RuleStatusInfo> statusEvents = new ArrayDeque<>();
+    private boolean postingStatusEvents;
 
     private final List<WrappedModule<Module, ModuleHandler>> modules;
     private final List<WrappedAction> actions;
@@ -80,6 +87,35 @@ public class WrappedRule {
         this.statusInfo = statusInfo;
     }
 
+    /**
+     * Queues the event of a status change. Must be called while holding the lock of this rule.
+     *
+     * @param statusInfo the new status info
+     * @return true if the caller has to post the queued events, false if another thread is already posting them
+     */
+    public boolean queueStatusEvent(final RuleStatusInfo statusInfo) {
+        statusEvents.add(statusInfo);
+        if (postingStatusEvents) {
+            return false;
+        }
+        postingStatusEvents = true;
+        return true;
+    }
+
+    /**
+     * Takes the next queued status event. Must be called while holding the lock of this rule by the thread posting the
+     * events.
+     *
+     * @return the status info of the next event, or null if all events have been taken
+     */
+    public @Nullable RuleStatusInfo pollStatusEvent() {
+        final RuleStatusInfo statusInfo = statusEvents.poll();
+        if (statusInfo == null) {
+            postingStatusEvents = false;
+        }
+        return statusInfo;
+    }
+
     public List<WrappedAction> getActions() {
         return actions;
     }
@@ -33,6 +33,7 @@ import org.eclipse.smarthome.config.core.ConfigDescriptionRegistry;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.config.discovery.DiscoveryResult;
 import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
+import org.eclipse.smarthome.config.discovery.DiscoveryService;
 import org.eclipse.smarthome.config.discovery.inbox.events.InboxAddedEvent;
 import org.eclipse.smarthome.config.discovery.inbox.events.InboxUpdatedEvent;
 import org.eclipse.smarthome.core.events.EventPublisher;
@@ -193,6 +194,67 @@ public class PersistentInboxTest {
         assertThat(eventCaptor.getValue().getDiscoveryResult().properties, hasEntry("foo", "bar"));
     }
 
+    @Test
+    public void testIdenticalRediscoveryIsCoalesced() {
+        DiscoveryResult result = DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build();
+
+        EventPublisher eventPublisher = mock(EventPublisher.class);
+        inbox.setEventPublisher(eventPublisher);
+        inbox.setCoalescingWindow(60000);
+
+        when(storage.get(THING_UID.toString())).thenReturn(null).thenReturn(result);
+
+        assertTrue(inbox.add(result));
+        assertTrue(inbox.add(DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build()));
+
+        verify(storage, times(1)).set(eq(THING_UID.toString()), any());
+        verify(eventPublisher, times(1)).post(any(InboxAddedEvent.class));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testChangedRediscoveryIsNotCoalesced() {
+        DiscoveryResult result = DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build();
+
+        EventPublisher eventPublisher = mock(EventPublisher.class);
+        inbox.setEventPublisher(eventPublisher);
+        inbox.setCoalescingWindow(60000);
+
+        when(storage.get(THING_UID.toString())).thenReturn(null).thenReturn(result);
+
+        inbox.add(result);
+        inbox.add(DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 4).build());
+
+        verify(storage, times(2)).set(eq(THING_UID.toString()), any());
+        verify(eventPublisher).post(any(InboxUpdatedEvent.class));
+    }
+
+    @Test
+    public void testRediscoveryIsStoredWithoutCoalescingWindow() {
+        DiscoveryResult result = DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build();
+
+        when(storage.get(THING_UID.toString())).thenReturn(null).thenReturn(result);
+
+        inbox.add(result);
+        inbox.add(DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build());
+
+        verify(storage, times(2)).set(eq(THING_UID.toString()), any());
+    }
+
+    @Test
+    public void testRemoveOlderResultsUsesIndex() {
+        DiscoveryResult result = DiscoveryResultBuilder.create(THING_UID).withProperty("foo", 3).build();
+
+        when(storage.get(THING_UID.toString())).thenReturn(null).thenReturn(result);
+        inbox.add(result);
+
+        assertTrue(inbox.removeOlderResults(mock(DiscoveryService.class), System.currentTimeMillis() + 1,
+                Collections.singleton(new ThingTypeUID("test", "other")), null).isEmpty());
+        assertTrue(inbox.removeOlderResults(mock(DiscoveryService.class), System.currentTimeMillis() + 1,
+                Collections.singleton(THING_TYPE_UID), null).contains(THING_UID));
+        verify(storage).remove(THING_UID.toString());
+    }
+
     private void configureConfigDescriptionRegistryMock(String paramName, Type type) throws URISyntaxException {
         URI configDescriptionURI = new URI("thing-type:test:test");
         ThingType thingType = ThingTypeBuilder.instance(THING_TYPE_UID, "Test")
@@ -66,6 +66,7 @@ import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -78,8 +79,11 @@ import org.slf4j.LoggerFactory;
  * This implementation uses the {@link DiscoveryServiceRegistry} to register itself as {@link DiscoveryListener} to
  * receive {@link DiscoveryResult} objects automatically from {@link DiscoveryService}s.
  * <p>
- * This implementation does neither handle memory leaks (orphaned listener instances) nor blocked listeners. No
- * performance optimizations have been done (synchronization).
+ * The entries are kept in an index by their {@link ThingUID}, so that expiry, bridge and age lookups do not need to
+ * read all results from the storage. Identical re-discoveries of an entry may be coalesced within the configurable
+ * {@code coalescingWindow}: they only refresh the entry in memory and are neither stored nor announced.
+ * <p>
+ * This implementation does neither handle memory leaks (orphaned listener instances) nor blocked listeners.
  *
  * @author Michael Grammling - Initial Contribution
  * @author Dennis Nobel - Added automated removing of entries
@@ -90,9 +94,11 @@ import org.slf4j.LoggerFactory;
  *
  */
 @NonNullByDefault
-@Component(immediate = true, service = Inbox.class)
+@Component(immediate = true, service = Inbox.class, configurationPid = "org.eclipse.smarthome.inbox")
 public final class PersistentInbox implements Inbox, DiscoveryListener, ThingRegistryChangeListener {
 
+    public static final String COALESCING_WINDOW_CONFIG_PROPERTY = "coalescingWindow";
+
     // Internal enumeration to identify the correct type of the event to be fired.
     private enum EventType {
         added,
@@ -110,20 +116,40 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
 
         @Override
         public void run() {
-            long now = new Date().getTime();
-            for (DiscoveryResult result : inbox.getAll()) {
-                if (isResultExpired(result, now)) {
-                    logger.debug("Inbox entry for thing {} is expired and will be removed", result.getThingUID());
-                    remove(result.getThingUID());
+            long now = System.currentTimeMillis();
+            for (Map.Entry<ThingUID, IndexEntry> entry : inbox.index.entrySet()) {
+                if (entry.getValue().isExpired(now)) {
+                    logger.debug("Inbox entry for thing {} is expired and will be removed", entry.getKey());
+                    remove(entry.getKey());
                 }
             }
         }
+    }
+
+    /**
+     * The indexed state of an inbox entry, which keeps the time of its last discovery in memory.
+     */
+    private static class IndexEntry {
 
-        private boolean isResultExpired(DiscoveryResult result, long now) {
-            if (result.getTimeToLive() == DiscoveryResult.TTL_UNLIMITED) {
+        final ThingTypeUID thingTypeUID;
+        final @Nullable ThingUID bridgeUID;
+        final long timeToLive;
+        final long lastStored;
+        volatile long lastSeen;
+
+        IndexEntry(DiscoveryResult result, long now) {
+            this.thingTypeUID = result.getThingTypeUID();
+            this.bridgeUID = result.getBridgeUID();
+            this.timeToLive = result.getTimeToLive();
+            this.lastStored = now;
+            this.lastSeen = now;
+        }
+
+        boolean isExpired(long now) {
+            if (timeToLive == DiscoveryResult.TTL_UNLIMITED) {
                 return false;
             }
-            return (result.getTimestamp() + result.getTimeToLive() * 1000 < now);
+            return lastSeen + timeToLive * 1000 < now;
         }
     }
 
@@ -141,6 +167,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     private @NonNullByDefault({}) ScheduledFuture<?> timeToLiveChecker;
     private @Nullable EventPublisher eventPublisher;
     private final List<ThingHandlerFactory> thingHandlerFactories = new CopyOnWriteArrayList<>();
+    private final Map<ThingUID, IndexEntry> index = new ConcurrentHashMap<>();
+    private volatile long coalescingWindow = 0;
 
     @Override
     public @Nullable Thing approve(ThingUID thingUID, @Nullable String label) {
@@ -174,12 +202,50 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     }
 
     @Override
-    public synchronized boolean add(final @Nullable DiscoveryResult discoveryResult) throws IllegalStateException {
+    public boolean add(final @Nullable DiscoveryResult discoveryResult) throws IllegalStateException {
         if (discoveryResult == null) {
             return false;
         }
-        final DiscoveryResult result = discoveryResult;
+        if (coalesce(discoveryResult)) {
+            return true;
+        }
+        return addOrUpdate(discoveryResult);
+    }
+
+    /**
+     * Absorbs a re-discovery which is identical to the entry stored within the coalescing window by only refreshing
+     * the time the entry was last seen.
+     *
+     * @return true if the result has been coalesced and needs no further processing
+     */
+    private boolean coalesce(DiscoveryResult result) {
+        IndexEntry entry = index.get(result.getThingUID());
+        if (entry == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.lastStored >= coalescingWindow) {
+            return false;
+        }
+        DiscoveryResult inboxResult = get(result.getThingUID());
+        if (inboxResult == null || !isSameResult(inboxResult, result)) {
+            return false;
+        }
+        entry.lastSeen = now;
+        logger.trace("Coalesced re-discovery of '{}'.", result.getThingUID());
+        return true;
+    }
+
+    private boolean isSameResult(DiscoveryResult inboxResult, DiscoveryResult result) {
+        return inboxResult.getThingTypeUID().equals(result.getThingTypeUID())
+                && Objects.equals(inboxResult.getBridgeUID(), result.getBridgeUID())
+                && Objects.equals(inboxResult.getLabel(), result.getLabel())
+                && Objects.equals(inboxResult.getRepresentationProperty(), result.getRepresentationProperty())
+                && inboxResult.getTimeToLive() == result.getTimeToLive()
+                && inboxResult.getProperties().equals(result.getProperties());
+    }
 
+    private synchronized boolean addOrUpdate(final DiscoveryResult result) {
         ThingUID thingUID = result.getThingUID();
         Thing thing = this.thingRegistry.get(thingUID);
 
@@ -187,7 +253,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
             DiscoveryResult inboxResult = get(thingUID);
 
             if (inboxResult == null) {
-                discoveryResultStorage.put(result.getThingUID().toString(), result);
+                discoveryResultStorage.set(result.getThingUID().toString(), result);
+                index.put(thingUID, new IndexEntry(result, System.currentTimeMillis()));
                 notifyListeners(result, EventType.added);
                 logger.info("Added new thing '{}' to inbox.", thingUID);
                 return true;
@@ -195,7 +262,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                 if (inboxResult instanceof DiscoveryResultImpl) {
                     DiscoveryResultImpl resultImpl = (DiscoveryResultImpl) inboxResult;
                     resultImpl.synchronize(result);
-                    discoveryResultStorage.put(result.getThingUID().toString(), resultImpl);
+                    discoveryResultStorage.set(result.getThingUID().toString(), resultImpl);
+                    index.put(thingUID, new IndexEntry(resultImpl, System.currentTimeMillis()));
                     notifyListeners(resultImpl, EventType.updated);
                     logger.debug("Updated discovery result for '{}'.", thingUID);
                     return true;
@@ -326,6 +394,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                 }
                 resultDiscovererMap.remove(discoveryResult);
                 this.discoveryResultStorage.remove(thingUID.toString());
+                index.remove(thingUID);
                 notifyListeners(discoveryResult, EventType.removed);
                 return true;
             }
@@ -356,17 +425,25 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     public @Nullable Collection<ThingUID> removeOlderResults(DiscoveryService source, long timestamp,
             @Nullable Collection<ThingTypeUID> thingTypeUIDs, @Nullable ThingUID bridgeUID) {
         HashSet<ThingUID> removedThings = new HashSet<>();
-        for (DiscoveryResult discoveryResult : getAll()) {
+        if (thingTypeUIDs == null) {
+            return removedThings;
+        }
+        for (Map.Entry<ThingUID, IndexEntry> indexEntry : index.entrySet()) {
+            IndexEntry entry = indexEntry.getValue();
+            if (!thingTypeUIDs.contains(entry.thingTypeUID) || entry.lastSeen >= timestamp
+                    || (bridgeUID != null && !bridgeUID.equals(entry.bridgeUID))) {
+                continue;
+            }
+            DiscoveryResult discoveryResult = get(indexEntry.getKey());
+            if (discoveryResult == null || discoveryResult.getTimestamp() >= timestamp) {
+                continue;
+            }
             Class<?> discoverer = resultDiscovererMap.get(discoveryResult);
-            if (thingTypeUIDs != null && thingTypeUIDs.contains(discoveryResult.getThingTypeUID())
-                    && discoveryResult.getTimestamp() < timestamp
-                    && (discoverer == null || source.getClass() == discoverer)) {
+            if (discoverer == null || source.getClass() == discoverer) {
                 ThingUID thingUID = discoveryResult.getThingUID();
-                if (bridgeUID == null || bridgeUID.equals(discoveryResult.getBridgeUID())) {
-                    removedThings.add(thingUID);
-                    remove(thingUID);
-                    logger.debug("Removed {} from inbox because it was older than {}", thingUID, new Date(timestamp));
-                }
+                removedThings.add(thingUID);
+                remove(thingUID);
+                logger.debug("Removed {} from inbox because it was older than {}", thingUID, new Date(timestamp));
             }
         }
         return removedThings;
@@ -400,7 +477,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         if (result instanceof DiscoveryResultImpl) {
             DiscoveryResultImpl resultImpl = (DiscoveryResultImpl) result;
             resultImpl.setFlag((flag == null) ? DiscoveryResultFlag.NEW : flag);
-            discoveryResultStorage.put(resultImpl.getThingUID().toString(), resultImpl);
+            discoveryResultStorage.set(resultImpl.getThingUID().toString(), resultImpl);
             notifyListeners(resultImpl, EventType.updated);
         } else {
             logger.warn("Cannot set flag for result of instance type '{}'", result.getClass().getName());
@@ -527,6 +604,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
             DiscoveryResult discoveryResult = get(thingUID);
             if (discoveryResult != null) {
                 this.discoveryResultStorage.remove(thingUID.toString());
+                index.remove(thingUID);
                 notifyListeners(discoveryResult, EventType.removed);
             }
         }
@@ -534,9 +612,9 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
 
     private List<ThingUID> getResultsForBridge(ThingUID bridgeUID) {
         List<ThingUID> thingsForBridge = new ArrayList<>();
-        for (DiscoveryResult result : discoveryResultStorage.getValues()) {
-            if (bridgeUID.equals(result.getBridgeUID())) {
-                thingsForBridge.add(result.getThingUID());
+        for (Map.Entry<ThingUID, IndexEntry> entry : index.entrySet()) {
+            if (bridgeUID.equals(entry.getValue().bridgeUID)) {
+                thingsForBridge.add(entry.getKey());
             }
         }
         return thingsForBridge;
@@ -600,6 +678,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     }
 
     protected void activate(ComponentContext componentContext) {
+        Object window = componentContext.getProperties().get(COALESCING_WINDOW_CONFIG_PROPERTY);
+        setCoalescingWindow(window == null ? 0 : Long.parseLong(window.toString()) * 1000);
         this.timeToLiveChecker = ThreadPoolManager.getScheduledPool("discovery")
                 .scheduleWithFixedDelay(new TimeToLiveCheckingThread(this), 0, 30, TimeUnit.SECONDS);
         this.discoveryServiceRegistry.addDiscoveryListener(this);
@@ -611,6 +691,21 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                 .scheduleWithFixedDelay(new TimeToLiveCheckingThread(this), 0, interval, TimeUnit.SECONDS);
     }
 
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        Object window = properties.get(COALESCING_WINDOW_CONFIG_PROPERTY);
+        setCoalescingWindow(window == null ? 0 : Long.parseLong(window.toString()) * 1000);
+    }
+
+    /**
+     * Sets the period in which identical re-discoveries of a stored entry are coalesced.
+     *
+     * @param coalescingWindow the period in milliseconds, 0 to store and announce each re-discovery
+     */
+    void setCoalescingWindow(long coalescingWindow) {
+        this.coalescingWindow = coalescingWindow;
+    }
+
     protected void deactivate(ComponentContext componentContext) {
         this.discoveryServiceRegistry.removeDiscoveryListener(this);
         this.listeners.clear();
@@ -650,8 +745,12 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     protected void setStorageService(final StorageService storageService) {
         if (this.storageService != storageService) {
             this.storageService = storageService;
-            this.discoveryResultStorage = storageService.getStorage(DiscoveryResult.class.getName(),
-                    this.getClass().getClassLoader());
+            Storage<DiscoveryResult> discoveryResultStorage = storageService
+                    .getStorage(DiscoveryResult.class.getName(), this.getClass().getClassLoader());
+            // results are only modified by this inbox, which always puts them again afterwards
+            discoveryResultStorage.setValueCaching(true);
+            this.discoveryResultStorage = discoveryResultStorage;
+            rebuildIndex(discoveryResultStorage);
         }
     }
 
@@ -659,6 +758,16 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         if (this.storageService == storageService) {
             this.storageService = null;
             this.discoveryResultStorage = null;
+            index.clear();
+        }
+    }
+
+    private synchronized void rebuildIndex(Storage<DiscoveryResult> discoveryResultStorage) {
+        index.clear();
+        for (DiscoveryResult result : discoveryResultStorage.getValues()) {
+            if (result != null) {
+                index.put(result.getThingUID(), new IndexEntry(result, result.getTimestamp()));
+            }
         }
     }
 
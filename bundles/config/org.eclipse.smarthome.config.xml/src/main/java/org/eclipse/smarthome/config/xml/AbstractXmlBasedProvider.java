@@ -12,20 +12,22 @@
  */
 package org.eclipse.smarthome.config.xml;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.smarthome.core.common.registry.Identifiable;
 import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Common base class for XML based providers.
@@ -37,49 +39,28 @@ import org.osgi.framework.Bundle;
  */
 public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiable<T_ID>> {
 
-    private static class LocalizedKey {
-        public final Object id;
-        public final String locale;
+    private static class BundleObject<T_OBJECT> {
+        public final Bundle bundle;
+        public final T_OBJECT object;
 
-        public LocalizedKey(Object id, String locale) {
-            this.id = id;
-            this.locale = locale;
+        public BundleObject(Bundle bundle, T_OBJECT object) {
+            this.bundle = bundle;
+            this.object = object;
         }
+    }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((id == null) ? 0 : id.hashCode());
-            result = prime * result + ((locale == null) ? 0 : locale.hashCode());
-            return result;
-        }
+    /** the cache key of the objects localized for the {@code null} locale */
+    private static final String NO_LOCALE = "";
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            LocalizedKey other = (LocalizedKey) obj;
-            if (!Objects.equals(id, other.id)) {
-                return false;
-            }
-            if (!Objects.equals(locale, other.locale)) {
-                return false;
-            }
-            return true;
-        }
+    private final Map<Bundle, List<T_OBJECT>> bundleObjectMap = new ConcurrentHashMap<>();
+    // the lists are replaced instead of modified, so they can be read without locking
+    private final Map<T_ID, List<BundleObject<T_OBJECT>>> objectIndex = new ConcurrentHashMap<>();
+    private final Map<T_ID, Map<String, T_OBJECT>> localizedObjectCache = new ConcurrentHashMap<>();
 
-    }
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
-    private final Map<Bundle, List<T_OBJECT>> bundleObjectMap = new ConcurrentHashMap<>();
-    private final Map<LocalizedKey, T_OBJECT> localizedObjectCache = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(AbstractXmlBasedProvider.class);
 
     /**
      * Create a translated/localized copy of the given object.
@@ -121,8 +102,14 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
         }
         objects.addAll(objectList);
         for (T_OBJECT object : objectList) {
+            objectIndex.merge(object.getUID(), Collections.singletonList(new BundleObject<>(bundle, object)),
+                    (bundleObjects, added) -> {
+                        List<BundleObject<T_OBJECT>> merged = new ArrayList<>(bundleObjects);
+                        merged.addAll(added);
+                        return merged;
+                    });
             // just make sure no old entry remains in the cache
-            removeCachedEntries(object);
+            localizedObjectCache.remove(object.getUID());
         }
     }
 
@@ -146,14 +133,9 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
      * @return the object if found, <code>null</code> otherwise
      */
     protected final T_OBJECT get(T_ID key, Locale locale) {
-        for (Entry<Bundle, List<T_OBJECT>> objects : bundleObjectMap.entrySet()) {
-            for (T_OBJECT object : objects.getValue()) {
-                if (key.equals(object.getUID())) {
-                    return acquireLocalizedObject(objects.getKey(), object, locale);
-                }
-            }
-        }
-        return null;
+        List<BundleObject<T_OBJECT>> objects = objectIndex.get(key);
+        BundleObject<T_OBJECT> object = objects == null || objects.isEmpty() ? null : objects.get(0);
+        return object == null ? null : acquireLocalizedObject(object.bundle, object.object, locale);
     }
 
     /**
@@ -186,44 +168,56 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
         }
         List<T_OBJECT> objects = bundleObjectMap.remove(bundle);
         if (objects != null) {
-            removeCachedEntries(objects);
+            for (T_OBJECT object : objects) {
+                objectIndex.computeIfPresent(object.getUID(), (uid, bundleObjects) -> {
+                    List<BundleObject<T_OBJECT>> remaining = new ArrayList<>(bundleObjects);
+                    remaining.removeIf(bundleObject -> bundleObject.bundle.equals(bundle));
+                    return remaining.isEmpty() ? null : remaining;
+                });
+                localizedObjectCache.remove(object.getUID());
+            }
         }
+        logger.debug("Localized object cache of {}: {} hits, {} misses", getClass().getSimpleName(), getCacheHits(),
+                getCacheMisses());
     }
 
-    private void removeCachedEntries(List<T_OBJECT> objects) {
-        for (T_OBJECT object : objects) {
-            removeCachedEntries(object);
-        }
+    /**
+     * Returns how often a localized object could be taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public final long getCacheHits() {
+        return cacheHits.sum();
     }
 
-    private void removeCachedEntries(T_OBJECT object) {
-        for (Iterator<Entry<LocalizedKey, T_OBJECT>> it = localizedObjectCache.entrySet().iterator(); it.hasNext();) {
-            Entry<LocalizedKey, T_OBJECT> entry = it.next();
-            if (entry.getKey().id.equals(object.getUID())) {
-                it.remove();
-            }
-        }
+    /**
+     * Returns how often an object had to be localized because no localized copy was cached.
+     *
+     * @return the number of cache misses
+     */
+    public final long getCacheMisses() {
+        return cacheMisses.sum();
     }
 
     private T_OBJECT acquireLocalizedObject(Bundle bundle, T_OBJECT object, Locale locale) {
-        final LocalizedKey localizedKey = getLocalizedKey(object, locale);
+        final String localeKey = locale != null ? locale.toLanguageTag() : NO_LOCALE;
 
-        final T_OBJECT cacheEntry = localizedObjectCache.get(localizedKey);
+        final Map<String, T_OBJECT> localizedObjects = localizedObjectCache.get(object.getUID());
+        final T_OBJECT cacheEntry = localizedObjects != null ? localizedObjects.get(localeKey) : null;
         if (cacheEntry != null) {
+            cacheHits.increment();
             return cacheEntry;
         }
+        cacheMisses.increment();
 
         final T_OBJECT localizedObject = localize(bundle, object, locale);
         if (localizedObject != null) {
-            localizedObjectCache.put(localizedKey, localizedObject);
+            localizedObjectCache.computeIfAbsent(object.getUID(), uid -> new ConcurrentHashMap<>()).put(localeKey,
+                    localizedObject);
             return localizedObject;
         } else {
             return object;
         }
     }
 
-    private LocalizedKey getLocalizedKey(T_OBJECT object, Locale locale) {
-        return new LocalizedKey(object.getUID(), locale != null ? locale.toLanguageTag() : null);
-    }
-
 }
@@ -398,22 +398,32 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
     }
 
     private void parseDocuments(Bundle bundle, Collection<URL> filteredPaths) {
-        int numberOfParsedXmlDocuments = 0;
-        for (URL xmlDocumentURL : filteredPaths) {
-            String moduleName = bundle.getSymbolicName();
+        String moduleName = bundle.getSymbolicName();
+        // the documents are converted in parallel, but added in their original order
+        List<Parsed<T>> documents = filteredPaths.parallelStream().map(xmlDocumentURL -> {
             String xmlDocumentFile = xmlDocumentURL.getFile();
             logger.debug("Reading the XML document '{}' in module '{}'...", xmlDocumentFile, moduleName);
             try {
-                T object = xmlDocumentTypeReader.readFromXML(xmlDocumentURL);
-                addingObject(bundle, object);
-                numberOfParsedXmlDocuments++;
+                return new Parsed<>(xmlDocumentTypeReader.readFromXML(xmlDocumentURL));
             } catch (Exception ex) {
-                // If we are not open, we can stop here.
-                if (withLock(lockOpenState.readLock(), () -> openState != OpenState.OPENED)) {
-                    return;
+                // If we are not open, there is no need to log anything.
+                if (withLock(lockOpenState.readLock(), () -> openState == OpenState.OPENED)) {
+                    logger.warn("The XML document '{}' in module '{}' could not be parsed: {}", xmlDocumentFile,
+                            moduleName, ex.getLocalizedMessage(), ex);
                 }
-                logger.warn("The XML document '{}' in module '{}' could not be parsed: {}", xmlDocumentFile, moduleName,
-                        ex.getLocalizedMessage(), ex);
+                return null;
+            }
+        }).collect(Collectors.toList());
+
+        // If we are not open, we can stop here.
+        if (withLock(lockOpenState.readLock(), () -> openState != OpenState.OPENED)) {
+            return;
+        }
+        int numberOfParsedXmlDocuments = 0;
+        for (Parsed<T> document : documents) {
+            if (document != null) {
+                addingObject(bundle, document.object);
+                numberOfParsedXmlDocuments++;
             }
         }
         if (numberOfParsedXmlDocuments > 0) {
@@ -448,6 +458,17 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
     private void loadingCompleted() {
     }
 
+    /**
+     * The result of a parsed document, which is needed as the result of a document can be {@code null}.
+     */
+    private static class Parsed<T> {
+        private final T object;
+
+        Parsed(T object) {
+            this.object = object;
+        }
+    }
+
     @Override
     public String toString() {
         return super.toString() + "(" + xmlDirectory + ")";
@@ -73,7 +73,8 @@ public abstract class XmlDocumentReader<T> {
      * Reads the XML document containing a specific XML tag from the specified {@link URL} and converts it to the
      * according object.
      * <p>
-     * This method returns {@code null} if the given URL is {@code null}.
+     * This method returns {@code null} if the given URL is {@code null}. It may be called concurrently for different
+     * documents, so the registered converters must not keep any state of a conversion.
      *
      * @param xmlURL the URL pointing to the XML document to be read (could be null)
      * @return the conversion result object (could be null)
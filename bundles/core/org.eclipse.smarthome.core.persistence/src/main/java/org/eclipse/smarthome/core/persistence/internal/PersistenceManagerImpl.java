@@ -202,15 +202,9 @@ public class PersistenceManagerImpl implements PersistenceManager, ItemRegistryC
             if (itemCfg instanceof SimpleGroupConfig) {
                 SimpleGroupConfig groupItemCfg = (SimpleGroupConfig) itemCfg;
                 String groupName = groupItemCfg.getGroup();
-                try {
-                    Item gItem = itemRegistry.getItem(groupName);
-                    if (gItem instanceof GroupItem) {
-                        GroupItem groupItem = (GroupItem) gItem;
-                        if (groupItem.getAllMembers().contains(item)) {
-                            return true;
-                        }
-                    }
-                } catch (Exception e) {
+                // like GroupItem.getAllMembers(), this only applies to the items within the group but not the groups
+                if (!(item instanceof GroupItem) && itemRegistry.getAllGroupNames(item.getName()).contains(groupName)) {
+                    return true;
                 }
             }
         }
@@ -30,8 +30,10 @@ import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -520,6 +522,99 @@ public class SafeCallerImplTest extends JavaTest {
         }
     }
 
+    @Test
+    public void testExecuteAsyncReturnsImmediately() throws Exception {
+        Runnable mock1 = mock(Runnable.class);
+        doAnswer(a -> sleep(BLOCK)).when(mock1).run();
+
+        assertDurationBelow(GRACE, () -> {
+            safeCaller.executeAsync(new Object(), mock1, TIMEOUT, null);
+        });
+        waitForAssert(() -> verify(mock1, times(1)).run());
+    }
+
+    @Test
+    public void testExecuteAsyncTimeoutHandler() throws Exception {
+        Runnable mock1 = mock(Runnable.class);
+        doAnswer(a -> sleep(BLOCK)).when(mock1).run();
+
+        safeCaller.executeAsync(new Object(), mock1, TIMEOUT, mockTimeoutHandler);
+        waitForAssert(() -> verify(mock1, times(1)).run());
+        waitForAssert(() -> verify(mockTimeoutHandler, times(1)).run());
+    }
+
+    @Test
+    public void testExecuteAsyncContinuesAfterException() throws Exception {
+        Object identifier = new Object();
+        Runnable mock1 = mock(Runnable.class);
+        doThrow(RuntimeException.class).when(mock1).run();
+        Runnable mock2 = mock(Runnable.class);
+
+        safeCaller.executeAsync(identifier, mock1, TIMEOUT, mockTimeoutHandler);
+        safeCaller.executeAsync(identifier, mock2, TIMEOUT, mockTimeoutHandler);
+        waitForAssert(() -> verify(mock2, times(1)).run());
+        verify(mock1, times(1)).run();
+        verifyNoMoreInteractions(mockTimeoutHandler);
+    }
+
+    @Test
+    public void testExecuteAsyncAfterIdleQueueWasDiscarded() throws Exception {
+        Object identifier = new Object();
+        Runnable mock1 = mock(Runnable.class);
+
+        safeCaller.executeAsync(identifier, mock1, TIMEOUT, null);
+        waitForAssert(() -> verify(mock1, times(1)).run());
+        sleep((int) SafeCallExecutor.WATCHDOG_INTERVAL * 3);
+        safeCaller.executeAsync(identifier, mock1, TIMEOUT, null);
+        waitForAssert(() -> verify(mock1, times(2)).run());
+    }
+
+    @Test
+    public void testExecuteAsyncParallel_differentIdentifiers() throws Exception {
+        // the barrier is only passed if the tasks of all pool threads run at the same time
+        CyclicBarrier barrier = new CyclicBarrier(THREAD_POOL_SIZE);
+        AtomicInteger passed = new AtomicInteger();
+        Runnable task = () -> {
+            try {
+                barrier.await(BLOCK * 10, TimeUnit.MILLISECONDS);
+                passed.incrementAndGet();
+            } catch (Exception e) {
+                // the task is not counted as passed
+            }
+        };
+
+        for (int i = 0; i < THREAD_POOL_SIZE * 2; i++) {
+            safeCaller.executeAsync(new Object(), task, BLOCK * 10 + TIMEOUT, null);
+        }
+        waitForAssert(() -> {
+            assertThat(passed.get(), is(THREAD_POOL_SIZE * 2));
+        });
+        assertFalse(barrier.isBroken());
+    }
+
+    @Test
+    public void testExecuteAsyncExecutionOrder() throws Exception {
+        Queue<Integer> q = new ConcurrentLinkedQueue<>();
+        final Random r = new Random();
+
+        for (int i = 0; i < THREAD_POOL_SIZE * 10; i++) {
+            final int j = i;
+            safeCaller.executeAsync(q, () -> {
+                q.add(j);
+                sleep(r.nextInt(GRACE / 10));
+            }, TIMEOUT, null);
+        }
+
+        waitForAssert(() -> {
+            assertThat(q.size(), is(THREAD_POOL_SIZE * 10));
+        });
+
+        int expected = 0;
+        for (int actual : q) {
+            assertThat(actual, is(expected++));
+        }
+    }
+
     @Test
     public void testDuplicateInterface() {
         ITarget target = new DerivedTarget();
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.common.SafeCaller;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link EventDispatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class EventDispatcherTest {
+
+    private final Set<EventSubscriber> subscribed = new HashSet<>();
+
+    private SafeCaller safeCaller;
+    private EventSubscriber subscriber;
+    private EventDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        safeCaller = mock(SafeCaller.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).when(safeCaller).executeAsync(any(), any(), anyLong(), any());
+        subscriber = mock(EventSubscriber.class);
+        dispatcher = new EventDispatcher(safeCaller, subscribed::contains, 10, OverflowPolicy.DROP_OLDEST);
+    }
+
+    @Test
+    public void testEventsAreDeliveredThroughTheSafeCaller() {
+        subscribed.add(subscriber);
+        Event event = mock(Event.class);
+
+        dispatcher.dispatch(subscriber, event);
+
+        verify(subscriber).receive(event);
+        verify(safeCaller).executeAsync(eq(subscriber), any(), eq(SafeCaller.DEFAULT_TIMEOUT), any());
+        assertThat(dispatcher.getSubscriberQueues().size(), is(1));
+    }
+
+    @Test
+    public void testNoQueueIsCreatedForRemovedSubscriber() {
+        subscribed.add(subscriber);
+        dispatcher.dispatch(subscriber, mock(Event.class));
+
+        // the subscriber is removed while an event for it is being dispatched
+        subscribed.remove(subscriber);
+        dispatcher.remove(subscriber);
+        dispatcher.dispatch(subscriber, mock(Event.class));
+
+        verify(subscriber, times(1)).receive(any());
+        assertThat(dispatcher.getSubscriberQueues().size(), is(0));
+    }
+
+}
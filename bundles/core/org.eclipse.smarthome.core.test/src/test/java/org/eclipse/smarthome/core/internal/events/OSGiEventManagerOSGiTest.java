@@ -53,6 +53,9 @@ public class OSGiEventManagerOSGiTest extends JavaOSGiTest {
 
     private static final String TOPIC = "smarthome/some/topic";
 
+    private static final Map<String, Object> IN_PROCESS = Collections
+            .singletonMap(OSGiEventPublisher.CONFIG_IN_PROCESS, "true");
+
     private static final String TYPE_BASED_SUBSCRIBER_1 = "TYPE_BASED_SUBSCRIBER_1";
     private static final String TYPE_BASED_SUBSCRIBER_2 = "TYPE_BASED_SUBSCRIBER_2";
     private static final String TOPIC_BASED_SUBSCRIBER_3 = "TOPIC_BASED_SUBSCRIBER_3";
@@ -213,6 +216,32 @@ public class OSGiEventManagerOSGiTest extends JavaOSGiTest {
         }
     }
 
+    @Test
+    public void testDispatchInProcessDoesNotSerialize() throws Exception {
+        OSGiEventPublisher osgiEventPublisher = (OSGiEventPublisher) eventPublisher;
+        osgiEventPublisher.modified(IN_PROCESS);
+        try {
+            Event event = createEvent(EVENT_TYPE_A);
+            eventPublisher.post(event);
+            Thread.sleep(100);
+
+            verify(subscriber1).receive(event);
+            verify(event, never()).getPayload();
+            verify(eventTypeFactoryAB, never()).createEvent(any(), any(), any(), any());
+        } finally {
+            osgiEventPublisher.modified(Collections.emptyMap());
+        }
+    }
+
+    @Test
+    public void testDispatchViaEventAdmin() throws Exception {
+        eventPublisher.post(createEvent(EVENT_TYPE_A));
+        Thread.sleep(100);
+
+        assertEvent(subscriber1, createEvent(EVENT_TYPE_A));
+        assertEvent(subscriber4, createEvent(EVENT_TYPE_A));
+    }
+
     @Test
     public void testValidationTopic() {
         Event event = createEvent(EVENT_TYPE_A, "{a: 'A', b: 'B'}", null);
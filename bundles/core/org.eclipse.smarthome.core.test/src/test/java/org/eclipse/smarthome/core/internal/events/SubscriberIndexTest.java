@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.TopicEventFilter;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SubscriberIndex}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SubscriberIndexTest {
+
+    private static final String TYPE = "ItemStateEvent";
+
+    private final SubscriberIndex index = new SubscriberIndex();
+
+    @Test
+    public void testTopicEventFilter() {
+        EventSubscriber item = createSubscriber(new TopicEventFilter("smarthome/items/item1/state"), TYPE);
+        EventSubscriber items = createSubscriber(new TopicEventFilter("smarthome/items/.*/state"), TYPE);
+        EventSubscriber things = createSubscriber(new TopicEventFilter("smarthome/things/.*"), TYPE);
+        index.add(item, null);
+        index.add(items, null);
+        index.add(things, null);
+
+        assertThat(collect(TYPE, "smarthome/items/item1/state"), is(Arrays.asList(items, item)));
+        assertThat(collect(TYPE, "smarthome/items/item2/state"), is(Arrays.asList(items)));
+        assertThat(collect(TYPE, "smarthome/things/thing1/status"), is(Arrays.asList(things)));
+        assertTrue(collect(TYPE, "smarthome/channels/channel1/triggered").isEmpty());
+        assertTrue(collect("OtherEvent", "smarthome/items/item1/state").isEmpty());
+    }
+
+    @Test
+    public void testEventTopics() {
+        EventSubscriber single = createSubscriber(null, TYPE);
+        EventSubscriber multiple = createSubscriber(null, TYPE);
+        EventSubscriber none = createSubscriber(null, TYPE);
+        index.add(single, "smarthome/items/item1/*");
+        index.add(multiple, new String[] { "smarthome/items/*", "smarthome/items/item1/state" });
+        index.add(none, null);
+
+        assertThat(new HashSet<>(collect(TYPE, "smarthome/items/item1/state")),
+                is(new HashSet<>(Arrays.asList(single, multiple, none))));
+        assertThat(collect(TYPE, "smarthome/items/item1/state").size(), is(3));
+        assertThat(new HashSet<>(collect(TYPE, "smarthome/items/item2/state")),
+                is(new HashSet<>(Arrays.asList(multiple, none))));
+        assertThat(collect(TYPE, "smarthome/things/thing1/status"), is(Arrays.asList(none)));
+    }
+
+    @Test
+    public void testAllEventTypes() {
+        EventSubscriber all = createSubscriber(null, EventSubscriber.ALL_EVENT_TYPES, TYPE);
+        index.add(all, null);
+
+        assertThat(collect(TYPE, "smarthome/items/item1/state"), is(Arrays.asList(all)));
+        assertThat(collect("OtherEvent", "smarthome/items/item1/state"), is(Arrays.asList(all)));
+    }
+
+    @Test
+    public void testRemove() {
+        EventSubscriber subscriber = createSubscriber(new TopicEventFilter("smarthome/items/.*"), TYPE);
+        index.add(subscriber, null);
+        index.remove(subscriber);
+
+        assertTrue(collect(TYPE, "smarthome/items/item1/state").isEmpty());
+    }
+
+    @Test
+    public void testRemovePrunesUnusedNodes() {
+        EventSubscriber items = createSubscriber(new TopicEventFilter("smarthome/items/.*"), TYPE);
+        index.add(items, null);
+        for (int i = 0; i < 10; i++) {
+            EventSubscriber item = createSubscriber(new TopicEventFilter("smarthome/items/item" + i + "/state"),
+                    TYPE, "OtherEvent");
+            index.add(item, null);
+            index.remove(item);
+        }
+
+        assertThat(index.getNodeCount(), is(3));
+        assertFalse(index.hasSubscribers("OtherEvent"));
+        assertThat(collect(TYPE, "smarthome/items/item1/state"), is(Arrays.asList(items)));
+
+        index.remove(items);
+        assertThat(index.getNodeCount(), is(0));
+        assertFalse(index.hasSubscribers(TYPE));
+    }
+
+    @Test
+    public void testRegexPaths() {
+        assertPath(SubscriberIndex.fromRegex("smarthome/items/item1/state"), true, "smarthome", "items", "item1",
+                "state");
+        assertPath(SubscriberIndex.fromRegex("smarthome/items/.*/state"), false, "smarthome", "items");
+        assertPath(SubscriberIndex.fromRegex("smarthome/items/item1*"), false, "smarthome", "items");
+        assertPath(SubscriberIndex.fromRegex("smarthome/items/*"), false, "smarthome");
+        assertPath(SubscriberIndex.fromRegex("smarthome/(items|things)/.*"), false);
+        assertPath(SubscriberIndex.fromRegex(".*"), false);
+    }
+
+    private void assertPath(SubscriberIndex.Path path, boolean exact, String... segments) {
+        assertThat(path.exact, is(exact));
+        assertThat(path.segments, is(Arrays.asList(segments)));
+    }
+
+    private List<EventSubscriber> collect(String type, String topic) {
+        List<EventSubscriber> subscribers = new ArrayList<>();
+        index.collect(type, topic, subscribers);
+        return subscribers;
+    }
+
+    private EventSubscriber createSubscriber(EventFilter filter, String... types) {
+        EventSubscriber subscriber = mock(EventSubscriber.class);
+        when(subscriber.getSubscribedEventTypes()).thenReturn(new HashSet<>(Arrays.asList(types)));
+        when(subscriber.getEventFilter()).thenReturn(filter);
+        return subscriber;
+    }
+
+}
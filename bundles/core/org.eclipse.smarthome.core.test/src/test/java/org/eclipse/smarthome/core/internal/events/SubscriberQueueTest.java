@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.EventSubscriberQueueInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SubscriberQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SubscriberQueueTest {
+
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private final Executor executor = tasks::add;
+    private final List<Event> received = new ArrayList<>();
+
+    private EventSubscriber subscriber;
+
+    @Before
+    public void setUp() {
+        subscriber = mock(EventSubscriber.class);
+        doAnswer(invocation -> received.add(invocation.getArgument(0))).when(subscriber).receive(any());
+    }
+
+    @Test
+    public void testOrderIsPreserved() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 10, OverflowPolicy.BLOCK);
+        Event e1 = createEvent("a");
+        Event e2 = createEvent("b");
+        Event e3 = createEvent("a");
+
+        queue.add(e1);
+        queue.add(e2);
+        queue.add(e3);
+        assertThat(tasks.size(), is(1));
+        runTasks();
+
+        assertThat(received, is(Arrays.asList(e1, e2, e3)));
+        assertThat(queue.getInfo().getDelivered(), is(3L));
+        assertThat(queue.getInfo().getQueueSize(), is(0));
+    }
+
+    @Test
+    public void testDropOldest() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 2, OverflowPolicy.DROP_OLDEST);
+        Event e1 = createEvent("a");
+        Event e2 = createEvent("b");
+        Event e3 = createEvent("c");
+
+        queue.add(e1);
+        queue.add(e2);
+        queue.add(e3);
+        EventSubscriberQueueInfo info = queue.getInfo();
+        assertThat(info.getQueueSize(), is(2));
+        assertThat(info.getDropped(), is(1L));
+        runTasks();
+
+        assertThat(received, is(Arrays.asList(e2, e3)));
+    }
+
+    @Test
+    public void testCoalesce() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 2, OverflowPolicy.COALESCE);
+        Event e1 = createEvent("a");
+        Event e2 = createEvent("b");
+        Event e3 = createEvent("a");
+        Event e4 = createEvent("c");
+
+        queue.add(e1);
+        queue.add(e2);
+        queue.add(e3);
+        assertThat(queue.getInfo().getCoalesced(), is(1L));
+        queue.add(e4);
+        assertThat(queue.getInfo().getDropped(), is(1L));
+        runTasks();
+
+        assertThat(received, is(Arrays.asList(e2, e4)));
+    }
+
+    @Test
+    public void testExceptionDoesNotStopDelivery() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 10, OverflowPolicy.BLOCK);
+        Event e1 = createEvent("a");
+        Event e2 = createEvent("b");
+        doThrow(new IllegalStateException("test")).when(subscriber).receive(e1);
+
+        queue.add(e1);
+        queue.add(e2);
+        runTasks();
+
+        assertThat(received, is(Arrays.asList(e2)));
+    }
+
+    @Test
+    public void testClosedQueueIgnoresEvents() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 10, OverflowPolicy.BLOCK);
+        queue.add(createEvent("a"));
+        queue.close();
+        queue.add(createEvent("b"));
+        runTasks();
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testFailingExecutorDoesNotStopDelivery() {
+        Executor failingExecutor = mock(Executor.class);
+        doThrow(new IllegalStateException("test")).doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+                .when(failingExecutor).execute(any());
+        SubscriberQueue queue = new SubscriberQueue(subscriber, failingExecutor, 10, OverflowPolicy.DROP_OLDEST);
+        Event e1 = createEvent("a");
+        Event e2 = createEvent("b");
+
+        queue.add(e1);
+        assertTrue(tasks.isEmpty());
+        queue.add(e2);
+        runTasks();
+
+        assertThat(received, is(Arrays.asList(e1, e2)));
+    }
+
+    @Test
+    public void testEveryTaskDeliversOneEvent() {
+        SubscriberQueue queue = new SubscriberQueue(subscriber, executor, 10, OverflowPolicy.DROP_OLDEST);
+        queue.add(createEvent("a"));
+        queue.add(createEvent("b"));
+
+        tasks.poll().run();
+        assertThat(received.size(), is(1));
+        assertThat(tasks.size(), is(1));
+        tasks.poll().run();
+        assertThat(received.size(), is(2));
+        assertTrue(tasks.isEmpty());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private Event createEvent(String topic) {
+        Event event = mock(Event.class);
+        when(event.getTopic()).thenReturn(topic);
+        return event;
+    }
+
+}
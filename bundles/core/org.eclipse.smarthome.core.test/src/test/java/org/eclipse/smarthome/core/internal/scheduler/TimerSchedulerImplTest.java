@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.scheduler.ScheduledTimer;
+import org.eclipse.smarthome.core.scheduler.TimerStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TimerSchedulerImpl}.
+ * The wheel of the tested scheduler only has a few buckets, so timers wrap around the wheel.
+ *
+ * @author agent - Initial contribution
+ */
+public class TimerSchedulerImplTest {
+
+    private final TimerSchedulerImpl scheduler = new TimerSchedulerImpl(5, 8, Runnable::run);
+
+    @Before
+    public void setUp() {
+        scheduler.activate();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.deactivate();
+    }
+
+    @Test(timeout = 1000)
+    public void testTimerRunsAtScheduledTime() throws InterruptedException {
+        Semaphore semaphore = new Semaphore(0);
+        Instant instant = Instant.now().plusMillis(100);
+        ScheduledTimer timer = scheduler.schedule(semaphore::release, instant);
+
+        assertEquals(instant, timer.getScheduledTime());
+        assertFalse(semaphore.tryAcquire(50, TimeUnit.MILLISECONDS));
+        semaphore.acquire();
+        assertFalse("A timer must not run before its time", Instant.now().isBefore(instant));
+        waitForTermination(timer);
+    }
+
+    @Test(timeout = 1000)
+    public void testTimerInThePastRunsImmediately() throws InterruptedException {
+        Semaphore semaphore = new Semaphore(0);
+        scheduler.schedule(semaphore::release, Instant.now().minusSeconds(10));
+
+        assertTrue(semaphore.tryAcquire(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 1000)
+    public void testCancelledTimerDoesNotRun() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTimer timer = scheduler.schedule(runs::incrementAndGet, Instant.now().plusMillis(50));
+
+        assertTrue(timer.cancel());
+        assertTrue(timer.isCancelled());
+        Thread.sleep(150);
+        assertEquals(0, runs.get());
+        assertFalse(timer.hasTerminated());
+        assertEquals(0, scheduler.getStatistics().getPending());
+    }
+
+    @Test(timeout = 1000)
+    public void testRescheduledTimerRunsOnceAtNewTime() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTimer timer = scheduler.schedule(runs::incrementAndGet, Instant.now().plusMillis(30));
+
+        timer.reschedule(Instant.now().plusMillis(200));
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+        assertFalse(timer.hasTerminated());
+        waitForTermination(timer);
+        assertEquals(1, runs.get());
+
+        // a terminated timer can run again
+        timer.reschedule(Instant.now().plusMillis(20));
+        assertFalse(timer.hasTerminated());
+        waitForTermination(timer);
+        assertEquals(2, runs.get());
+        assertFalse(timer.cancel());
+    }
+
+    @Test(timeout = 1000)
+    public void testTimerIsRunningWhileItRuns() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        TimerSchedulerImpl threadedScheduler = new TimerSchedulerImpl(5, 8, runnable -> new Thread(runnable).start());
+        threadedScheduler.activate();
+        try {
+            ScheduledTimer timer = threadedScheduler.schedule(() -> {
+                started.countDown();
+                finish.await();
+            }, Instant.now());
+
+            started.await();
+            assertTrue(timer.isRunning());
+            assertFalse(timer.cancel());
+            finish.countDown();
+            waitForTermination(timer);
+            assertFalse(timer.isRunning());
+        } finally {
+            threadedScheduler.deactivate();
+        }
+    }
+
+    @Test(timeout = 2000)
+    public void testManyTimersAroundTheWheel() throws InterruptedException {
+        int count = 1000;
+        AtomicInteger early = new AtomicInteger();
+        List<ScheduledTimer> timers = new ArrayList<>();
+        Instant start = Instant.now().plusMillis(100);
+        for (int i = 0; i < count; i++) {
+            // spread over several revolutions of the wheel
+            Instant instant = start.plusMillis(i % 300);
+            timers.add(scheduler.schedule(() -> {
+                if (Instant.now().isBefore(instant)) {
+                    early.incrementAndGet();
+                }
+            }, instant));
+        }
+        for (int i = 1; i < count; i += 2) {
+            assertTrue(timers.get(i).cancel());
+        }
+
+        for (int i = 0; i < count; i += 2) {
+            waitForTermination(timers.get(i));
+        }
+        assertEquals("Timers must not run before their time", 0, early.get());
+        TimerStatistics statistics = scheduler.getStatistics();
+        assertEquals(0, statistics.getPending());
+        assertEquals(count, statistics.getScheduled());
+        assertEquals(count / 2, statistics.getCancelled());
+        assertEquals(count / 2, statistics.getExecuted());
+        assertTrue(statistics.getMaximumLag() >= statistics.getAverageLag());
+    }
+
+    @Test(timeout = 1000)
+    public void testTimersAreRejectedAfterDeactivation() {
+        ScheduledTimer timer = scheduler.schedule(() -> {
+        }, Instant.now().plusSeconds(10));
+        scheduler.deactivate();
+
+        try {
+            scheduler.schedule(() -> {
+            }, Instant.now());
+            fail("A timer must not be scheduled after the scheduler has been stopped");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        try {
+            timer.reschedule(Instant.now());
+            fail("A timer must not be rescheduled after the scheduler has been stopped");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    private void waitForTermination(ScheduledTimer timer) throws InterruptedException {
+        while (!timer.hasTerminated()) {
+            Thread.sleep(5);
+        }
+    }
+}
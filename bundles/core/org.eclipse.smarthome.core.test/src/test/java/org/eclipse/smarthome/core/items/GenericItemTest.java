@@ -15,12 +15,20 @@ package org.eclipse.smarthome.core.items;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.i18n.UnitProvider;
 import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
 import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -130,6 +138,114 @@ public class GenericItemTest {
         assertEquals(0, item.listeners.size());
     }
 
+    @Test
+    public void testListenersReceiveUpdatesInOrder() throws InterruptedException {
+        int updates = 500;
+        TestItem item = new TestItem("test");
+        List<State> received1 = Collections.synchronizedList(new ArrayList<>());
+        List<State> received2 = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2 * updates);
+        item.addStateChangeListener(new RecordingListener(received1, latch));
+        item.addStateChangeListener(new RecordingListener(received2, latch));
+
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < updates; i++) {
+            State state = new DecimalType(i);
+            expected.add(state);
+            item.setState(state);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(expected, received1);
+        assertEquals(expected, received2);
+    }
+
+    @Test
+    public void testFailingListenerDoesNotAffectOtherListeners() throws InterruptedException {
+        TestItem item = new TestItem("test");
+        StateChangeListener failingListener = mock(StateChangeListener.class);
+        doThrow(new IllegalStateException("test")).when(failingListener).stateUpdated(any(), any());
+        List<State> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2);
+        item.addStateChangeListener(failingListener);
+        item.addStateChangeListener(new RecordingListener(received, latch));
+
+        item.setState(OnOffType.ON);
+        item.setState(OnOffType.OFF);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(OnOffType.ON, OnOffType.OFF), received);
+    }
+
+    @Test
+    public void testListenersAreNotifiedOneAfterAnother() throws InterruptedException {
+        int updates = 100;
+        TestItem item = new TestItem("test");
+        List<State> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2 * updates);
+        item.addStateChangeListener(new RecordingListener(received, latch));
+        item.addStateChangeListener(new RecordingListener(received, latch));
+
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < updates; i++) {
+            State state = new DecimalType(i);
+            expected.add(state);
+            expected.add(state);
+            item.setState(state);
+        }
+
+        // both listeners are notified about an update before any of them is notified about the next one
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(expected, received);
+    }
+
+    @Test
+    public void testRejectedNotificationDoesNotBlockLaterUpdates() throws InterruptedException {
+        ExecutorService rejectingPool = Executors.newSingleThreadExecutor();
+        rejectingPool.shutdown();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        List<ExecutorService> pools = new ArrayList<>(Arrays.asList(rejectingPool, pool));
+        TestItem item = new TestItem("test") {
+            @Override
+            ExecutorService getNotificationPool() {
+                return pools.size() > 1 ? pools.remove(0) : pools.get(0);
+            }
+        };
+        List<State> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        item.addStateChangeListener(new RecordingListener(received, latch));
+
+        try {
+            item.setState(OnOffType.ON);
+            item.setState(OnOffType.OFF);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(OnOffType.OFF), received);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static class RecordingListener implements StateChangeListener {
+        private final List<State> received;
+        private final CountDownLatch latch;
+
+        RecordingListener(List<State> received, CountDownLatch latch) {
+            this.received = received;
+            this.latch = latch;
+        }
+
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+        }
+
+        @Override
+        public void stateUpdated(Item item, State state) {
+            received.add(state);
+            latch.countDown();
+        }
+    }
+
     /**
      * Fooling the null-analysis tooling
      *
@@ -14,7 +14,9 @@ package org.eclipse.smarthome.core.items;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,7 +24,12 @@ import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
@@ -192,6 +199,86 @@ public class ItemRegistryImplTest extends JavaTest {
         assertThat(itemRegistry.getItemsByTag(GenericItem.class, CAMERA_TAG).size(), is(4));
     }
 
+    @Test
+    public void assertGetItemsByPatternMatchesTheWholeName() {
+        assertThat(names(itemRegistry.getItems("camera*")),
+                containsInAnyOrder(CAMERA_ITEM_NAME1, CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME3, CAMERA_ITEM_NAME4));
+        assertThat(names(itemRegistry.getItems("*Item1")), containsInAnyOrder(CAMERA_ITEM_NAME1));
+        assertThat(names(itemRegistry.getItems("cameraItem1?")), containsInAnyOrder(CAMERA_ITEM_NAME1));
+        assertThat(names(itemRegistry.getItems("camera")), is(empty()));
+
+        // the pattern is a regular expression
+        assertThat(names(itemRegistry.getItems("cameraItem[12]")),
+                containsInAnyOrder(CAMERA_ITEM_NAME1, CAMERA_ITEM_NAME2));
+        assertThat(names(itemRegistry.getItems("cameraItemx{0}3")), containsInAnyOrder(CAMERA_ITEM_NAME3));
+        assertThat(names(itemRegistry.getItems(ITEM_NAME + "|" + CAMERA_ITEM_NAME4)),
+                containsInAnyOrder(ITEM_NAME, CAMERA_ITEM_NAME4));
+    }
+
+    @Test
+    public void assertIndexesFollowItemChanges() {
+        GenericItem item = new NumberItem(CAMERA_ITEM_NAME1);
+        item.addTag(OTHER_TAG);
+        itemProvider.update(item);
+
+        assertThat(names(itemRegistry.getItemsOfType("Switch")), containsInAnyOrder(ITEM_NAME, CAMERA_ITEM_NAME2));
+        assertThat(names(itemRegistry.getItemsByTag(CAMERA_TAG)),
+                containsInAnyOrder(CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME3, CAMERA_ITEM_NAME4));
+        assertThat(names(itemRegistry.getItemsByTagAndType("Number", OTHER_TAG)),
+                containsInAnyOrder(CAMERA_ITEM_NAME1));
+
+        // tags changed on the live instance before updating it
+        GenericItem liveItem = (GenericItem) itemRegistry.get(CAMERA_ITEM_NAME3);
+        liveItem.removeTag(CAMERA_TAG);
+        liveItem.addTag(OTHER_TAG);
+        itemRegistry.update(liveItem);
+        assertThat(names(itemRegistry.getItemsByTag(OTHER_TAG)),
+                containsInAnyOrder(CAMERA_ITEM_NAME1, CAMERA_ITEM_NAME3));
+        assertThat(names(itemRegistry.getItemsByTag(CAMERA_TAG)),
+                containsInAnyOrder(CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME4));
+
+        itemProvider.remove(CAMERA_ITEM_NAME1);
+        assertThat(names(itemRegistry.getItemsByTag(OTHER_TAG)), containsInAnyOrder(CAMERA_ITEM_NAME3));
+        assertThat(names(itemRegistry.getItems("cameraItem*")),
+                containsInAnyOrder(CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME3, CAMERA_ITEM_NAME4));
+    }
+
+    @Test
+    public void assertTagsAddedAtRuntimeAreFound() {
+        // e.g. channel and generic item providers add tags to registered items without updating them
+        GenericItem liveItem = (GenericItem) itemRegistry.get(ITEM_NAME);
+        liveItem.addTag("Lighting");
+
+        assertThat(names(itemRegistry.getItemsByTag("lighting")), containsInAnyOrder(ITEM_NAME));
+        assertThat(names(itemRegistry.getItemsByTagAndType("Switch", "LIGHTING")), containsInAnyOrder(ITEM_NAME));
+        assertThat(names(itemRegistry.getItemsByTag(SwitchItem.class, "Lighting")), containsInAnyOrder(ITEM_NAME));
+
+        liveItem.removeTag("Lighting");
+        assertThat(itemRegistry.getItemsByTag("lighting").size(), is(0));
+    }
+
+    @Test
+    public void assertGetItemsReturnsASharedSnapshot() {
+        Collection<Item> items = itemRegistry.getItems();
+        assertThat(itemRegistry.getAll(), is(sameInstance(items)));
+
+        try {
+            items.add(new SwitchItem("added"));
+            fail("The snapshot must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        itemProvider.add(new SwitchItem("added"));
+        assertThat(items, hasSize(5));
+        assertThat(itemRegistry.getItems(), hasSize(6));
+        assertThat(itemRegistry.stream().count(), is(6L));
+    }
+
+    private static List<String> names(Collection<? extends Item> items) {
+        return items.stream().map(Item::getName).collect(toList());
+    }
+
     @Test
     public void assertItemRegistrySetsAndRemovesMembersOfGroupItems() throws ItemNotFoundException {
         // test added item with group name is added as member to group
@@ -231,6 +318,74 @@ public class ItemRegistryImplTest extends JavaTest {
         assertThat(groupItem3.getMembers().contains(updatedSwitchItem), is(true));
     }
 
+    @Test
+    public void assertTransitiveMembershipsFollowChanges() {
+        GroupItem parent = new GroupItem("parent");
+        GroupItem child = new GroupItem("child");
+        child.addGroupName("parent");
+        SwitchItem switchItem = new SwitchItem("switch");
+        switchItem.addGroupName("child");
+        itemProvider.add(parent);
+        itemProvider.add(child);
+        itemProvider.add(switchItem);
+
+        assertThat(itemRegistry.getAllMembers("parent"), is(Collections.singleton(switchItem)));
+        assertThat(itemRegistry.getAllGroupNames("switch"), is(new HashSet<>(Arrays.asList("parent", "child"))));
+        assertThat(itemRegistry.getAllGroupNames("child"), is(Collections.singleton("parent")));
+        assertThat(itemRegistry.getAllMembers("unknown"), is(Collections.emptySet()));
+
+        // membership changed through the registry
+        itemProvider.remove("child");
+        assertThat(itemRegistry.getAllMembers("parent"), is(Collections.emptySet()));
+        assertThat(itemRegistry.getAllGroupNames("switch"), is(Collections.emptySet()));
+
+        // membership changed on the live instance
+        GroupItem liveParent = (GroupItem) itemRegistry.get("parent");
+        liveParent.addMember(itemRegistry.get("switch"));
+        assertThat(itemRegistry.getAllGroupNames("switch"), is(Collections.singleton("parent")));
+        assertThat(liveParent.getAllMembers(), is(Collections.singleton(switchItem)));
+    }
+
+    @Test
+    public void assertGroupNamesFollowItemsAddedAfterALookup() {
+        GroupItem parent = new GroupItem("parent");
+        itemProvider.add(parent);
+        assertThat(itemRegistry.getAllGroupNames("switch"), is(Collections.emptySet()));
+
+        SwitchItem switchItem = new SwitchItem("switch");
+        switchItem.addGroupName("child");
+        itemProvider.add(switchItem);
+        GroupItem child = new GroupItem("child");
+        child.addGroupName("parent");
+        itemProvider.add(child);
+
+        assertThat(itemRegistry.getAllGroupNames("switch"), is(new HashSet<>(Arrays.asList("parent", "child"))));
+        assertThat(itemRegistry.getAllGroupNames("parent"), is(Collections.emptySet()));
+    }
+
+    @Test
+    public void assertMembershipChangesOnlyInvalidateTheContainingGroups() {
+        GroupItem parent = new GroupItem("parent");
+        GroupItem child = new GroupItem("child");
+        GroupItem other = new GroupItem("other");
+        parent.addMember(child);
+        child.addMember(new SwitchItem("switch1"));
+        other.addMember(new SwitchItem("switch2"));
+
+        Set<Item> parentMembers = parent.getAllMembers();
+        Set<Item> otherMembers = other.getAllMembers();
+
+        // an unrelated group keeps its cached members
+        child.addMember(new SwitchItem("switch3"));
+        assertThat(other.getAllMembers(), is(sameInstance(otherMembers)));
+
+        // a group containing the changed group does not
+        assertThat(parent.getAllMembers(), is(not(sameInstance(parentMembers))));
+        assertThat(parent.hasMember("switch3"), is(true));
+        assertThat(parent.hasMember("child"), is(true));
+        assertThat(parent.hasMember("switch2"), is(false));
+    }
+
     @Test
     public void testGroupUpdateWithModificationOfLiveInstance() {
         itemRegistry.add(new StringItem("item"));
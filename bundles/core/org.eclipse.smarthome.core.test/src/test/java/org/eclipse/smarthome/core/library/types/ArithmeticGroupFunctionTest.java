@@ -12,8 +12,9 @@
  */
 package org.eclipse.smarthome.core.library.types;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -21,6 +22,8 @@ import java.util.Set;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction.Aggregation;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
@@ -219,6 +222,146 @@ public class ArithmeticGroupFunctionTest {
         assertEquals(new DecimalType("2"), state);
     }
 
+    @Test
+    public void testSumAggregation() {
+        TestItem item1 = new TestItem("TestItem1", new DecimalType("1.25"));
+        TestItem item2 = new TestItem("TestItem2", new DecimalType("2"));
+        items.add(item1);
+        items.add(item2);
+        items.add(new TestItem("TestItem3", UnDefType.UNDEF));
+
+        Aggregation aggregation = createAggregation(new ArithmeticGroupFunction.Sum());
+        assertEquals("3.25", aggregation.getState().toString());
+
+        updateState(aggregation, item1, new DecimalType("4"));
+        assertEquals("6", aggregation.getState().toString());
+
+        updateState(aggregation, item2, UnDefType.NULL);
+        updateState(aggregation, item1, new DecimalType("-0.5"));
+        assertEquals("-0.5", aggregation.getState().toString());
+    }
+
+    @Test
+    public void testAvgAggregation() {
+        TestItem item1 = new TestItem("TestItem1", new DecimalType("1.5"));
+        TestItem item2 = new TestItem("TestItem2", new DecimalType("2"));
+        items.add(item1);
+        items.add(item2);
+
+        Aggregation aggregation = createAggregation(new ArithmeticGroupFunction.Avg());
+        assertEquals("1.8", aggregation.getState().toString());
+
+        // the scale of the removed value must not affect the rounding
+        updateState(aggregation, item1, new DecimalType("1"));
+        assertEquals("2", aggregation.getState().toString());
+
+        updateState(aggregation, item1, UnDefType.UNDEF);
+        updateState(aggregation, item2, UnDefType.UNDEF);
+        assertEquals(UnDefType.UNDEF, aggregation.getState());
+    }
+
+    @Test
+    public void testMinMaxAggregation() {
+        TestItem item1 = new TestItem("TestItem1", new DecimalType("3"));
+        TestItem item2 = new TestItem("TestItem2", new DecimalType("3"));
+        TestItem item3 = new TestItem("TestItem3", new DecimalType("7"));
+        items.add(item1);
+        items.add(item2);
+        items.add(item3);
+
+        Aggregation min = createAggregation(new ArithmeticGroupFunction.Min());
+        assertEquals(new DecimalType("3"), min.getState());
+
+        updateState(min, item1, new DecimalType("5"));
+        assertEquals(new DecimalType("3"), min.getState());
+
+        updateState(min, item2, new DecimalType("9"));
+        assertEquals(new DecimalType("5"), min.getState());
+
+        Aggregation max = createAggregation(new ArithmeticGroupFunction.Max());
+        assertEquals(new DecimalType("9"), max.getState());
+
+        updateState(max, item2, new DecimalType("1"));
+        assertEquals(new DecimalType("7"), max.getState());
+
+        updateState(max, item1, UnDefType.UNDEF);
+        updateState(max, item2, UnDefType.UNDEF);
+        updateState(max, item3, UnDefType.UNDEF);
+        assertEquals(UnDefType.UNDEF, max.getState());
+    }
+
+    @Test
+    public void testActiveStateAggregations() {
+        TestItem item1 = new TestItem("TestItem1", OnOffType.ON);
+        TestItem item2 = new TestItem("TestItem2", OnOffType.OFF);
+        items.add(item1);
+        items.add(item2);
+
+        List<IncrementalGroupFunction> functions = Arrays.asList(
+                new ArithmeticGroupFunction.And(OnOffType.ON, OnOffType.OFF),
+                new ArithmeticGroupFunction.Or(OnOffType.ON, OnOffType.OFF),
+                new ArithmeticGroupFunction.NAnd(OnOffType.ON, OnOffType.OFF),
+                new ArithmeticGroupFunction.NOr(OnOffType.ON, OnOffType.OFF));
+        for (IncrementalGroupFunction function : functions) {
+            this.function = function;
+            item1.setState(OnOffType.ON);
+            item2.setState(OnOffType.OFF);
+            Aggregation aggregation = createAggregation(function);
+
+            updateState(aggregation, item2, OnOffType.ON);
+            updateState(aggregation, item1, UnDefType.UNDEF);
+            updateState(aggregation, item2, OnOffType.OFF);
+        }
+    }
+
+    @Test
+    public void testEmptyAggregations() {
+        assertEquals(OnOffType.OFF,
+                createAggregation(new ArithmeticGroupFunction.And(OnOffType.ON, OnOffType.OFF)).getState());
+        assertEquals(OnOffType.ON,
+                createAggregation(new ArithmeticGroupFunction.NAnd(OnOffType.ON, OnOffType.OFF)).getState());
+        assertEquals(new DecimalType(0), createAggregation(new ArithmeticGroupFunction.Sum()).getState());
+    }
+
+    @Test
+    public void testCountAggregation() {
+        TestItem item1 = new TestItem("TestItem1", new StringType("abc"));
+        TestItem item2 = new TestItem("TestItem2", new StringType("x"));
+        items.add(item1);
+        items.add(item2);
+
+        Aggregation aggregation = createAggregation(new ArithmeticGroupFunction.Count(new StringType(".")));
+        assertEquals(new DecimalType(1), aggregation.getState());
+
+        updateState(aggregation, item1, new StringType("a"));
+        assertEquals(new DecimalType(2), aggregation.getState());
+
+        updateState(aggregation, item2, UnDefType.NULL);
+        assertEquals(new DecimalType(1), aggregation.getState());
+        assertFalse(aggregation.update(new TestItem("TestItem3", new StringType("b"))));
+    }
+
+    private Aggregation createAggregation(IncrementalGroupFunction function) {
+        this.function = function;
+        Aggregation aggregation = function.createAggregation();
+        for (Item item : items) {
+            aggregation.add(item);
+        }
+        assertEquals(function.calculate(items), aggregation.getState());
+        return aggregation;
+    }
+
+    /**
+     * Updates the state of an item and asserts that the aggregation still equals the calculation from scratch.
+     */
+    private void updateState(Aggregation aggregation, TestItem item, State state) {
+        item.setState(state);
+        assertTrue(aggregation.update(item));
+        State expected = function.calculate(items);
+        assertEquals(expected, aggregation.getState());
+        assertEquals(expected.toString(), aggregation.getState().toString());
+    }
+
     private class TestItem extends GenericItem {
 
         public TestItem(String name, State state) {
@@ -274,11 +274,9 @@ public class CommunicationManager implements EventSubscriber, RegistryChangeList
         handleEvent(itemName, command, commandEvent.getSource(), s -> acceptedCommandTypeMap.get(s),
                 (profile, thing, convertedCommand) -> {
                     if (profile instanceof StateProfile) {
-                        safeCaller.create(((StateProfile) profile), StateProfile.class) //
-                                .withAsync() //
-                                .withIdentifier(thing) //
-                                .withTimeout(THINGHANDLER_EVENT_TIMEOUT) //
-                                .build().onCommandFromItem(convertedCommand);
+                        StateProfile stateProfile = (StateProfile) profile;
+                        safeCaller.executeAsync(thing, () -> stateProfile.onCommandFromItem(convertedCommand),
+                                THINGHANDLER_EVENT_TIMEOUT, null);
                     }
                 });
     }
@@ -288,11 +286,8 @@ public class CommunicationManager implements EventSubscriber, RegistryChangeList
         final State newState = updateEvent.getItemState();
         handleEvent(itemName, newState, updateEvent.getSource(), s -> acceptedStateTypeMap.get(s),
                 (profile, thing, convertedState) -> {
-                    safeCaller.create(profile, Profile.class) //
-                            .withAsync() //
-                            .withIdentifier(thing) //
-                            .withTimeout(THINGHANDLER_EVENT_TIMEOUT) //
-                            .build().onStateUpdateFromItem(convertedState);
+                    safeCaller.executeAsync(thing, () -> profile.onStateUpdateFromItem(convertedState),
+                            THINGHANDLER_EVENT_TIMEOUT, null);
                 });
     }
 
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CompiledTransformationCacheTest {
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    private CompiledTransformation compile(String function) {
+        compilations.incrementAndGet();
+        return source -> function + ":" + source;
+    }
+
+    @Test
+    public void testCompiledOnce() throws TransformationException {
+        CompiledTransformationCache cache = new CompiledTransformationCache();
+
+        CompiledTransformation first = cache.get("f", this::compile);
+        CompiledTransformation second = cache.get("f", this::compile);
+
+        assertSame(first, second);
+        assertEquals("f:x", second.transform("x"));
+        assertEquals(1, compilations.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws TransformationException {
+        CompiledTransformationCache cache = new CompiledTransformationCache(2);
+
+        cache.get("a", this::compile);
+        cache.get("b", this::compile);
+        cache.get("a", this::compile);
+        cache.get("c", this::compile);
+        assertEquals(2, cache.size());
+
+        cache.get("a", this::compile);
+        assertEquals(3, compilations.get());
+        cache.get("b", this::compile);
+        assertEquals(4, compilations.get());
+    }
+
+    @Test
+    public void testCompileFailureIsNotCached() {
+        CompiledTransformationCache cache = new CompiledTransformationCache();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("invalid", function -> {
+                    compilations.incrementAndGet();
+                    throw new TransformationException("invalid function");
+                });
+                fail();
+            } catch (TransformationException e) {
+                assertEquals("invalid function", e.getMessage());
+            }
+        }
+        assertEquals(2, compilations.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCompileNonCompilableService() throws TransformationException {
+        TransformationService service = (function, source) -> function + "(" + source + ")";
+
+        assertEquals("f(x)", TransformationHelper.compile(service, "f").transform("x"));
+    }
+
+}
@@ -104,7 +104,8 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
     }
 
     protected Locale getLocale() {
-        return localeProvider.getLocale();
+        LocaleProvider provider = localeProvider;
+        return provider != null ? provider.getLocale() : Locale.getDefault();
     }
 
     /**
@@ -125,6 +126,26 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
+        T transform = getTransform(filename);
+
+        try {
+            return internalTransform(transform, source);
+        } catch (TransformationException e) {
+            logger.warn("Could not transform '{}' with the file '{}' : {}", source, filename, e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Returns the loaded transformation held by the given file, reading it through
+     * {@link #internalLoadTransform(String)} only if it is not cached yet or if the file has changed since it was
+     * cached.
+     *
+     * @param filename the name of the file which contains the transformation definition
+     * @return the cached or freshly loaded transformation
+     * @throws TransformationException if the file couldn't be read
+     */
+    protected T getTransform(String filename) throws TransformationException {
         final WatchService watchService = getWatchService();
         processFolderEvents(watchService);
 
@@ -134,13 +155,7 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
             transform = internalLoadTransform(transformFile);
             cachedFiles.put(transformFile, transform);
         }
-
-        try {
-            return internalTransform(transform, source);
-        } catch (TransformationException e) {
-            logger.warn("Could not transform '{}' with the file '{}' : {}", source, filename, e.getMessage());
-            return "";
-        }
+        return transform;
     }
 
     /**
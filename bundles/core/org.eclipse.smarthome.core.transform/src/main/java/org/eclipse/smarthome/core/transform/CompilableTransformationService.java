@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link TransformationService} which is able to prepare a transformation function once (e.g. parse an expression),
+ * so applying it to an input only has to do the actual transformation.
+ * <p>
+ * Callers which apply the same function many times should hold the {@link CompiledTransformation}, see
+ * {@link TransformationHelper#compile(TransformationService, String)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface CompilableTransformationService extends TransformationService {
+
+    /**
+     * Prepares the given function.
+     *
+     * @param function the function to be used to transform inputs
+     * @return the reusable, thread-safe transformation
+     * @throws TransformationException if the function is invalid
+     */
+    CompiledTransformation compile(String function) throws TransformationException;
+
+    /**
+     * Transforms the input <code>source</code> by means of the compiled form of the given <code>function</code>.
+     */
+    @Override
+    default @Nullable String transform(String function, String source) throws TransformationException {
+        return compile(function).transform(source);
+    }
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A transformation function which has been prepared once by a {@link CompilableTransformationService} (e.g. a parsed
+ * expression) and can then be applied to any number of inputs. Implementations must be thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface CompiledTransformation {
+
+    /**
+     * Transforms the input <code>source</code> and returns the transformed output.
+     *
+     * @param source the input to be transformed
+     * @return the transformed result or <code>null</code> if the transformation's output is <code>null</code>.
+     * @throws TransformationException if any error occurs
+     * @see TransformationService#transform(String, String)
+     */
+    @Nullable
+    String transform(String source) throws TransformationException;
+
+}
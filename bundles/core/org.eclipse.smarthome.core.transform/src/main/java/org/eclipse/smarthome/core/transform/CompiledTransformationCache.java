@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A least recently used cache of the {@link CompiledTransformation}s of a {@link CompilableTransformationService},
+ * keyed by the transformation function. It counts cache hits and misses.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CompiledTransformationCache {
+
+    /**
+     * Compiles a transformation function.
+     */
+    @FunctionalInterface
+    public interface Compiler {
+        CompiledTransformation compile(String function) throws TransformationException;
+    }
+
+    /** the default maximum number of cached functions */
+    public static final int DEFAULT_SIZE = 200;
+
+    private final Logger logger = LoggerFactory.getLogger(CompiledTransformationCache.class);
+
+    private final Map<String, CompiledTransformation> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache for {@link #DEFAULT_SIZE} functions.
+     */
+    public CompiledTransformationCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a cache for the given number of functions.
+     *
+     * @param maxSize the maximum number of cached functions
+     */
+    public CompiledTransformationCache(int maxSize) {
+        cache = new LinkedHashMap<String, CompiledTransformation>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledTransformation> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form of the given function. It is compiled with the given compiler, if it isn't cached.
+     *
+     * @param function the transformation function
+     * @param compiler the compiler for the function
+     * @return the compiled function
+     * @throws TransformationException if the function cannot be compiled
+     */
+    public CompiledTransformation get(String function, Compiler compiler) throws TransformationException {
+        CompiledTransformation compiledTransformation;
+        synchronized (cache) {
+            compiledTransformation = cache.get(function);
+        }
+        if (compiledTransformation != null) {
+            hits.increment();
+            return compiledTransformation;
+        }
+
+        misses.increment();
+        compiledTransformation = compiler.compile(function);
+        synchronized (cache) {
+            cache.put(function, compiledTransformation);
+        }
+        logger.debug("Compiled transformation function '{}' ({} cache hits, {} misses)", function, getHits(),
+                getMisses());
+        return compiledTransformation;
+    }
+
+    /**
+     * Removes all cached functions.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return the number of cached functions
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return how often a function has been found in the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return how often a function had to be compiled
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+}
@@ -14,6 +14,8 @@ package org.eclipse.smarthome.core.transform;
 
 import java.util.Collection;
 import java.util.IllegalFormatException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +42,9 @@ public class TransformationHelper {
     protected static final Pattern EXTRACT_TRANSFORMFUNCTION_PATTERN = Pattern
             .compile("(.*?)\\((.*)\\)" + FUNCTION_VALUE_DELIMITER + "(.*)");
 
+    /* the service references of the transformation types looked up so far */
+    private static final Map<String, ServiceReference<TransformationService>> SERVICE_REFS = new ConcurrentHashMap<>();
+
     /**
      * determines whether a pattern refers to a transformation service
      *
@@ -61,13 +66,25 @@ public class TransformationHelper {
     public static @Nullable TransformationService getTransformationService(@Nullable BundleContext context,
             String transformationType) {
         if (context != null) {
+            // a reference stays valid until its service is unregistered, which clears its bundle
+            ServiceReference<TransformationService> cachedRef = SERVICE_REFS.get(transformationType);
+            if (cachedRef != null && cachedRef.getBundle() != null) {
+                TransformationService service = context.getService(cachedRef);
+                if (service != null) {
+                    return service;
+                }
+            }
+
             String filter = "(smarthome.transform=" + transformationType + ")";
             try {
                 Collection<ServiceReference<TransformationService>> refs = context
                         .getServiceReferences(TransformationService.class, filter);
                 if (refs != null && refs.size() > 0) {
-                    return context.getService(refs.iterator().next());
+                    ServiceReference<TransformationService> ref = refs.iterator().next();
+                    SERVICE_REFS.put(transformationType, ref);
+                    return context.getService(ref);
                 } else {
+                    SERVICE_REFS.remove(transformationType);
                     LOGGER.debug("Cannot get service reference for transformation service of type {}",
                             transformationType);
                 }
@@ -79,6 +96,25 @@ public class TransformationHelper {
         return null;
     }
 
+    /**
+     * Prepares the given function of a transformation service for being applied to many inputs. If the service is a
+     * {@link CompilableTransformationService}, the function is compiled once, otherwise the returned transformation
+     * simply calls the service.
+     *
+     * @param service the {@link TransformationService} to be used
+     * @param function the function containing the transformation instruction
+     * @return the reusable transformation
+     * @throws TransformationException if the function is invalid
+     */
+    public static CompiledTransformation compile(TransformationService service, String function)
+            throws TransformationException {
+        if (service instanceof CompilableTransformationService) {
+            return ((CompilableTransformationService) service).compile(function);
+        } else {
+            return source -> service.transform(function, source);
+        }
+    }
+
     /**
      * Transforms a state string using transformation functions within a given pattern.
      *
@@ -15,6 +15,7 @@ package org.eclipse.smarthome.core.common;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * OSGi service to obtain a {@link SafeCallerBuilder}.
@@ -41,4 +42,29 @@ public interface SafeCaller {
      */
     <T> SafeCallerBuilder<T> create(T target, Class<T> interfaceType);
 
+    /**
+     * Executes a task asynchronously.
+     *
+     * In contrast to an asynchronous call through {@link #create(Object, Class)} no dynamic proxy is involved, which
+     * makes this the preferred way for frequent calls, e.g. while dispatching events. The tasks of the same identifier
+     * are executed one after another in the order they have been submitted. If a task takes longer than the timeout,
+     * this is logged and the timeout handler is called. Exceptions thrown by the task are logged.
+     * <p>
+     * The default implementation falls back to an asynchronous call through {@link #create(Object, Class)}.
+     *
+     * @param identifier the identifier of the context in which only one task may be executed at the same time; it must
+     *            have a proper hashcode()/equals() implementation
+     * @param task the task
+     * @param timeout the timeout in milliseconds
+     * @param timeoutHandler the callback in case of a timeout, or null
+     */
+    default void executeAsync(Object identifier, Runnable task, long timeout, @Nullable Runnable timeoutHandler) {
+        SafeCallerBuilder<Runnable> builder = create(task, Runnable.class).withAsync().withIdentifier(identifier)
+                .withTimeout(timeout);
+        if (timeoutHandler != null) {
+            builder = builder.onTimeout(timeoutHandler);
+        }
+        builder.build().run();
+    }
+
 }
@@ -52,12 +52,12 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
     @Override
     public void add(E element) {
         String keyAsString = getKeyAsString(element);
-        if (storage.get(keyAsString) != null) {
+        if (storage.containsKey(keyAsString)) {
             throw new IllegalArgumentException(
                     "Cannot add element, because an element with same UID (" + keyAsString + ") already exists.");
         }
 
-        storage.put(keyAsString, toPersistableElement(element));
+        storage.set(keyAsString, toPersistableElement(element));
         notifyListenersAboutAddedElement(element);
         logger.debug("Added new element {} to {}.", keyAsString, this.getClass().getSimpleName());
     }
@@ -109,7 +109,7 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
     @Override
     public E update(E element) {
         String key = getKeyAsString(element);
-        if (storage.get(key) != null) {
+        if (storage.containsKey(key)) {
             PE persistableElement = storage.put(key, toPersistableElement(element));
             if (persistableElement != null) {
                 E oldElement = toElement(key, persistableElement);
@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.common.registry;
 
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -71,6 +72,9 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
     private final Map<K, E> identifierToElement = new HashMap<>();
     private final Set<E> elements = new HashSet<>();
 
+    /** an unmodifiable copy of the elements, which is shared by all readers until the elements change */
+    private volatile Collection<E> elementsSnapshot;
+
     private final Collection<RegistryChangeListener<E>> listeners = new CopyOnWriteArraySet<RegistryChangeListener<E>>();
 
     private Optional<ManagedProvider<E, K>> managedProvider = Optional.empty();
@@ -186,6 +190,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         elementToProvider.put(element, provider);
         providerElements.add(element);
         elements.add(element);
+        elementsSnapshot = null;
         return true;
     }
 
@@ -194,11 +199,27 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         listeners.add(listener);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned collection is an unmodifiable snapshot, which is shared by all callers until the elements change.
+     */
     @Override
     public Collection<@NonNull E> getAll() {
+        Collection<E> snapshot = elementsSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
         elementReadLock.lock();
         try {
-            return new HashSet<>(elements);
+            // the snapshot is only invalidated while holding the write lock, so it can't be outdated when stored
+            snapshot = elementsSnapshot;
+            if (snapshot == null) {
+                snapshot = Collections.unmodifiableSet(new HashSet<>(elements));
+                elementsSnapshot = snapshot;
+            }
+            return snapshot;
         } finally {
             elementReadLock.unlock();
         }
@@ -234,6 +255,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
             elementToProvider.remove(existingElement);
             providerToElements.get(provider).remove(existingElement);
             elements.remove(existingElement);
+            elementsSnapshot = null;
         } finally {
             elementWriteLock.unlock();
         }
@@ -282,6 +304,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
             providerElements.add(element);
             elements.remove(existingElement);
             elements.add(element);
+            elementsSnapshot = null;
         } finally {
             elementWriteLock.unlock();
         }
@@ -442,7 +465,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
      * collections.
      * You should also not call third party code that could e.g. access the registry itself again. This could lead to a
      * dead lock and hard finding bugs.
-     * The {@link #getAll()} and {@link #stream()} method will operate on a copy and so no lock is hold.
+     * The {@link #getAll()} and {@link #stream()} method will operate on a snapshot and so no lock is hold.
      *
      * @param provider provider to traverse elements of
      * @param consumer function to call with element
@@ -468,7 +491,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
      * collections.
      * You should also not call third party code that could e.g. access the registry itself again. This could lead to a
      * dead lock and hard finding bugs.
-     * The {@link #getAll()} and {@link #stream()} method will operate on a copy and so no lock is hold.
+     * The {@link #getAll()} and {@link #stream()} method will operate on a snapshot and so no lock is hold.
      * 
      * @param consumer function to call with element
      */
@@ -491,7 +514,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
      * collections.
      * You should also not call third party code that could e.g. access the registry itself again. This could lead to a
      * dead lock and hard finding bugs.
-     * The {@link #getAll()} and {@link #stream()} method will operate on a copy and so no lock is hold.
+     * The {@link #getAll()} and {@link #stream()} method will operate on a snapshot and so no lock is hold.
      * 
      * @param consumer function to call with the provider and element
      */
@@ -604,6 +627,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
                 elementToProvider.remove(element);
                 identifierToElement.remove(element.getUID());
             }
+            elementsSnapshot = null;
         } finally {
             elementWriteLock.unlock();
         }
@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.events;
 
+import java.util.function.Supplier;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -25,7 +27,9 @@ public abstract class AbstractEvent implements Event {
 
     private final String topic;
 
-    private final String payload;
+    private volatile @Nullable String payload;
+
+    private final @Nullable Supplier<String> payloadSupplier;
 
     private final @Nullable String source;
 
@@ -39,6 +43,23 @@ public abstract class AbstractEvent implements Event {
     public AbstractEvent(String topic, String payload, @Nullable String source) {
         this.topic = topic;
         this.payload = payload;
+        this.payloadSupplier = null;
+        this.source = source;
+    }
+
+    /**
+     * Must be called in subclass constructor to create a new event whose payload is serialized lazily.
+     *
+     * The supplier is called the first time {@link #getPayload()} is called, so events that are dispatched in-process
+     * and never leave the JVM are never serialized.
+     *
+     * @param topic the topic
+     * @param payloadSupplier the supplier creating the serialized payload on demand
+     * @param source the source
+     */
+    protected AbstractEvent(String topic, Supplier<String> payloadSupplier, @Nullable String source) {
+        this.topic = topic;
+        this.payloadSupplier = payloadSupplier;
         this.source = source;
     }
 
@@ -49,6 +70,13 @@ public abstract class AbstractEvent implements Event {
 
     @Override
     public String getPayload() {
+        String payload = this.payload;
+        if (payload == null) {
+            // concurrent callers might serialize twice, which is harmless as the result is identical
+            Supplier<String> payloadSupplier = this.payloadSupplier;
+            payload = payloadSupplier != null ? payloadSupplier.get() : "";
+            this.payload = payload;
+        }
         return payload;
     }
 
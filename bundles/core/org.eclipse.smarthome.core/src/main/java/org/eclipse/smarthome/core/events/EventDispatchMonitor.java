@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.events;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link EventDispatchMonitor} gives insight into the delivery of events to the {@link EventSubscriber}s.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface EventDispatchMonitor {
+
+    /**
+     * Gets a snapshot of the event queues of all subscribers that received events so far.
+     *
+     * @return the queue information, one entry per subscriber (not null)
+     */
+    List<EventSubscriberQueueInfo> getSubscriberQueues();
+
+}
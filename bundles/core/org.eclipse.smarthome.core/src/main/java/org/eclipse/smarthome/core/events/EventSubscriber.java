@@ -43,6 +43,9 @@ public interface EventSubscriber {
      * Gets an {@link EventFilter} in order to receive specific events if the filter applies. If there is no
      * filter all subscribed event types are received.
      *
+     * The filter is expected not to change while the subscriber is registered. A {@link TopicEventFilter} allows the
+     * event bus to skip the subscriber for events of other topics without evaluating the filter.
+     *
      * @return the event filter, or null
      */
     @Nullable
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.events;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link EventSubscriberQueueInfo} is a snapshot of the dispatching state of a single {@link EventSubscriber}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EventSubscriberQueueInfo {
+
+    private final String subscriber;
+    private final int queueSize;
+    private final int capacity;
+    private final long delivered;
+    private final long dropped;
+    private final long coalesced;
+    private final long lag;
+    private final long maxLag;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param subscriber the name of the subscriber
+     * @param queueSize the number of events waiting for delivery
+     * @param capacity the maximum number of events waiting for delivery
+     * @param delivered the number of events delivered so far
+     * @param dropped the number of events discarded because the queue was full
+     * @param coalesced the number of events replaced by a newer event of the same topic
+     * @param lag the age of the oldest event waiting for delivery in milliseconds
+     * @param maxLag the maximum time an event had to wait for its delivery in milliseconds
+     */
+    public EventSubscriberQueueInfo(String subscriber, int queueSize, int capacity, long delivered, long dropped,
+            long coalesced, long lag, long maxLag) {
+        this.subscriber = subscriber;
+        this.queueSize = queueSize;
+        this.capacity = capacity;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.coalesced = coalesced;
+        this.lag = lag;
+        this.maxLag = maxLag;
+    }
+
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: queued=%d/%d, delivered=%d, dropped=%d, coalesced=%d, lag=%dms, maxLag=%dms",
+                subscriber, queueSize, capacity, delivered, dropped, coalesced, lag, maxLag);
+    }
+
+}
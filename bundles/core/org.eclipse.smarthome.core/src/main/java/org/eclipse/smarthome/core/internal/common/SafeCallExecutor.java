@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.common;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes asynchronous safe-call tasks without dynamic proxies.
+ *
+ * Every identifier has a lock-free queue which is drained by at most one thread of the scheduler at a time, so the
+ * tasks of an identifier are executed in the order of their submission. Apart from a small entry and the queue node no
+ * objects are created per task. Instead of scheduling a timeout watcher for every task, the running tasks are checked
+ * periodically, so a timeout is detected up to {@link #WATCHDOG_INTERVAL} milliseconds late. Queues which have been
+ * idle during a check are discarded.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SafeCallExecutor {
+
+    static final long WATCHDOG_INTERVAL = 100;
+    private static final int BATCH_SIZE = 64;
+
+    private static final String MSG_TIMEOUT = "Timeout of {}ms exceeded while executing a task for '{}'\nThread '{}' ({}) is in state '{}'\n{}";
+    private static final String MSG_ERROR = "An error occurred while executing a task for '{}': {}";
+
+    private final Logger logger = LoggerFactory.getLogger(SafeCallExecutor.class);
+
+    private final Map<Object, TaskQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService scheduler;
+    private final ScheduledFuture<?> watchdog;
+
+    SafeCallExecutor(ScheduledExecutorService watcher, ExecutorService scheduler) {
+        this.scheduler = scheduler;
+        this.watchdog = watcher.scheduleWithFixedDelay(this::check, WATCHDOG_INTERVAL, WATCHDOG_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+
+    void execute(Object identifier, Runnable task, long timeout, @Nullable Runnable timeoutHandler) {
+        Task entry = new Task(task, timeout, timeoutHandler);
+        while (true) {
+            TaskQueue queue = queues.get(identifier);
+            if (queue == null) {
+                queue = queues.computeIfAbsent(identifier, TaskQueue::new);
+            }
+            if (queue.offer(entry)) {
+                return;
+            }
+            // the queue has just been discarded by the watchdog
+            queues.remove(identifier, queue);
+        }
+    }
+
+    void close() {
+        watchdog.cancel(false);
+        queues.clear();
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        for (TaskQueue queue : queues.values()) {
+            if (queue.retireIfIdle()) {
+                queues.remove(queue.identifier, queue);
+            } else {
+                queue.checkTimeout(now);
+            }
+        }
+    }
+
+    private static class Task {
+        final Runnable runnable;
+        final long timeout;
+        final @Nullable Runnable timeoutHandler;
+
+        Task(Runnable runnable, long timeout, @Nullable Runnable timeoutHandler) {
+            this.runnable = runnable;
+            this.timeout = timeout;
+            this.timeoutHandler = timeoutHandler;
+        }
+    }
+
+    private class TaskQueue implements Runnable {
+
+        private static final int RETIRED = -1;
+
+        private final Object identifier;
+        private final ConcurrentLinkedQueue<Task> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The number of submitted tasks that have not finished yet, or {@link #RETIRED}. A task is added to the queue
+         * before it is counted, so there are always at least as many queued tasks as the counter says.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile @Nullable Task running;
+        private volatile @Nullable Thread thread;
+        private volatile long runningSince;
+        private volatile boolean timeoutReported;
+
+        TaskQueue(Object identifier) {
+            this.identifier = identifier;
+        }
+
+        boolean offer(Task task) {
+            tasks.add(task);
+            int count;
+            do {
+                count = pending.get();
+                if (count == RETIRED) {
+                    // a retired queue is never drained again
+                    tasks.remove(task);
+                    return false;
+                }
+            } while (!pending.compareAndSet(count, count + 1));
+            if (count == 0) {
+                scheduler.execute(this);
+            }
+            return true;
+        }
+
+        boolean retireIfIdle() {
+            return pending.compareAndSet(0, RETIRED);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Task task = tasks.poll();
+                if (task == null) {
+                    // cannot happen, a counted task has always been added before
+                    return;
+                }
+                execute(task);
+                if (pending.decrementAndGet() == 0) {
+                    return;
+                }
+            }
+            // there are more tasks, but let other identifiers use the thread first
+            scheduler.execute(this);
+        }
+
+        private void execute(Task task) {
+            thread = Thread.currentThread();
+            runningSince = System.nanoTime();
+            timeoutReported = false;
+            running = task;
+            try {
+                task.runnable.run();
+            } catch (Throwable e) {
+                // like the proxy based calls, do not let anything escape, otherwise the queue would be stuck
+                logger.error(MSG_ERROR, identifier, e.getMessage(), e);
+            } finally {
+                running = null;
+                thread = null;
+            }
+        }
+
+        void checkTimeout(long now) {
+            Task task = running;
+            Thread thread = this.thread;
+            if (task == null || thread == null || timeoutReported
+                    || TimeUnit.NANOSECONDS.toMillis(now - runningSince) <= task.timeout) {
+                return;
+            }
+            timeoutReported = true;
+            if (logger.isDebugEnabled()) {
+                logger.debug(MSG_TIMEOUT, task.timeout, identifier, thread.getName(), thread.getId(),
+                        thread.getState().toString(), getStacktrace(thread));
+            }
+            Runnable timeoutHandler = task.timeoutHandler;
+            if (timeoutHandler != null) {
+                try {
+                    timeoutHandler.run();
+                } catch (RuntimeException e) {
+                    logger.error(MSG_ERROR, identifier, e.getMessage(), e);
+                }
+            }
+        }
+
+        private String getStacktrace(final Thread thread) {
+            StackTraceElement[] elements = AccessController
+                    .doPrivileged((PrivilegedAction<StackTraceElement[]>) thread::getStackTrace);
+            return Arrays.stream(elements).map(element -> "\tat " + element.toString())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+
+}
@@ -45,10 +45,14 @@ public class SafeCallerImpl implements SafeCaller {
     @NonNullByDefault({})
     private SafeCallManagerImpl manager;
 
+    @NonNullByDefault({})
+    private SafeCallExecutor executor;
+
     @Activate
     public void activate(@Nullable Map<String, Object> properties) {
         watcher = Executors.newSingleThreadScheduledExecutor();
         manager = new SafeCallManagerImpl(watcher, getScheduler(), false);
+        executor = new SafeCallExecutor(watcher, getScheduler());
         modified(properties);
     }
 
@@ -62,6 +66,10 @@ public class SafeCallerImpl implements SafeCaller {
 
     @Deactivate
     public void deactivate() {
+        if (executor != null) {
+            executor.close();
+            executor = null;
+        }
         if (watcher != null) {
             watcher.shutdownNow();
             watcher = null;
@@ -74,6 +82,11 @@ public class SafeCallerImpl implements SafeCaller {
         return new SafeCallerBuilderImpl<T>(target, new Class<?>[] { interfaceType }, manager);
     }
 
+    @Override
+    public void executeAsync(Object identifier, Runnable task, long timeout, @Nullable Runnable timeoutHandler) {
+        executor.execute(identifier, task, timeout, timeoutHandler);
+    }
+
     protected ExecutorService getScheduler() {
         return ThreadPoolManager.getPool(SAFE_CALL_POOL_NAME);
     }
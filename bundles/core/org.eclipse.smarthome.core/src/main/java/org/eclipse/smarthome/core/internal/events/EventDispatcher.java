@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.common.SafeCaller;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.EventSubscriberQueueInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to the {@link EventSubscriber}s.
+ *
+ * Every subscriber gets its own bounded {@link SubscriberQueue}. Each event is delivered by an asynchronous safe-call
+ * ({@link SafeCaller#executeAsync(Object, Runnable, long, Runnable)}) with the subscriber as identifier, so the events
+ * are delivered to each subscriber in order, a delivery that takes longer than the safe-call timeout is reported and a
+ * slow subscriber does not delay the delivery to the other subscribers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EventDispatcher implements Closeable {
+
+    private final Logger logger = LoggerFactory.getLogger(EventDispatcher.class);
+
+    private final Map<EventSubscriber, SubscriberQueue> queues = new ConcurrentHashMap<>();
+
+    private final SafeCaller safeCaller;
+    private final Predicate<EventSubscriber> isSubscribed;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates a new event dispatcher.
+     *
+     * @param safeCaller the safe caller used to deliver the events
+     * @param isSubscribed checks whether a subscriber is still registered, queues are only created for registered
+     *            subscribers
+     * @param capacity the maximum number of queued events per subscriber
+     * @param overflowPolicy what to do if the queue of a subscriber is full
+     */
+    public EventDispatcher(SafeCaller safeCaller, Predicate<EventSubscriber> isSubscribed, int capacity,
+            OverflowPolicy overflowPolicy) {
+        this.safeCaller = safeCaller;
+        this.isSubscribed = isSubscribed;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queues an event for delivery to a subscriber.
+     *
+     * @param subscriber the subscriber
+     * @param event the event
+     */
+    public void dispatch(EventSubscriber subscriber, Event event) {
+        SubscriberQueue queue = queues.get(subscriber);
+        if (queue == null) {
+            queue = queues.computeIfAbsent(subscriber, this::createQueue);
+            // the subscriber might have been removed since it has been looked up for this event
+            if (!isSubscribed.test(subscriber)) {
+                if (queues.remove(subscriber, queue)) {
+                    queue.close();
+                }
+                return;
+            }
+        }
+        queue.add(event);
+    }
+
+    private SubscriberQueue createQueue(EventSubscriber subscriber) {
+        Runnable timeoutHandler = () -> logger.warn("Dispatching event to subscriber '{}' takes more than {}ms.",
+                subscriber, SafeCaller.DEFAULT_TIMEOUT);
+        Executor executor = task -> safeCaller.executeAsync(subscriber, task, SafeCaller.DEFAULT_TIMEOUT,
+                timeoutHandler);
+        return new SubscriberQueue(subscriber, executor, capacity, overflowPolicy);
+    }
+
+    /**
+     * Discards the queue of a subscriber that is no longer available.
+     *
+     * The subscriber must have been removed from the subscriber registration before, otherwise a new queue might be
+     * created for it.
+     *
+     * @param subscriber the subscriber
+     */
+    public void remove(EventSubscriber subscriber) {
+        SubscriberQueue queue = queues.remove(subscriber);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    /**
+     * Gets a snapshot of all subscriber queues.
+     *
+     * @return the queue information
+     */
+    public List<EventSubscriberQueueInfo> getSubscriberQueues() {
+        return queues.values().stream().map(SubscriberQueue::getInfo).collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+        queues.values().forEach(SubscriberQueue::close);
+        queues.clear();
+    }
+
+}
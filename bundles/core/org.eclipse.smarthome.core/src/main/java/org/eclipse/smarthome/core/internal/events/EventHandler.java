@@ -12,14 +12,14 @@
  */
 package org.eclipse.smarthome.core.internal.events;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.core.common.SafeCaller;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventFactory;
 import org.eclipse.smarthome.core.events.EventFilter;
@@ -37,22 +37,22 @@ public class EventHandler {
 
     private final Logger logger = LoggerFactory.getLogger(EventHandler.class);
 
-    private final Map<String, Set<EventSubscriber>> typedEventSubscribers;
+    private final SubscriberIndex eventSubscribers;
     private final Map<String, EventFactory> typedEventFactories;
-    private final SafeCaller safeCaller;
+    private final EventDispatcher eventDispatcher;
 
     /**
      * Create a new event handler.
      *
-     * @param typedEventSubscribers the event subscribers indexed by the event type
+     * @param eventSubscribers the event subscribers indexed by the event type and topic
      * @param typedEventFactories the event factories indexed by the event type
-     * @param safeCaller the safe caller to use
+     * @param eventDispatcher the dispatcher delivering the events to the subscribers
      */
-    public EventHandler(final Map<String, Set<EventSubscriber>> typedEventSubscribers,
-            final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller) {
-        this.typedEventSubscribers = typedEventSubscribers;
+    public EventHandler(final SubscriberIndex eventSubscribers,
+            final Map<String, EventFactory> typedEventFactories, final EventDispatcher eventDispatcher) {
+        this.eventSubscribers = eventSubscribers;
         this.typedEventFactories = typedEventFactories;
-        this.safeCaller = safeCaller;
+        this.eventDispatcher = eventDispatcher;
     }
 
     public void handleEvent(org.osgi.service.event.Event osgiEvent) {
@@ -79,6 +79,31 @@ public class EventHandler {
         }
     }
 
+    /**
+     * Handle an Eclipse SmartHome event that has been posted in-process.
+     *
+     * The event object is handed to the subscribers as it is, so no (de-)serialization is involved.
+     *
+     * @param eshEvent the event
+     */
+    public void handleEvent(final Event eshEvent) {
+        logger.trace("Handle in-process event (event: {})", eshEvent);
+
+        final String type = eshEvent.getType();
+        if (!typedEventFactories.containsKey(type)) {
+            // keep the semantics of the OSGi path: only events that could be recreated from their payload are handled
+            logger.debug("Could not find an Event Factory for the event type '{}'.", type);
+            return;
+        }
+
+        final List<EventSubscriber> candidates = getEventSubscribers(type, eshEvent.getTopic());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        dispatchESHEvent(candidates, eshEvent);
+    }
+
     private void handleEvent(final String type, final String payload, final String topic,
             final @Nullable String source) {
         final EventFactory eventFactory = typedEventFactories.get(type);
@@ -87,8 +112,9 @@ public class EventHandler {
             return;
         }
 
-        final Set<EventSubscriber> eventSubscribers = getEventSubscribers(type);
-        if (eventSubscribers.isEmpty()) {
+        // the topic is known before the event is created, so the payload is only parsed if somebody might be interested
+        final List<EventSubscriber> candidates = getEventSubscribers(type, topic);
+        if (candidates.isEmpty()) {
             return;
         }
 
@@ -97,21 +123,16 @@ public class EventHandler {
             return;
         }
 
-        dispatchESHEvent(eventSubscribers, eshEvent);
+        dispatchESHEvent(candidates, eshEvent);
     }
 
-    private Set<EventSubscriber> getEventSubscribers(String eventType) {
-        Set<EventSubscriber> eventTypeSubscribers = typedEventSubscribers.get(eventType);
-        Set<EventSubscriber> allEventTypeSubscribers = typedEventSubscribers.get(EventSubscriber.ALL_EVENT_TYPES);
-
-        Set<EventSubscriber> subscribers = new HashSet<>();
-        if (eventTypeSubscribers != null) {
-            subscribers.addAll(eventTypeSubscribers);
-        }
-        if (allEventTypeSubscribers != null) {
-            subscribers.addAll(allEventTypeSubscribers);
+    private List<EventSubscriber> getEventSubscribers(String eventType, String topic) {
+        if (!eventSubscribers.hasSubscribers(eventType)) {
+            return Collections.emptyList();
         }
-        return subscribers;
+        List<EventSubscriber> candidates = new ArrayList<>();
+        eventSubscribers.collect(eventType, topic, candidates);
+        return candidates;
     }
 
     private @Nullable Event createESHEvent(final EventFactory eventFactory, final String type, final String payload,
@@ -128,17 +149,16 @@ public class EventHandler {
         return eshEvent;
     }
 
-    private synchronized void dispatchESHEvent(final Set<EventSubscriber> eventSubscribers, final Event event) {
+    private void dispatchESHEvent(final List<EventSubscriber> eventSubscribers, final Event event) {
         for (final EventSubscriber eventSubscriber : eventSubscribers) {
-            EventFilter filter = eventSubscriber.getEventFilter();
-            if (filter == null || filter.apply(event)) {
-                safeCaller.create(eventSubscriber, EventSubscriber.class).withAsync().onTimeout(() -> {
-                    logger.warn("Dispatching event to subscriber '{}' takes more than {}ms.",
-                            eventSubscriber.toString(), SafeCaller.DEFAULT_TIMEOUT);
-                }).onException(e -> {
-                    logger.error("Dispatching/filtering event for subscriber '{}' failed: {}",
-                            EventSubscriber.class.getName(), e.getMessage(), e);
-                }).build().receive(event);
+            try {
+                EventFilter filter = eventSubscriber.getEventFilter();
+                if (filter == null || filter.apply(event)) {
+                    eventDispatcher.dispatch(eventSubscriber, event);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Dispatching/filtering event for subscriber '{}' failed: {}", eventSubscriber,
+                        e.getMessage(), e);
             }
         }
     }
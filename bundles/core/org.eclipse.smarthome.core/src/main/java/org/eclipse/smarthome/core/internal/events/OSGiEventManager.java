@@ -13,15 +13,18 @@
 package org.eclipse.smarthome.core.internal.events;
 
 import java.util.Collections;
+import java.util.Dictionary;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.common.SafeCaller;
 import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventDispatchMonitor;
 import org.eclipse.smarthome.core.events.EventFactory;
 import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.EventSubscriberQueueInfo;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -30,6 +33,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link OSGiEventManager} provides an OSGi based default implementation of the Eclipse SmartHome event bus.
@@ -38,24 +43,67 @@ import org.osgi.service.event.EventHandler;
  * implementing the OSGi {@link EventHandler} interface) and dispatches the received OSGi events as ESH {@link Event}s
  * to the {@link EventSubscriber}s if the provided filter applies.
  *
+ * The subscribers are indexed by the event type and the topics they are interested in, which are derived from a
+ * {@link org.eclipse.smarthome.core.events.TopicEventFilter} or from the "event.topics" service property of the
+ * subscriber. So only the filters of the subscribers that might be interested in an event are evaluated.
+ *
+ * Every subscriber has its own bounded event queue, the events are delivered by asynchronous safe-calls. The capacity
+ * of the queues ({@value #CONFIG_QUEUE_SIZE}) and the behavior if a queue is full ({@value #CONFIG_OVERFLOW_POLICY}:
+ * dropOldest, coalesce or block) can be configured.
+ *
  * @author Stefan Bußweiler - Initial contribution
  * @author Markus Rathgeb - Return on received events as fast as possible (handle event in another thread)
  */
-@Component(immediate = true, property = { "event.topics:String=smarthome" })
-public class OSGiEventManager implements EventHandler {
+@Component(immediate = true, configurationPid = "org.eclipse.smarthome.eventbus", service = { EventHandler.class,
+        EventDispatchMonitor.class, OSGiEventManager.class }, property = { "event.topics:String=smarthome" })
+public class OSGiEventManager implements EventHandler, EventDispatchMonitor {
 
-    /** The event subscribers indexed by the event type. */
-    // Use a concurrent hash map because the map is written and read by different threads!
-    private final Map<String, Set<EventSubscriber>> typedEventSubscribers = new ConcurrentHashMap<>();
-    private final Map<String, EventFactory> typedEventFactories = new ConcurrentHashMap<>();
+    static final String CONFIG_QUEUE_SIZE = "queueSize";
+    static final String CONFIG_OVERFLOW_POLICY = "overflowPolicy";
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
 
-    private ThreadedEventHandler eventHandler;
+    private final Logger logger = LoggerFactory.getLogger(OSGiEventManager.class);
+
+    private static final String PROPERTY_EVENT_TOPICS = "event.topics";
+
+    /** The event subscribers indexed by the event type and topic. */
+    private final SubscriberIndex eventSubscribers = new SubscriberIndex();
+    private final Map<String, EventFactory> typedEventFactories = new ConcurrentHashMap<>();
 
     private SafeCaller safeCaller;
 
+    private volatile ThreadedEventHandler eventHandler;
+
+    private volatile EventDispatcher eventDispatcher;
+
     @Activate
     protected void activate(ComponentContext componentContext) {
-        eventHandler = new ThreadedEventHandler(typedEventSubscribers, typedEventFactories, safeCaller);
+        Dictionary<String, Object> properties = componentContext.getProperties();
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        if (properties != null) {
+            Object value = properties.get(CONFIG_QUEUE_SIZE);
+            if (value != null) {
+                try {
+                    queueSize = Math.max(1, Integer.parseInt(value.toString()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid event queue size '{}'.", value);
+                }
+            }
+            value = properties.get(CONFIG_OVERFLOW_POLICY);
+            if (value != null) {
+                OverflowPolicy policy = OverflowPolicy.fromConfigValue(value.toString());
+                if (policy != null) {
+                    overflowPolicy = policy;
+                } else {
+                    logger.warn("Ignoring invalid event queue overflow policy '{}'.", value);
+                }
+            }
+        }
+
+        eventDispatcher = new EventDispatcher(safeCaller, eventSubscribers::contains, queueSize, overflowPolicy);
+        eventHandler = new ThreadedEventHandler(eventSubscribers, typedEventFactories, eventDispatcher);
         eventHandler.open();
     }
 
@@ -65,33 +113,22 @@ public class OSGiEventManager implements EventHandler {
             eventHandler.close();
             eventHandler = null;
         }
+        if (eventDispatcher != null) {
+            eventDispatcher.close();
+            eventDispatcher = null;
+        }
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
-    protected void addEventSubscriber(final EventSubscriber eventSubscriber) {
-        final Set<String> subscribedEventTypes = eventSubscriber.getSubscribedEventTypes();
-        for (final String subscribedEventType : subscribedEventTypes) {
-            final Set<EventSubscriber> entries = typedEventSubscribers.get(subscribedEventType);
-            if (entries == null) {
-                // Use a copy on write array set because the set is written and read by different threads!
-                typedEventSubscribers.put(subscribedEventType,
-                        new CopyOnWriteArraySet<>(Collections.singleton(eventSubscriber)));
-            } else {
-                entries.add(eventSubscriber);
-            }
-        }
+    protected void addEventSubscriber(final EventSubscriber eventSubscriber, final Map<String, Object> properties) {
+        eventSubscribers.add(eventSubscriber, properties.get(PROPERTY_EVENT_TOPICS));
     }
 
     protected void removeEventSubscriber(EventSubscriber eventSubscriber) {
-        final Set<String> subscribedEventTypes = eventSubscriber.getSubscribedEventTypes();
-        for (final String subscribedEventType : subscribedEventTypes) {
-            final Set<EventSubscriber> entries = typedEventSubscribers.get(subscribedEventType);
-            if (entries != null) {
-                entries.remove(eventSubscriber);
-                if (entries.isEmpty()) {
-                    typedEventSubscribers.remove(subscribedEventType);
-                }
-            }
+        eventSubscribers.remove(eventSubscriber);
+        EventDispatcher eventDispatcher = this.eventDispatcher;
+        if (eventDispatcher != null) {
+            eventDispatcher.remove(eventSubscriber);
         }
     }
 
@@ -130,4 +167,25 @@ public class OSGiEventManager implements EventHandler {
         eventHandler.handleEvent(osgiEvent);
     }
 
+    /**
+     * Dispatches an event that has been posted in the same JVM without passing it through the OSGi Event Admin.
+     *
+     * @param event the event
+     * @return true if the event has been accepted, false if the event manager is not active
+     */
+    boolean dispatch(Event event) {
+        ThreadedEventHandler eventHandler = this.eventHandler;
+        if (eventHandler == null) {
+            return false;
+        }
+        eventHandler.handleEvent(event);
+        return true;
+    }
+
+    @Override
+    public List<EventSubscriberQueueInfo> getSubscriberQueues() {
+        EventDispatcher eventDispatcher = this.eventDispatcher;
+        return eventDispatcher != null ? eventDispatcher.getSubscriberQueues() : Collections.emptyList();
+    }
+
 }
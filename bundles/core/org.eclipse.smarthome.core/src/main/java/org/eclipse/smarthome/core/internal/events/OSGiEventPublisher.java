@@ -17,27 +17,53 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventPublisher;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.event.EventAdmin;
 
 /**
  * The {@link OSGiEventPublisher} provides an OSGi based default implementation of the Eclipse SmartHome event
  * publisher.
  *
- * Events are send in an asynchronous way via OSGi Event Admin mechanism.
+ * Events are send in an asynchronous way via OSGi Event Admin mechanism. If the in-process delivery is enabled
+ * (configuration property {@value #CONFIG_IN_PROCESS}) and the event manager is available, the events are handed to
+ * the {@link OSGiEventManager} of this JVM as they are, so neither serialization nor deserialization of the payload
+ * is necessary. Other OSGi event handlers (e.g. a remote bridge) listening for the "smarthome" topic do not see these
+ * events.
  *
  * @author Stefan Bußweiler - Initial contribution
  * @author Simon Kaufmann - separated from OSGiEventManager
  */
-@Component
+@Component(configurationPid = "org.eclipse.smarthome.eventbus")
 public class OSGiEventPublisher implements EventPublisher {
 
+    static final String CONFIG_IN_PROCESS = "inProcess";
+
     private EventAdmin osgiEventAdmin;
 
+    private volatile OSGiEventManager eventManager;
+
+    private volatile boolean inProcess = false;
+
+    @Activate
+    protected void activate(Map<String, Object> properties) {
+        modified(properties);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        Object value = properties != null ? properties.get(CONFIG_IN_PROCESS) : null;
+        inProcess = value != null && Boolean.parseBoolean(value.toString());
+    }
+
     @Reference
     protected void setEventAdmin(EventAdmin eventAdmin) {
         this.osgiEventAdmin = eventAdmin;
@@ -47,10 +73,26 @@ public class OSGiEventPublisher implements EventPublisher {
         this.osgiEventAdmin = null;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setEventManager(OSGiEventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    protected void unsetEventManager(OSGiEventManager eventManager) {
+        if (this.eventManager == eventManager) {
+            this.eventManager = null;
+        }
+    }
+
     @Override
     public void post(final Event event) throws IllegalArgumentException, IllegalStateException {
-        EventAdmin eventAdmin = this.osgiEventAdmin;
         assertValidArgument(event);
+        OSGiEventManager eventManager = this.eventManager;
+        if (inProcess && eventManager != null && eventManager.dispatch(event)) {
+            return;
+        }
+        EventAdmin eventAdmin = this.osgiEventAdmin;
+        assertValidPayload(event);
         assertValidState(eventAdmin);
         postAsOSGiEvent(eventAdmin, event);
     }
@@ -88,14 +130,19 @@ public class OSGiEventPublisher implements EventPublisher {
         if ((value = event.getType()) == null || value.isEmpty()) {
             throw new IllegalArgumentException(String.format(errorMsg, "type"));
         }
-        if ((value = event.getPayload()) == null || value.isEmpty()) {
-            throw new IllegalArgumentException(String.format(errorMsg, "payload"));
-        }
         if ((value = event.getTopic()) == null || value.isEmpty()) {
             throw new IllegalArgumentException(String.format(errorMsg, "topic"));
         }
     }
 
+    private void assertValidPayload(Event event) throws IllegalArgumentException {
+        // checked only if the event leaves the JVM because this enforces the serialization of lazy payloads
+        String value = event.getPayload();
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("The payload of the 'event' argument must not be null or empty.");
+        }
+    }
+
     private void assertValidState(EventAdmin eventAdmin) throws IllegalStateException {
         if (eventAdmin == null) {
             throw new IllegalStateException("The event bus module is not available!");
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Defines what happens if an event should be queued for a subscriber whose queue is full.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum OverflowPolicy {
+
+    /**
+     * Discard the oldest queued event of the subscriber. This is the default.
+     */
+    DROP_OLDEST("dropOldest"),
+
+    /**
+     * Replace a queued event of the subscriber that has the same topic, so only the latest event per topic is
+     * delivered. If there is no such event, the oldest queued event is discarded.
+     */
+    COALESCE("coalesce"),
+
+    /**
+     * Wait until the subscriber has consumed an event. No event is lost, but a slow subscriber delays the dispatching
+     * to all other subscribers.
+     */
+    BLOCK("block");
+
+    private final String configValue;
+
+    private OverflowPolicy(String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Gets the overflow policy for a configuration value.
+     *
+     * @param configValue the configuration value (case insensitive)
+     * @return the overflow policy, or null if the value is unknown
+     */
+    public static @Nullable OverflowPolicy fromConfigValue(String configValue) {
+        for (OverflowPolicy policy : values()) {
+            if (policy.configValue.equalsIgnoreCase(configValue)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return configValue;
+    }
+
+}
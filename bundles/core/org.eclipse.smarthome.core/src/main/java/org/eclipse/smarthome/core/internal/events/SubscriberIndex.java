@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.TopicEventFilter;
+
+/**
+ * Index of the {@link EventSubscriber}s by event type and topic.
+ *
+ * For every event type the subscribers are stored in a trie of the topic segments (separated by '/'). A subscriber is
+ * either stored for an exact topic or for a whole sub tree of topics. The topics a subscriber is interested in are
+ * derived from its {@link TopicEventFilter} or, if there is none, from the OSGi "event.topics" service property
+ * (which supports '*' as a wildcard segment). Subscribers whose topics cannot be derived are stored for all topics.
+ *
+ * The index only narrows the candidates, the event filter of every candidate still has to be applied. Therefore the
+ * derived topics may be broader than the actual filter, but never narrower.
+ *
+ * The index can be queried concurrently to its modification. Nodes of the trie which are no longer used are removed
+ * together with the last subscriber stored in them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubscriberIndex {
+
+    private static final char SEPARATOR = '/';
+    private static final String WILDCARD = "*";
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    private final Map<String, Node> roots = new ConcurrentHashMap<>();
+    private final Map<EventSubscriber, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a subscriber.
+     *
+     * @param subscriber the subscriber
+     * @param eventTopics the value of the "event.topics" service property (String, String array or collection of
+     *            Strings), or null
+     */
+    public synchronized void add(EventSubscriber subscriber, @Nullable Object eventTopics) {
+        Set<String> eventTypes = subscriber.getSubscribedEventTypes();
+        if (eventTypes.contains(EventSubscriber.ALL_EVENT_TYPES)) {
+            // the subscriber must not be found twice
+            eventTypes = Collections.singleton(EventSubscriber.ALL_EVENT_TYPES);
+        }
+        List<Path> paths = getPaths(subscriber.getEventFilter(), eventTopics);
+        Registration registration = new Registration(subscriber, eventTypes, paths);
+        Registration previous = registrations.put(subscriber, registration);
+        if (previous != null) {
+            unregister(previous);
+        }
+        for (String eventType : eventTypes) {
+            Node root = roots.computeIfAbsent(eventType, t -> new Node());
+            for (Path path : paths) {
+                Node node = root;
+                for (String segment : path.segments) {
+                    node = node.getOrCreateChild(segment);
+                }
+                node.getRegistrations(path.exact).add(registration);
+            }
+        }
+    }
+
+    /**
+     * Removes a subscriber.
+     *
+     * @param subscriber the subscriber
+     */
+    public synchronized void remove(EventSubscriber subscriber) {
+        Registration registration = registrations.remove(subscriber);
+        if (registration != null) {
+            unregister(registration);
+        }
+    }
+
+    private void unregister(Registration registration) {
+        for (String eventType : registration.eventTypes) {
+            Node root = roots.get(eventType);
+            if (root == null) {
+                continue;
+            }
+            for (Path path : registration.paths) {
+                remove(root, path, 0, registration);
+            }
+            if (root.isEmpty()) {
+                roots.remove(eventType, root);
+            }
+        }
+    }
+
+    /**
+     * Removes a registration from the sub tree of the given node and prunes the nodes that became empty.
+     *
+     * @return true if the given node is empty afterwards
+     */
+    private boolean remove(Node node, Path path, int depth, Registration registration) {
+        if (depth == path.segments.size()) {
+            node.getRegistrations(path.exact).remove(registration);
+        } else {
+            String segment = path.segments.get(depth);
+            Node child = node.children.get(segment);
+            if (child != null && remove(child, path, depth + 1, registration)) {
+                node.children.remove(segment, child);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    /**
+     * Checks whether a subscriber is registered.
+     *
+     * @param subscriber the subscriber
+     * @return true if the subscriber has been added and not removed since
+     */
+    public boolean contains(EventSubscriber subscriber) {
+        return registrations.containsKey(subscriber);
+    }
+
+    /**
+     * Collects the subscribers that might be interested in an event.
+     *
+     * @param eventType the type of the event
+     * @param topic the topic of the event
+     * @param subscribers the list the subscribers are added to
+     */
+    public void collect(String eventType, String topic, List<EventSubscriber> subscribers) {
+        Node root = roots.get(eventType);
+        if (root != null) {
+            collect(root, topic, subscribers);
+        }
+        root = roots.get(EventSubscriber.ALL_EVENT_TYPES);
+        if (root != null) {
+            collect(root, topic, subscribers);
+        }
+    }
+
+    /**
+     * Checks whether there is a subscriber for an event type at all.
+     *
+     * @param eventType the event type
+     * @return true if there might be a subscriber
+     */
+    public boolean hasSubscribers(String eventType) {
+        return roots.containsKey(eventType) || roots.containsKey(EventSubscriber.ALL_EVENT_TYPES);
+    }
+
+    /**
+     * @return the number of nodes in the tries of all event types
+     */
+    int getNodeCount() {
+        int count = 0;
+        for (Node root : roots.values()) {
+            count += root.getNodeCount();
+        }
+        return count;
+    }
+
+    private void collect(Node root, String topic, List<EventSubscriber> subscribers) {
+        Node node = root;
+        addAll(node.subtree, subscribers);
+        int start = 0;
+        while (true) {
+            int end = topic.indexOf(SEPARATOR, start);
+            String segment = end < 0 ? topic.substring(start) : topic.substring(start, end);
+            node = node.children.get(segment);
+            if (node == null) {
+                return;
+            }
+            addAll(node.subtree, subscribers);
+            if (end < 0) {
+                addAll(node.exact, subscribers);
+                return;
+            }
+            start = end + 1;
+        }
+    }
+
+    private void addAll(List<Registration> registrations, List<EventSubscriber> subscribers) {
+        for (Registration registration : registrations) {
+            if (!registration.multiplePaths || !subscribers.contains(registration.subscriber)) {
+                subscribers.add(registration.subscriber);
+            }
+        }
+    }
+
+    private static List<Path> getPaths(@Nullable EventFilter filter, @Nullable Object eventTopics) {
+        if (filter instanceof TopicEventFilter) {
+            return Collections.singletonList(fromRegex(((TopicEventFilter) filter).getTopicRegex()));
+        }
+        List<Path> paths = new ArrayList<>();
+        if (eventTopics instanceof String) {
+            paths.add(fromEventTopic((String) eventTopics));
+        } else if (eventTopics instanceof String[]) {
+            for (String eventTopic : (String[]) eventTopics) {
+                paths.add(fromEventTopic(eventTopic));
+            }
+        } else if (eventTopics instanceof Collection) {
+            for (Object eventTopic : (Collection<?>) eventTopics) {
+                paths.add(fromEventTopic(String.valueOf(eventTopic)));
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.add(Path.ALL);
+        }
+        return paths;
+    }
+
+    /**
+     * Derives the path from an OSGi event topic, '*' is supported as a wildcard segment.
+     */
+    static Path fromEventTopic(String eventTopic) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : eventTopic.split(String.valueOf(SEPARATOR), -1)) {
+            if (segment.contains(WILDCARD)) {
+                return new Path(segments, false);
+            }
+            segments.add(segment);
+        }
+        return new Path(segments, true);
+    }
+
+    /**
+     * Derives the path from the literal prefix of a regular expression that has to match the whole topic.
+     */
+    static Path fromRegex(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return Path.ALL;
+        }
+        int literalEnd = 0;
+        while (literalEnd < regex.length() && REGEX_META_CHARACTERS.indexOf(regex.charAt(literalEnd)) < 0) {
+            literalEnd++;
+        }
+        if (literalEnd == regex.length()) {
+            return fromSegments(regex, true);
+        }
+        if (REGEX_QUANTIFIERS.indexOf(regex.charAt(literalEnd)) >= 0) {
+            // the character in front of a quantifier is optional
+            literalEnd--;
+        }
+        int prefixEnd = regex.lastIndexOf(SEPARATOR, literalEnd - 1);
+        if (prefixEnd < 0) {
+            return Path.ALL;
+        }
+        return fromSegments(regex.substring(0, prefixEnd), false);
+    }
+
+    private static Path fromSegments(String topic, boolean exact) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = topic.indexOf(SEPARATOR, start)) >= 0) {
+            segments.add(topic.substring(start, end));
+            start = end + 1;
+        }
+        segments.add(topic.substring(start));
+        return new Path(segments, exact);
+    }
+
+    static class Path {
+        static final Path ALL = new Path(Collections.emptyList(), false);
+
+        final List<String> segments;
+        final boolean exact;
+
+        Path(List<String> segments, boolean exact) {
+            this.segments = segments;
+            this.exact = exact;
+        }
+    }
+
+    private static class Node {
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        final List<Registration> exact = new CopyOnWriteArrayList<>();
+        final List<Registration> subtree = new CopyOnWriteArrayList<>();
+
+        Node getOrCreateChild(String segment) {
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        List<Registration> getRegistrations(boolean exactTopic) {
+            return exactTopic ? exact : subtree;
+        }
+
+        int getNodeCount() {
+            int count = 1;
+            for (Node child : children.values()) {
+                count += child.getNodeCount();
+            }
+            return count;
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && exact.isEmpty() && subtree.isEmpty();
+        }
+    }
+
+    private static class Registration {
+        final EventSubscriber subscriber;
+        final Set<String> eventTypes;
+        final List<Path> paths;
+        final boolean multiplePaths;
+
+        Registration(EventSubscriber subscriber, Set<String> eventTypes, List<Path> paths) {
+            this.subscriber = subscriber;
+            this.eventTypes = new HashSet<>(eventTypes);
+            this.paths = paths;
+            this.multiplePaths = paths.size() > 1;
+        }
+    }
+
+}
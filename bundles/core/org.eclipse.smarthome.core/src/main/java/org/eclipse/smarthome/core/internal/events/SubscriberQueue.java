@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.events.EventSubscriberQueueInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The bounded event queue of a single {@link EventSubscriber}.
+ *
+ * At most one task of the executor is pending per queue and every task delivers a single event, so the events are
+ * delivered to the subscriber in the order they have been queued, while the events of different subscribers are
+ * delivered in parallel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubscriberQueue implements Runnable {
+
+    private final Logger logger = LoggerFactory.getLogger(SubscriberQueue.class);
+
+    private final EventSubscriber subscriber;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    // guarded by lock
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final Map<String, Entry> queuedByTopic = new HashMap<>();
+    private boolean scheduled;
+    private boolean closed;
+    private boolean overflowing;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private volatile long maxLag;
+
+    /**
+     * Creates a new subscriber queue.
+     *
+     * @param subscriber the subscriber the events are delivered to
+     * @param executor the executor used to deliver the events
+     * @param capacity the maximum number of queued events
+     * @param overflowPolicy what to do if the queue is full
+     */
+    public SubscriberQueue(EventSubscriber subscriber, Executor executor, int capacity,
+            OverflowPolicy overflowPolicy) {
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * Depending on the overflow policy this method blocks if the queue is full.
+     *
+     * @param event the event
+     */
+    public void add(Event event) {
+        boolean schedule = false;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= capacity && !handleOverflow(event)) {
+                return;
+            }
+            Entry entry = new Entry(event, System.nanoTime());
+            queue.add(entry);
+            if (overflowPolicy == OverflowPolicy.COALESCE) {
+                queuedByTopic.put(event.getTopic(), entry);
+            }
+            if (!scheduled) {
+                scheduled = true;
+                schedule = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (schedule) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                scheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            logger.warn("Cannot schedule the event delivery to subscriber '{}': {}", subscriber, e.getMessage());
+        }
+    }
+
+    /**
+     * Handles a full queue (the lock must be held).
+     *
+     * @param event the event that should be queued
+     * @return true if the event should be queued, false if it has been consumed otherwise
+     */
+    private boolean handleOverflow(Event event) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (queue.size() >= capacity && !closed) {
+                        notFull.await();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                return !closed;
+            case COALESCE:
+                Entry queued = queuedByTopic.get(event.getTopic());
+                if (queued != null) {
+                    queued.event = event;
+                    coalesced.incrementAndGet();
+                    return false;
+                }
+                return dropOldest();
+            case DROP_OLDEST:
+            default:
+                return dropOldest();
+        }
+    }
+
+    /**
+     * Discards the oldest queued event to make room for a new one (the lock must be held).
+     *
+     * @return always true, the new event should be queued
+     */
+    private boolean dropOldest() {
+        Entry oldest = queue.poll();
+        if (oldest != null) {
+            unindex(oldest);
+            dropped.incrementAndGet();
+            if (!overflowing) {
+                overflowing = true;
+                logger.warn("Event queue of subscriber '{}' is full, discarding the oldest events.", subscriber);
+            }
+            logger.debug("Event queue of subscriber '{}' is full, discarded event '{}'.", subscriber, oldest.event);
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = queue.poll();
+            if (entry == null) {
+                scheduled = false;
+                return;
+            }
+            unindex(entry);
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            deliver(entry);
+        } finally {
+            boolean schedule;
+            lock.lock();
+            try {
+                schedule = !queue.isEmpty();
+                scheduled = schedule;
+                if (!schedule) {
+                    overflowing = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (schedule) {
+                schedule();
+            }
+        }
+    }
+
+    private void deliver(Entry entry) {
+        long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.queued);
+        if (lag > maxLag) {
+            maxLag = lag;
+        }
+        try {
+            subscriber.receive(entry.event);
+        } catch (Exception e) {
+            logger.error("Dispatching/filtering event for subscriber '{}' failed: {}", subscriber, e.getMessage(), e);
+        } finally {
+            delivered.incrementAndGet();
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (overflowPolicy == OverflowPolicy.COALESCE) {
+            queuedByTopic.remove(entry.event.getTopic(), entry);
+        }
+    }
+
+    /**
+     * Discards all queued events and releases blocked producers.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            queuedByTopic.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EventSubscriber getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * Creates a snapshot of the state of this queue.
+     *
+     * @return the snapshot
+     */
+    public EventSubscriberQueueInfo getInfo() {
+        int size;
+        long lag = 0;
+        lock.lock();
+        try {
+            size = queue.size();
+            Entry oldest = queue.peek();
+            if (oldest != null) {
+                lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.queued);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new EventSubscriberQueueInfo(subscriber.toString(), size, capacity, delivered.get(), dropped.get(),
+                coalesced.get(), lag, maxLag);
+    }
+
+    private static class Entry {
+        private Event event;
+        private final long queued;
+
+        Entry(Event event, long queued) {
+            this.event = event;
+            this.queued = queued;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriberQueue [subscriber=" + subscriber + "]";
+    }
+
+}
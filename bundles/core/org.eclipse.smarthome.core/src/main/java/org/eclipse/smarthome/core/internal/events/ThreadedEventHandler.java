@@ -15,16 +15,13 @@ package org.eclipse.smarthome.core.internal.events;
 import java.io.Closeable;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.common.SafeCaller;
 import org.eclipse.smarthome.core.events.EventFactory;
-import org.eclipse.smarthome.core.events.EventSubscriber;
 import org.osgi.service.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,29 +39,33 @@ public class ThreadedEventHandler implements Closeable {
     private final Thread thread;
 
     private final Event notifyEvent = new Event("notify", Collections.emptyMap());
-    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+
+    /** Contains OSGi events received from the Event Admin and ESH events posted in-process. */
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
     private final AtomicBoolean running = new AtomicBoolean(true);
 
     /**
      * Create a new threaded event handler.
      *
-     * @param typedEventSubscribers the event subscribers
+     * @param eventSubscribers the event subscribers indexed by the event type and topic
      * @param typedEventFactories the event factories indexed by the event type
-     * @param safeCaller the safe caller to use
+     * @param eventDispatcher the dispatcher delivering the events to the subscribers
      */
-    ThreadedEventHandler(Map<String, Set<EventSubscriber>> typedEventSubscribers,
-            final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller) {
+    ThreadedEventHandler(final SubscriberIndex eventSubscribers,
+            final Map<String, EventFactory> typedEventFactories, final EventDispatcher eventDispatcher) {
         thread = new Thread(() -> {
-            final EventHandler worker = new EventHandler(typedEventSubscribers, typedEventFactories, safeCaller);
+            final EventHandler worker = new EventHandler(eventSubscribers, typedEventFactories, eventDispatcher);
             while (running.get()) {
                 try {
-                    final Event event = queue.poll(1, TimeUnit.HOURS);
+                    final Object event = queue.poll(1, TimeUnit.HOURS);
                     if (event == null) {
                         logger.debug("Hey, you have really very few events.");
                     } else if (event == notifyEvent) {
                         // received an internal notification
+                    } else if (event instanceof Event) {
+                        worker.handleEvent((Event) event);
                     } else {
-                        worker.handleEvent(event);
+                        worker.handleEvent((org.eclipse.smarthome.core.events.Event) event);
                     }
                 } catch (InterruptedException ex) {
                     Thread.currentThread().interrupt();
@@ -94,4 +95,8 @@ public class ThreadedEventHandler implements Closeable {
     void handleEvent(Event event) {
         queue.add(event);
     }
+
+    void handleEvent(org.eclipse.smarthome.core.events.Event event) {
+        queue.add(event);
+    }
 }
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.items;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * Indexes the items of the {@link ItemRegistryImpl} by name and type.
+ *
+ * The index is updated by the registry whenever an item is added, updated or removed. Tags are not indexed, as they
+ * can be changed on a registered item without updating it in the registry, so the items have to be checked for their
+ * tags when they are looked up.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ItemIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Item> items = new TreeMap<>();
+    private final Map<String, Map<String, Item>> types = new HashMap<>();
+
+    /**
+     * Adds an item to the index, replacing an item with the same name.
+     *
+     * @param item the item
+     */
+    void add(Item item) {
+        lock.writeLock().lock();
+        try {
+            Item previous = items.put(item.getName(), item);
+            if (previous != null) {
+                unindex(previous);
+            }
+            types.computeIfAbsent(item.getType(), type -> new LinkedHashMap<>()).put(item.getName(), item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the item with the name of the given item from the index.
+     *
+     * @param item the item
+     */
+    void remove(Item item) {
+        lock.writeLock().lock();
+        try {
+            Item previous = items.remove(item.getName());
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param type the item type
+     * @return the items of the type
+     */
+    List<Item> getItemsOfType(String type) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(types.getOrDefault(type, Collections.emptyMap()).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix the prefix
+     * @return the items whose names start with the prefix, ordered by their names
+     */
+    List<Item> getItemsByNamePrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            Collection<Item> matches = prefix.isEmpty() ? items.values()
+                    : items.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            return new ArrayList<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(Item item) {
+        Map<String, Item> itemsOfType = types.get(item.getType());
+        if (itemsOfType != null) {
+            itemsOfType.remove(item.getName());
+            if (itemsOfType.isEmpty()) {
+                types.remove(item.getType());
+            }
+        }
+    }
+}
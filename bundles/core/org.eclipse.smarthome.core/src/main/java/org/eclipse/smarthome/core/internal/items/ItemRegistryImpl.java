@@ -16,8 +16,14 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.Provider;
@@ -68,6 +74,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
     private UnitProvider unitProvider;
     private ItemStateConverter itemStateConverter;
 
+    private final ItemIndex itemIndex = new ItemIndex();
+
+    /** The groups containing each item, rebuilt on the next lookup after the registry or any group has changed. */
+    private volatile GroupNamesIndex groupNamesIndex;
+
     public ItemRegistryImpl() {
         super(ItemProvider.class);
     }
@@ -110,24 +121,28 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
 
     @Override
     public Collection<Item> getItemsOfType(String type) {
-        Collection<Item> matchedItems = new ArrayList<Item>();
+        return itemIndex.getItemsOfType(type);
+    }
 
-        for (Item item : getItems()) {
-            if (item.getType().equals(type)) {
-                matchedItems.add(item);
-            }
+    @Override
+    public Set<String> getAllGroupNames(String itemName) {
+        GroupNamesIndex index = groupNamesIndex;
+        if (index == null || index.membershipsVersion != GroupItem.getMembershipsVersion()) {
+            index = new GroupNamesIndex(getItems());
+            groupNamesIndex = index;
         }
-
-        return matchedItems;
+        Set<String> groupNames = index.groupNames.get(itemName);
+        return groupNames != null ? Collections.unmodifiableSet(groupNames) : Collections.emptySet();
     }
 
     @Override
     public Collection<Item> getItems(String pattern) {
         String regex = pattern.replace("?", ".?").replace("*", ".*?");
+        Pattern compiledPattern = Pattern.compile(regex);
         Collection<Item> matchedItems = new ArrayList<Item>();
 
-        for (Item item : getItems()) {
-            if (item.getName().matches(regex)) {
+        for (Item item : itemIndex.getItemsByNamePrefix(getLiteralPrefix(regex))) {
+            if (compiledPattern.matcher(item.getName()).matches()) {
                 matchedItems.add(item);
             }
         }
@@ -135,6 +150,26 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         return matchedItems;
     }
 
+    /**
+     * Returns the characters a regular expression requires at the beginning of each match, as far as they can be
+     * determined from the leading word characters.
+     */
+    static String getLiteralPrefix(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return "";
+        }
+        int end = 0;
+        while (end < regex.length()
+                && (Character.isLetterOrDigit(regex.charAt(end)) || regex.charAt(end) == '_')) {
+            end++;
+        }
+        if (end > 0 && end < regex.length() && "?*+{".indexOf(regex.charAt(end)) >= 0) {
+            // the last character is quantified, so it might not be required
+            end--;
+        }
+        return regex.substring(0, end);
+    }
+
     private void addToGroupItems(Item item, List<String> groupItemNames) {
         for (String groupName : groupItemNames) {
             if (groupName != null) {
@@ -223,6 +258,8 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
     @Override
     protected void onAddElement(Item element) throws IllegalArgumentException {
         initializeItem(element);
+        itemIndex.add(element);
+        groupNamesIndex = null;
     }
 
     @Override
@@ -231,6 +268,8 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             ((GenericItem) element).dispose();
         }
         removeFromGroupItems(element, element.getGroupNames());
+        itemIndex.remove(element);
+        groupNamesIndex = null;
     }
 
     @Override
@@ -254,6 +293,8 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             addMembersToGroupItem((GroupItem) item);
         }
         injectServices(item);
+        itemIndex.add(item);
+        groupNamesIndex = null;
     }
 
     @Override
@@ -469,4 +510,36 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         this.metadataRegistry = null;
     }
 
+    /**
+     * Maps the name of each item to the names of all groups which contain it either directly or through one of their
+     * contained groups.
+     */
+    private static class GroupNamesIndex {
+
+        final long membershipsVersion;
+        final Map<String, Set<String>> groupNames = new HashMap<>();
+
+        GroupNamesIndex(Collection<Item> items) {
+            // read the version before the members, so that a concurrent change invalidates the index
+            membershipsVersion = GroupItem.getMembershipsVersion();
+            for (Item item : items) {
+                if (item instanceof GroupItem) {
+                    addMembers((GroupItem) item, item.getName(), new HashSet<>());
+                }
+            }
+        }
+
+        private void addMembers(GroupItem group, String groupName, Set<GroupItem> visited) {
+            if (!visited.add(group)) {
+                return;
+            }
+            for (Item member : group.getMembers()) {
+                groupNames.computeIfAbsent(member.getName(), name -> new HashSet<>()).add(groupName);
+                if (member instanceof GroupItem) {
+                    addMembers((GroupItem) member, groupName, visited);
+                }
+            }
+        }
+    }
+
 }
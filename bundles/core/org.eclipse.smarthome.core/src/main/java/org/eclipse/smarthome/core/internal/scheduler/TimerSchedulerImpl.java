@@ -0,0 +1,375 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadFactoryBuilder;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.scheduler.ScheduledTimer;
+import org.eclipse.smarthome.core.scheduler.SchedulerRunnable;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
+import org.eclipse.smarthome.core.scheduler.TimerStatistics;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of the {@link TimerScheduler} based on a hashed timing wheel.
+ * <p>
+ * The wheel is an array of buckets, each holding a doubly linked list of the timers which are due in a tick of the
+ * wheel. A worker thread advances the wheel tick by tick and hands the due timers of a bucket over to a thread pool.
+ * Timers which are due more than one revolution of the wheel ahead stay in their bucket until their tick is reached.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = TimerScheduler.class)
+@NonNullByDefault
+public class TimerSchedulerImpl implements TimerScheduler {
+
+    private static final String THREAD_POOL_NAME = "timers";
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 1024;
+    private static final long MAXIMUM_DELAY_SECONDS = TimeUnit.DAYS.toSeconds(365 * 100);
+
+    private enum State {
+        PENDING,
+        RUNNING,
+        TERMINATED,
+        CANCELLED
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(TimerSchedulerImpl.class);
+
+    private final long tickMillis;
+    private final @Nullable WheelTimer[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final long startNanos = System.nanoTime();
+    private @Nullable Thread worker;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition timersPending = lock.newCondition();
+
+    // guarded by the lock
+    private long tick;
+    private int pending;
+    private long scheduled;
+    private long cancelled;
+    private boolean stopped;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maximumLag = new AtomicLong();
+
+    public TimerSchedulerImpl() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, ThreadPoolManager.getPool(THREAD_POOL_NAME));
+    }
+
+    /**
+     * Creates a timer scheduler.
+     *
+     * @param tickMillis the duration of a tick of the wheel in milliseconds
+     * @param wheelSize the number of ticks of a revolution of the wheel, rounded up to a power of two
+     * @param executor the executor to run the timers in
+     */
+    TimerSchedulerImpl(long tickMillis, int wheelSize, Executor executor) {
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new WheelTimer[size];
+        this.mask = size - 1;
+        this.executor = executor;
+    }
+
+    @Activate
+    protected void activate() {
+        Thread worker = ThreadFactoryBuilder.create().withName("timerscheduler").withDaemonThreads(true).build()
+                .newThread(this::advance);
+        this.worker = worker;
+        worker.start();
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        lock.lock();
+        try {
+            stopped = true;
+            timersPending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        worker = null;
+    }
+
+    @Override
+    public ScheduledTimer schedule(SchedulerRunnable runnable, Instant instant) {
+        WheelTimer timer = new WheelTimer(runnable);
+        timer.reschedule(instant);
+        return timer;
+    }
+
+    @Override
+    public TimerStatistics getStatistics() {
+        int pending;
+        long scheduled;
+        long cancelled;
+        lock.lock();
+        try {
+            pending = this.pending;
+            scheduled = this.scheduled;
+            cancelled = this.cancelled;
+        } finally {
+            lock.unlock();
+        }
+        long executed = this.executed.sum();
+        return new TimerStatistics(pending, scheduled, cancelled, executed,
+                executed == 0 ? 0 : totalLag.sum() / executed, maximumLag.get());
+    }
+
+    /**
+     * @return the milliseconds since this scheduler has been created, which are not affected by changes of the clock
+     */
+    private long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the nanoseconds until the instant, limited to a range that can't overflow when added to the nano time
+     */
+    private static long delayNanos(Instant instant) {
+        Duration delay = Duration.between(Instant.now(), instant);
+        if (delay.getSeconds() > MAXIMUM_DELAY_SECONDS) {
+            return TimeUnit.SECONDS.toNanos(MAXIMUM_DELAY_SECONDS);
+        }
+        return delay.isNegative() ? 0 : delay.toNanos();
+    }
+
+    /**
+     * Advances the wheel until the scheduler is stopped. This is the loop of the worker thread.
+     */
+    private void advance() {
+        List<Runnable> expired = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (pending == 0 && !stopped) {
+                    timersPending.await();
+                }
+                if (stopped) {
+                    return;
+                }
+                long wait = (tick + 1) * tickMillis - now();
+                if (wait > 0) {
+                    timersPending.await(wait, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                long currentTick = now() / tickMillis;
+                // a revolution of the wheel visits all buckets, so later ticks can't expire anything else
+                long lastTick = Math.min(currentTick, tick + wheel.length);
+                for (long t = tick + 1; t <= lastTick; t++) {
+                    expire((int) (t & mask), currentTick, expired);
+                }
+                tick = currentTick;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            for (Runnable run : expired) {
+                try {
+                    executor.execute(run);
+                } catch (RejectedExecutionException e) {
+                    run.run();
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    private void expire(int bucket, long currentTick, List<Runnable> expired) {
+        WheelTimer timer = wheel[bucket];
+        while (timer != null) {
+            WheelTimer next = timer.next;
+            if (timer.deadlineTick <= currentTick) {
+                unlink(timer);
+                timer.state = State.RUNNING;
+                WheelTimer expiredTimer = timer;
+                long generation = timer.generation;
+                expired.add(() -> expiredTimer.run(generation));
+            }
+            timer = next;
+        }
+    }
+
+    private void link(WheelTimer timer) {
+        int bucket = (int) (timer.deadlineTick & mask);
+        WheelTimer head = wheel[bucket];
+        timer.bucket = bucket;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        wheel[bucket] = timer;
+        if (++pending == 1) {
+            timersPending.signal();
+        }
+    }
+
+    private void unlink(WheelTimer timer) {
+        WheelTimer prev = timer.prev;
+        WheelTimer next = timer.next;
+        if (prev != null) {
+            prev.next = next;
+        } else {
+            wheel[timer.bucket] = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        pending--;
+    }
+
+    private class WheelTimer implements ScheduledTimer {
+
+        private final SchedulerRunnable runnable;
+
+        // guarded by the lock of the scheduler
+        private State state = State.TERMINATED;
+        private long deadlineTick;
+        private int bucket;
+        private @Nullable WheelTimer prev;
+        private @Nullable WheelTimer next;
+
+        // incremented on every reschedule, so an earlier run doesn't change the state of a rescheduled timer
+        private long generation;
+        private volatile long deadline;
+        private volatile Instant scheduledTime = Instant.EPOCH;
+
+        WheelTimer(SchedulerRunnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public Instant getScheduledTime() {
+            return scheduledTime;
+        }
+
+        @Override
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (state == State.PENDING) {
+                    unlink(this);
+                    state = State.CANCELLED;
+                    cancelled++;
+                }
+                return state == State.CANCELLED;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void reschedule(Instant instant) {
+            long delay = delayNanos(instant);
+            lock.lock();
+            try {
+                if (stopped) {
+                    throw new RejectedExecutionException("The timer scheduler has been stopped");
+                }
+                if (state == State.PENDING) {
+                    unlink(this);
+                }
+                scheduledTime = instant;
+                generation++;
+                // rounded up, so a timer never runs before its time
+                deadline = (System.nanoTime() - startNanos + delay + 999_999) / 1_000_000;
+                deadlineTick = Math.max(tick + 1, (deadline + tickMillis - 1) / tickMillis);
+                state = State.PENDING;
+                scheduled++;
+                link(this);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return getState() == State.CANCELLED;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return getState() == State.RUNNING;
+        }
+
+        @Override
+        public boolean hasTerminated() {
+            return getState() == State.TERMINATED;
+        }
+
+        private State getState() {
+            lock.lock();
+            try {
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void run(long generation) {
+            long lag = Math.max(0, now() - deadline);
+            executed.increment();
+            totalLag.add(lag);
+            maximumLag.accumulateAndGet(lag, Math::max);
+            try {
+                runnable.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("Scheduled timer failed", e);
+            } finally {
+                terminate(generation);
+            }
+        }
+
+        private void terminate(long generation) {
+            lock.lock();
+            try {
+                if (this.generation == generation && state == State.RUNNING) {
+                    state = State.TERMINATED;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.items;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Base class for {@link IncrementalGroupFunction.Aggregation}s.
+ *
+ * It remembers the value every member has contributed, so that an update only has to exclude the previous value and
+ * include the new one. Members whose state is not relevant for the function contribute no value.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <V> the type of the contributed values
+ */
+@NonNullByDefault
+public abstract class AbstractGroupAggregation<V> implements IncrementalGroupFunction.Aggregation {
+
+    private final Map<Item, @Nullable V> values = new HashMap<>();
+
+    @Override
+    public void add(Item member) {
+        if (!values.containsKey(member)) {
+            V value = getValue(member);
+            values.put(member, value);
+            if (value != null) {
+                include(value);
+            }
+        }
+    }
+
+    @Override
+    public boolean update(Item member) {
+        if (!values.containsKey(member)) {
+            return false;
+        }
+        V value = getValue(member);
+        V previous = values.put(member, value);
+        if (!Objects.equals(previous, value)) {
+            if (previous != null) {
+                exclude(previous);
+            }
+            if (value != null) {
+                include(value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the number of members
+     */
+    protected int getMemberCount() {
+        return values.size();
+    }
+
+    /**
+     * Determines the value a member contributes.
+     *
+     * @param member the member
+     * @return the value or null, if the member does not contribute
+     */
+    protected abstract @Nullable V getValue(Item member);
+
+    /**
+     * Includes a value into the result.
+     *
+     * @param value the value
+     */
+    protected abstract void include(V value);
+
+    /**
+     * Excludes a previously included value from the result.
+     *
+     * @param value the value
+     */
+    protected abstract void exclude(V value);
+
+}
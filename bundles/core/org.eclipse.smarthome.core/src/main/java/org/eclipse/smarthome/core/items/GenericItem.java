@@ -12,6 +12,7 @@
  */
 package org.eclipse.smarthome.core.items;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -19,10 +20,12 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -57,11 +60,18 @@ public abstract class GenericItem implements ActiveItem {
 
     private static final String ITEM_THREADPOOLNAME = "items";
 
+    /** The maximum number of updates delivered by one task before the thread is released to other items. */
+    private static final int MAX_NOTIFICATIONS_PER_TASK = 64;
+
     protected @Nullable EventPublisher eventPublisher;
 
     protected Set<StateChangeListener> listeners = new CopyOnWriteArraySet<StateChangeListener>(
             Collections.newSetFromMap(new WeakHashMap<StateChangeListener, Boolean>()));
 
+    /** The updates the listeners have not been notified about yet, guarded by itself. */
+    private final Queue<StateUpdate> pendingUpdates = new ArrayDeque<>(2);
+    private boolean notifying;
+
     protected List<String> groupNames = new ArrayList<String>();
 
     protected Set<String> tags = new HashSet<String>();
@@ -236,26 +246,77 @@ public abstract class GenericItem implements ActiveItem {
         internalSend(command);
     }
 
+    /**
+     * Notifies the listeners about a state update.
+     *
+     * All listeners are notified by a single task of the item thread pool, one update after another. So the listeners
+     * receive the updates of this item in the order they happened, and each listener is notified about an update only
+     * after the listeners before it have returned. Listeners must therefore not block, as they delay the notification
+     * of the other listeners of this item.
+     *
+     * @param oldState the previous state
+     * @param newState the new state
+     */
     protected void notifyListeners(final State oldState, final State newState) {
-        // if nothing has changed, we send update notifications
-        Set<StateChangeListener> clonedListeners = null;
-        clonedListeners = new CopyOnWriteArraySet<StateChangeListener>(listeners);
-        ExecutorService pool = ThreadPoolManager.getPool(ITEM_THREADPOOLNAME);
-        for (final StateChangeListener listener : clonedListeners) {
-            pool.execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        listener.stateUpdated(GenericItem.this, newState);
-                        if (newState != null && !newState.equals(oldState)) {
-                            listener.stateChanged(GenericItem.this, oldState, newState);
-                        }
-                    } catch (Exception e) {
-                        logger.warn("failed notifying listener '{}' about state update of item {}: {}", listener,
-                                GenericItem.this.getName(), e.getMessage(), e);
-                    }
+        if (listeners.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (pendingUpdates) {
+            pendingUpdates.add(new StateUpdate(oldState, newState));
+            schedule = !notifying;
+            notifying = true;
+        }
+        if (schedule) {
+            scheduleDelivery();
+        }
+    }
+
+    private void scheduleDelivery() {
+        try {
+            getNotificationPool().execute(this::deliverUpdates);
+        } catch (RejectedExecutionException e) {
+            // without a task nobody delivers the pending updates, so drop them and let the next update schedule again
+            synchronized (pendingUpdates) {
+                pendingUpdates.clear();
+                notifying = false;
+            }
+            logger.warn("failed notifying listeners about state updates of item {}: {}", getName(), e.getMessage());
+        }
+    }
+
+    ExecutorService getNotificationPool() {
+        return ThreadPoolManager.getPool(ITEM_THREADPOOLNAME);
+    }
+
+    private void deliverUpdates() {
+        for (int i = 0; i < MAX_NOTIFICATIONS_PER_TASK; i++) {
+            StateUpdate update;
+            synchronized (pendingUpdates) {
+                update = pendingUpdates.poll();
+                if (update == null) {
+                    notifying = false;
+                    return;
                 }
-            });
+            }
+            // the set is copied on write, so iterating it does not need a copy
+            for (StateChangeListener listener : listeners) {
+                notifyListener(listener, update.oldState, update.newState);
+            }
+        }
+        // there are more updates, but let the other items use the thread first
+        scheduleDelivery();
+    }
+
+    private void notifyListener(StateChangeListener listener, State oldState, State newState) {
+        try {
+            listener.stateUpdated(this, newState);
+            if (newState != null && !newState.equals(oldState)) {
+                listener.stateChanged(this, oldState, newState);
+            }
+        } catch (Exception e) {
+            logger.warn("failed notifying listener '{}' about state update of item {}: {}", listener, getName(),
+                    e.getMessage(), e);
         }
     }
 
@@ -418,4 +479,14 @@ public abstract class GenericItem implements ActiveItem {
                 state.getClass().getSimpleName(), getName(), getClass().getSimpleName());
     }
 
+    private static class StateUpdate {
+        final State oldState;
+        final State newState;
+
+        StateUpdate(State oldState, State newState) {
+            this.oldState = oldState;
+            this.newState = newState;
+        }
+    }
+
 }
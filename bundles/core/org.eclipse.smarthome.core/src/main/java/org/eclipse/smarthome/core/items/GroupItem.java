@@ -16,16 +16,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.i18n.UnitProvider;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction.Aggregation;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
@@ -49,6 +53,19 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 
     protected @Nullable GroupFunction function;
 
+    private final Object aggregationLock = new Object();
+
+    /** The running result of an {@link IncrementalGroupFunction}, discarded whenever the members change. */
+    private @Nullable Aggregation aggregation;
+
+    /** Incremented after the direct members of this group have changed, so that cached members can be validated. */
+    private final AtomicLong membersVersion = new AtomicLong();
+
+    /** Incremented after the direct members of any group have changed, so that indexes over all groups are rebuilt. */
+    private static final AtomicLong MEMBERSHIPS_VERSION = new AtomicLong();
+
+    private volatile @Nullable MemberCache memberCache;
+
     /**
      * Creates a plain GroupItem
      *
@@ -92,6 +109,9 @@ public class GroupItem extends GenericItem implements StateChangeListener {
             unregisterStateListener(member);
         }
         members.clear();
+        invalidateAggregation();
+        membersVersion.incrementAndGet();
+        MEMBERSHIPS_VERSION.incrementAndGet();
     }
 
     /**
@@ -132,17 +152,21 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      * @return all members of this and all contained {@link GroupItem}s
      */
     public Set<Item> getAllMembers() {
-        return Collections.unmodifiableSet(new LinkedHashSet<>(getMembers((Item i) -> !(i instanceof GroupItem))));
+        return getMemberCache().allMembers;
     }
 
-    private void collectMembers(Collection<Item> allMembers, Collection<Item> members) {
+    private void collectMembers(Collection<Item> allMembers, Collection<Item> members,
+            Map<GroupItem, Long> groupVersions) {
         for (Item member : members) {
             if (allMembers.contains(member)) {
                 continue;
             }
             allMembers.add(member);
             if (member instanceof GroupItem) {
-                collectMembers(allMembers, ((GroupItem) member).members);
+                GroupItem group = (GroupItem) member;
+                // read the version before the members, so that a concurrent change invalidates the result
+                groupVersions.putIfAbsent(group, group.membersVersion.get());
+                collectMembers(allMembers, group.members, groupVersions);
             }
         }
     }
@@ -154,9 +178,41 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      * @return Set of member items filtered by filterItem
      */
     public Set<Item> getMembers(Predicate<Item> filterItem) {
-        Set<Item> allMembers = new LinkedHashSet<Item>();
-        collectMembers(allMembers, members);
-        return allMembers.stream().filter(filterItem).collect(Collectors.toSet());
+        return getMemberCache().transitiveMembers.stream().filter(filterItem).collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks whether an item is a direct member of this group or recursively a member of one of the contained
+     * {@link GroupItem}s. Unlike {@link #getAllMembers()}, contained {@link GroupItem}s are members as well.
+     *
+     * @param itemName the name of the item
+     * @return true if the item is a member of this or of a contained {@link GroupItem}
+     */
+    public boolean hasMember(String itemName) {
+        return getMemberCache().transitiveMemberNames.contains(itemName);
+    }
+
+    /**
+     * Returns a version which changes whenever the members of any group item change. It allows indexes over the
+     * memberships of all groups to find out whether they are still valid.
+     *
+     * @return the current version of all group memberships
+     */
+    public static long getMembershipsVersion() {
+        return MEMBERSHIPS_VERSION.get();
+    }
+
+    private MemberCache getMemberCache() {
+        MemberCache cache = memberCache;
+        if (cache == null || !cache.isValid()) {
+            Map<GroupItem, Long> groupVersions = new IdentityHashMap<>();
+            groupVersions.put(this, membersVersion.get());
+            Set<Item> transitiveMembers = new LinkedHashSet<Item>();
+            collectMembers(transitiveMembers, members, groupVersions);
+            cache = new MemberCache(groupVersions, transitiveMembers);
+            memberCache = cache;
+        }
+        return cache;
     }
 
     /**
@@ -177,6 +233,11 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         if (added && item instanceof GenericItem) {
             ((GenericItem) item).addGroupName(this.getName());
         }
+        if (added) {
+            invalidateAggregation();
+            membersVersion.incrementAndGet();
+            MEMBERSHIPS_VERSION.incrementAndGet();
+        }
         registerStateListener(item);
     }
 
@@ -202,6 +263,9 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         if (index > -1) {
             Item old = members.set(index, newItem);
             unregisterStateListener(old);
+            invalidateAggregation();
+            membersVersion.incrementAndGet();
+            MEMBERSHIPS_VERSION.incrementAndGet();
         }
         registerStateListener(newItem);
     }
@@ -216,7 +280,11 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         if (item == null) {
             throw new IllegalArgumentException("Item must not be null!");
         }
-        members.remove(item);
+        if (members.remove(item)) {
+            invalidateAggregation();
+            membersVersion.incrementAndGet();
+            MEMBERSHIPS_VERSION.incrementAndGet();
+        }
         unregisterStateListener(item);
     }
 
@@ -368,13 +436,58 @@ public class GroupItem extends GenericItem implements StateChangeListener {
     @Override
     public void stateUpdated(Item item, State state) {
         State oldState = this.state;
+        State newState = oldState;
         if (function != null && baseItem != null) {
-            State calculatedState = function.calculate(getStateMembers(getMembers()));
-            calculatedState = itemStateConverter.convertToAcceptedState(calculatedState, baseItem);
-            setState(calculatedState);
+            synchronized (aggregationLock) {
+                oldState = this.state;
+                State calculatedState = calculateState(function, item);
+                calculatedState = itemStateConverter.convertToAcceptedState(calculatedState, baseItem);
+                setState(calculatedState);
+                newState = this.state;
+            }
+        }
+        if (!oldState.equals(newState)) {
+            sendGroupStateChangedEvent(item.getName(), newState, oldState);
+        }
+    }
+
+    /**
+     * Calculates the group state after a member has been updated. For an {@link IncrementalGroupFunction} only the
+     * contribution of the updated member is replaced, otherwise the states of all members are collected.
+     */
+    private State calculateState(GroupFunction function, Item updatedMember) {
+        Aggregation aggregation = this.aggregation;
+        if (aggregation != null) {
+            aggregation.update(updatedMember);
+            return aggregation.getState();
+        }
+        if (function instanceof IncrementalGroupFunction && hasOnlyDirectStateMembers()) {
+            aggregation = ((IncrementalGroupFunction) function).createAggregation();
+            for (Item member : getStateMembers(getMembers())) {
+                aggregation.add(member);
+            }
+            this.aggregation = aggregation;
+            return aggregation.getState();
         }
-        if (!oldState.equals(this.state)) {
-            sendGroupStateChangedEvent(item.getName(), this.state, oldState);
+        return function.calculate(getStateMembers(getMembers()));
+    }
+
+    /**
+     * The members of a group without state are not observed by this group, so their states can only be collected on
+     * every update and not be aggregated incrementally.
+     */
+    private boolean hasOnlyDirectStateMembers() {
+        for (Item member : members) {
+            if (isGroupItem(member) && !hasOwnState((GroupItem) member)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void invalidateAggregation() {
+        synchronized (aggregationLock) {
+            aggregation = null;
         }
     }
 
@@ -427,4 +540,47 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         return item.getFunction() != null && item.getBaseItem() != null;
     }
 
+    /**
+     * The transitive members of a group. They are valid as long as the direct members of the group and of all
+     * contained groups are unchanged, so a change only invalidates the groups which (transitively) contain it.
+     */
+    private static class MemberCache {
+        private final GroupItem[] groups;
+        private final long[] versions;
+        final Set<Item> transitiveMembers;
+        final Set<String> transitiveMemberNames;
+        final Set<Item> allMembers;
+
+        MemberCache(Map<GroupItem, Long> groupVersions, Set<Item> transitiveMembers) {
+            groups = new GroupItem[groupVersions.size()];
+            versions = new long[groupVersions.size()];
+            int i = 0;
+            for (Map.Entry<GroupItem, Long> entry : groupVersions.entrySet()) {
+                groups[i] = entry.getKey();
+                versions[i] = entry.getValue();
+                i++;
+            }
+            this.transitiveMembers = transitiveMembers;
+            Set<String> transitiveMemberNames = new HashSet<>();
+            Set<Item> allMembers = new LinkedHashSet<>();
+            for (Item member : transitiveMembers) {
+                transitiveMemberNames.add(member.getName());
+                if (!(member instanceof GroupItem)) {
+                    allMembers.add(member);
+                }
+            }
+            this.transitiveMemberNames = transitiveMemberNames;
+            this.allMembers = Collections.unmodifiableSet(allMembers);
+        }
+
+        boolean isValid() {
+            for (int i = 0; i < groups.length; i++) {
+                if (groups[i].membersVersion.get() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.items;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * A {@link GroupFunction} whose result can be maintained incrementally.
+ *
+ * Instead of calculating the group state out of the states of all members whenever a single member is updated, a
+ * {@link GroupItem} keeps an {@link Aggregation} which only replaces the contribution of the updated member.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface IncrementalGroupFunction extends GroupFunction {
+
+    /**
+     * Creates an empty aggregation for this function.
+     *
+     * @return a new aggregation
+     */
+    Aggregation createAggregation();
+
+    /**
+     * The running result of an {@link IncrementalGroupFunction}.
+     *
+     * The state of an aggregation must always be equal to the result of {@link GroupFunction#calculate(java.util.Set)}
+     * for its members. Aggregations are not thread-safe, the caller has to synchronize the access.
+     */
+    interface Aggregation {
+
+        /**
+         * Adds a member with its current state. Adding a member twice has no effect.
+         *
+         * @param member the member
+         */
+        void add(Item member);
+
+        /**
+         * Replaces the contribution of a member by its current state.
+         *
+         * @param member the member
+         * @return false if the item is not a member of this aggregation
+         */
+        boolean update(Item member);
+
+        /**
+         * Returns the group state of all members.
+         *
+         * @return the group state
+         */
+        State getState();
+    }
+
+}
@@ -14,6 +14,8 @@ package org.eclipse.smarthome.core.items;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -111,6 +113,36 @@ public interface ItemRegistry extends Registry<Item, String> {
      */
     public @NonNull <T extends Item> Collection<T> getItemsByTag(@NonNull Class<T> typeFilter, @NonNull String... tags);
 
+    /**
+     * Returns all members of a group and recursively all members of its contained groups, just like
+     * {@link GroupItem#getAllMembers()}. The memberships of each group are cached until its members change.
+     *
+     * @param groupName the name of the group
+     * @return the members (without groups), or an empty set if there is no such group
+     */
+    public default @NonNull Set<Item> getAllMembers(@NonNull String groupName) {
+        Item item = get(groupName);
+        return item instanceof GroupItem ? ((GroupItem) item).getAllMembers() : Collections.emptySet();
+    }
+
+    /**
+     * Returns the names of all groups which contain an item either directly or through one of their contained
+     * groups. This default implementation checks every group of the registry, implementations should index the
+     * memberships instead.
+     *
+     * @param itemName the name of the item
+     * @return the names of the groups
+     */
+    public default @NonNull Set<String> getAllGroupNames(@NonNull String itemName) {
+        Set<String> groupNames = new HashSet<>();
+        for (Item item : getItems()) {
+            if (item instanceof GroupItem && ((GroupItem) item).hasMember(itemName)) {
+                groupNames.add(item.getName());
+            }
+        }
+        return groupNames;
+    }
+
     /**
      * @see ManagedItemProvider#remove(String, boolean)
      */
@@ -222,9 +222,9 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemCommandEvent createCommandEvent(String itemName, Command command, String source) {
         assertValidArguments(itemName, command, "command");
         String topic = buildTopic(ITEM_COMAND_EVENT_TOPIC, itemName);
-        ItemEventPayloadBean bean = new ItemEventPayloadBean(getCommandType(command), command.toString());
-        String payload = serializePayload(bean);
-        return new ItemCommandEvent(topic, payload, itemName, command, source);
+        return new ItemCommandEvent(topic,
+                () -> serializePayload(new ItemEventPayloadBean(getCommandType(command), command.toString())),
+                itemName, command, source);
     }
 
     /**
@@ -251,9 +251,9 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemStateEvent createStateEvent(String itemName, State state, String source) {
         assertValidArguments(itemName, state, "state");
         String topic = buildTopic(ITEM_STATE_EVENT_TOPIC, itemName);
-        ItemEventPayloadBean bean = new ItemEventPayloadBean(getStateType(state), state.toFullString());
-        String payload = serializePayload(bean);
-        return new ItemStateEvent(topic, payload, itemName, state, source);
+        return new ItemStateEvent(topic,
+                () -> serializePayload(new ItemEventPayloadBean(getStateType(state), state.toFullString())), itemName,
+                state, source);
     }
 
     /**
@@ -299,20 +299,21 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemStateChangedEvent createStateChangedEvent(String itemName, State newState, State oldState) {
         assertValidArguments(itemName, newState, "state");
         String topic = buildTopic(ITEM_STATE_CHANGED_EVENT_TOPIC, itemName);
-        ItemStateChangedEventPayloadBean bean = new ItemStateChangedEventPayloadBean(getStateType(newState),
-                newState.toFullString(), getStateType(oldState), oldState.toFullString());
-        String payload = serializePayload(bean);
-        return new ItemStateChangedEvent(topic, payload, itemName, newState, oldState);
+        return new ItemStateChangedEvent(topic, () -> serializeStateChangedPayload(newState, oldState), itemName,
+                newState, oldState);
     }
 
     public static GroupItemStateChangedEvent createGroupStateChangedEvent(String itemName, String memberName,
             State newState, State oldState) {
         assertValidArguments(itemName, memberName, newState, "state");
         String topic = buildGroupTopic(GROUPITEM_STATE_CHANGED_EVENT_TOPIC, itemName, memberName);
-        ItemStateChangedEventPayloadBean bean = new ItemStateChangedEventPayloadBean(getStateType(newState),
-                newState.toFullString(), getStateType(oldState), oldState.toFullString());
-        String payload = serializePayload(bean);
-        return new GroupItemStateChangedEvent(topic, payload, itemName, memberName, newState, oldState);
+        return new GroupItemStateChangedEvent(topic, () -> serializeStateChangedPayload(newState, oldState),
+                itemName, memberName, newState, oldState);
+    }
+
+    private static String serializeStateChangedPayload(State newState, State oldState) {
+        return serializePayload(new ItemStateChangedEventPayloadBean(getStateType(newState), newState.toFullString(),
+                getStateType(oldState), oldState.toFullString()));
     }
 
     /**
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.AbstractGroupAggregation;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.UnDefType;
+
+/**
+ * The aggregations of the {@link ArithmeticGroupFunction}s.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class ArithmeticGroupAggregations {
+
+    private ArithmeticGroupAggregations() {
+        // container class
+    }
+
+    /**
+     * Counts the members which are in the active state.
+     */
+    abstract static class ActiveStateAggregation extends AbstractGroupAggregation<Boolean> {
+
+        private final State activeState;
+        private int activeCount;
+
+        ActiveStateAggregation(State activeState) {
+            this.activeState = activeState;
+        }
+
+        @Override
+        protected Boolean getValue(Item member) {
+            return activeState.equals(member.getStateAs(activeState.getClass()));
+        }
+
+        @Override
+        protected void include(Boolean active) {
+            if (active) {
+                activeCount++;
+            }
+        }
+
+        @Override
+        protected void exclude(Boolean active) {
+            if (active) {
+                activeCount--;
+            }
+        }
+
+        protected int getActiveCount() {
+            return activeCount;
+        }
+    }
+
+    /**
+     * Maintains the exact sum of the decimal member states.
+     *
+     * The scale of the sum is the largest scale of the current values, just like the scale of a sum calculated from
+     * scratch, and not the largest scale of all values ever included.
+     */
+    static class SumAggregation extends AbstractGroupAggregation<BigDecimal> {
+
+        private BigDecimal sum = BigDecimal.ZERO;
+        private int count;
+        private final TreeMap<Integer, Integer> scales = new TreeMap<>();
+
+        @Override
+        protected @Nullable BigDecimal getValue(Item member) {
+            DecimalType state = member.getStateAs(DecimalType.class);
+            return state == null ? null : state.toBigDecimal();
+        }
+
+        @Override
+        protected void include(BigDecimal value) {
+            sum = sum.add(value);
+            count++;
+            scales.merge(value.scale(), 1, Integer::sum);
+        }
+
+        @Override
+        protected void exclude(BigDecimal value) {
+            sum = sum.subtract(value);
+            count--;
+            scales.computeIfPresent(value.scale(), (scale, n) -> n == 1 ? null : n - 1);
+        }
+
+        protected int getCount() {
+            return count;
+        }
+
+        protected BigDecimal getSum() {
+            int scale = scales.isEmpty() ? 0 : Math.max(0, scales.lastKey());
+            // the digits beyond the largest current scale are zero, so this never rounds
+            return sum.setScale(scale, RoundingMode.UNNECESSARY);
+        }
+
+        @Override
+        public State getState() {
+            return new DecimalType(getSum());
+        }
+    }
+
+    /**
+     * Maintains the average of the decimal member states.
+     */
+    static class AvgAggregation extends SumAggregation {
+
+        @Override
+        public State getState() {
+            int count = getCount();
+            if (count > 0) {
+                return new DecimalType(getSum().divide(BigDecimal.valueOf(count), RoundingMode.HALF_UP));
+            } else {
+                return UnDefType.UNDEF;
+            }
+        }
+    }
+
+    /**
+     * Maintains the minimum or maximum of the decimal member states in a counted tree of the values.
+     */
+    static class ExtremumAggregation extends AbstractGroupAggregation<BigDecimal> {
+
+        private final TreeMap<BigDecimal, Integer> values = new TreeMap<>();
+        private final boolean maximum;
+
+        ExtremumAggregation(boolean maximum) {
+            this.maximum = maximum;
+        }
+
+        @Override
+        protected @Nullable BigDecimal getValue(Item member) {
+            DecimalType state = member.getStateAs(DecimalType.class);
+            return state == null ? null : state.toBigDecimal();
+        }
+
+        @Override
+        protected void include(BigDecimal value) {
+            values.merge(value, 1, Integer::sum);
+        }
+
+        @Override
+        protected void exclude(BigDecimal value) {
+            values.computeIfPresent(value, (v, n) -> n == 1 ? null : n - 1);
+        }
+
+        @Override
+        public State getState() {
+            if (values.isEmpty()) {
+                return UnDefType.UNDEF;
+            }
+            return new DecimalType(maximum ? values.lastKey() : values.firstKey());
+        }
+    }
+
+    /**
+     * Counts the members whose state matches a pattern.
+     */
+    static class CountAggregation extends AbstractGroupAggregation<Boolean> {
+
+        private final Pattern pattern;
+        private int count;
+
+        CountAggregation(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        protected @Nullable Boolean getValue(Item member) {
+            return pattern.matcher(member.getState().toString()).matches() ? Boolean.TRUE : null;
+        }
+
+        @Override
+        protected void include(Boolean value) {
+            count++;
+        }
+
+        @Override
+        protected void exclude(Boolean value) {
+            count--;
+        }
+
+        @Override
+        public State getState() {
+            return new DecimalType(count);
+        }
+    }
+
+}
@@ -19,7 +19,13 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupAggregations.ActiveStateAggregation;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupAggregations.AvgAggregation;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupAggregations.CountAggregation;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupAggregations.ExtremumAggregation;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupAggregations.SumAggregation;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 
@@ -41,7 +47,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Through the getStateAs() method, it can be determined, how many
      * items actually are not in the 'activeState'.
      */
-    static class And implements GroupFunction {
+    static class And implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -100,6 +106,16 @@ public interface ArithmeticGroupFunction extends GroupFunction {
 
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ActiveStateAggregation(activeState) {
+                @Override
+                public State getState() {
+                    return getMemberCount() > 0 && getActiveCount() == getMemberCount() ? activeState : passiveState;
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { activeState, passiveState };
@@ -113,7 +129,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Through the getStateAs() method, it can be determined, how many
      * items actually are in the 'activeState'.
      */
-    static class Or implements GroupFunction {
+    static class Or implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -164,6 +180,16 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return count;
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ActiveStateAggregation(activeState) {
+                @Override
+                public State getState() {
+                    return getActiveCount() > 0 ? activeState : passiveState;
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { activeState, passiveState };
@@ -189,6 +215,16 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ActiveStateAggregation(activeState) {
+                @Override
+                public State getState() {
+                    return getMemberCount() == 0 || getActiveCount() < getMemberCount() ? activeState : passiveState;
+                }
+            };
+        }
+
     }
 
     /**
@@ -210,12 +246,22 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ActiveStateAggregation(activeState) {
+                @Override
+                public State getState() {
+                    return getActiveCount() == 0 ? activeState : passiveState;
+                }
+            };
+        }
+
     }
 
     /**
      * This calculates the numeric average over all item states of decimal type.
      */
-    static class Avg implements GroupFunction {
+    static class Avg implements IncrementalGroupFunction {
 
         public Avg() {
         }
@@ -250,6 +296,11 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new AvgAggregation();
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -259,7 +310,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the numeric sum over all item states of decimal type.
      */
-    static class Sum implements GroupFunction {
+    static class Sum implements IncrementalGroupFunction {
 
         public Sum() {
         }
@@ -288,6 +339,11 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new SumAggregation();
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -297,7 +353,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the minimum value of all item states of decimal type.
      */
-    static class Min implements GroupFunction {
+    static class Min implements IncrementalGroupFunction {
 
         public Min() {
         }
@@ -331,6 +387,11 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ExtremumAggregation(false);
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -340,7 +401,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the maximum value of all item states of decimal type.
      */
-    static class Max implements GroupFunction {
+    static class Max implements IncrementalGroupFunction {
 
         public Max() {
         }
@@ -374,6 +435,11 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new ExtremumAggregation(true);
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -387,7 +453,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Group:Number:COUNT("[5-9]") will count all items having a string state between 5 and 9
      * ...
      */
-    static class Count implements GroupFunction {
+    static class Count implements IncrementalGroupFunction {
 
         protected final Pattern pattern;
 
@@ -423,6 +489,11 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public Aggregation createAggregation() {
+            return new CountAggregation(pattern);
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { new StringType(pattern.pattern()) };
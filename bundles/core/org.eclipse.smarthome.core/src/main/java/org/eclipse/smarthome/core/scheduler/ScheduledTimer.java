@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A one-shot timer scheduled by a {@link TimerScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ScheduledTimer {
+
+    /**
+     * @return the time the timer is scheduled for
+     */
+    Instant getScheduledTime();
+
+    /**
+     * Cancels the timer if it has not run yet.
+     *
+     * @return true if the timer is cancelled, false if it is already running or has terminated
+     */
+    boolean cancel();
+
+    /**
+     * Schedules the timer for a new time. This is also possible after the timer has been cancelled or has terminated,
+     * which runs the runnable again.
+     *
+     * @param instant the new time to run the runnable at
+     * @throws RejectedExecutionException if the scheduler of the timer has been stopped
+     */
+    void reschedule(Instant instant);
+
+    /**
+     * @return true if the timer has been cancelled and not rescheduled since
+     */
+    boolean isCancelled();
+
+    /**
+     * @return true if the runnable of the timer is currently running
+     */
+    boolean isRunning();
+
+    /**
+     * @return true if the runnable of the timer has run and the timer has not been rescheduled since
+     */
+    boolean hasTerminated();
+}
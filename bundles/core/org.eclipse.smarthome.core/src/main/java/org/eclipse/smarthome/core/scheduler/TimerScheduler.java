@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Scheduler for large numbers of one-shot timers, which are frequently cancelled or rescheduled.
+ * <p>
+ * Scheduling, cancelling and rescheduling a timer take constant time, as the timers are kept in a hashed timing wheel.
+ * In exchange, timers are only run at the resolution of the wheel, which is a few milliseconds.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface TimerScheduler {
+
+    /**
+     * Schedules a runnable to be run once at the given time. A time in the past runs the runnable as soon as possible.
+     *
+     * @param runnable the runnable to run
+     * @param instant the time to run the runnable at
+     * @return the timer, which can be used to cancel or reschedule the run
+     * @throws RejectedExecutionException if the scheduler has been stopped
+     */
+    ScheduledTimer schedule(SchedulerRunnable runnable, Instant instant);
+
+    /**
+     * @return the current statistics of the timers of this scheduler
+     */
+    TimerStatistics getStatistics();
+}
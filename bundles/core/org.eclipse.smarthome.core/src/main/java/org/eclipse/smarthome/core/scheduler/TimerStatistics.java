@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the timers of a {@link TimerScheduler}.
+ * <p>
+ * The lag of a timer is the time between the time it has been scheduled for and the time its runnable is started.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class TimerStatistics {
+
+    private final int pending;
+    private final long scheduled;
+    private final long cancelled;
+    private final long executed;
+    private final long averageLag;
+    private final long maximumLag;
+
+    public TimerStatistics(int pending, long scheduled, long cancelled, long executed, long averageLag,
+            long maximumLag) {
+        this.pending = pending;
+        this.scheduled = scheduled;
+        this.cancelled = cancelled;
+        this.executed = executed;
+        this.averageLag = averageLag;
+        this.maximumLag = maximumLag;
+    }
+
+    /**
+     * @return the number of timers waiting to be run
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return the number of times timers have been scheduled or rescheduled
+     */
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * @return the number of timers which have been cancelled
+     */
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the number of timers which have been run
+     */
+    public long getExecuted() {
+        return executed;
+    }
+
+    /**
+     * @return the average lag of the timers which have been run in milliseconds
+     */
+    public long getAverageLag() {
+        return averageLag;
+    }
+
+    /**
+     * @return the maximum lag of the timers which have been run in milliseconds
+     */
+    public long getMaximumLag() {
+        return maximumLag;
+    }
+
+    @Override
+    public String toString() {
+        return "TimerStatistics [pending=" + pending + ", scheduled=" + scheduled + ", cancelled=" + cancelled
+                + ", executed=" + executed + ", averageLag=" + averageLag + ", maximumLag=" + maximumLag + "]";
+    }
+}
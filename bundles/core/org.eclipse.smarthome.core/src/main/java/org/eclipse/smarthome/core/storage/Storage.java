@@ -40,6 +40,17 @@ public interface Storage<T> {
     @Nullable
     T put(String key, @Nullable T value);
 
+    /**
+     * Puts a key-value mapping into this Storage without returning the previous value, which spares implementations
+     * from restoring a value nobody asked for.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     */
+    default void set(String key, @Nullable T value) {
+        put(key, value);
+    }
+
     /**
      * Removes the specified mapping from this map.
      *
@@ -80,6 +91,18 @@ public interface Storage<T> {
      */
     Collection<@Nullable T> getValues();
 
+    /**
+     * Allows this Storage to keep the stored instances and to hand them out on reads instead of restoring a new copy
+     * each time. Values are then only serialized when the Storage is written.
+     * <p>
+     * Callers enabling this must not modify a value they have read without putting it again. Implementations which do
+     * not support caching ignore this flag.
+     *
+     * @param valueCaching true to keep the stored instances, false to restore them on each read
+     */
+    default void setValueCaching(boolean valueCaching) {
+    }
+
     /**
      * Get all storage entries.
      *
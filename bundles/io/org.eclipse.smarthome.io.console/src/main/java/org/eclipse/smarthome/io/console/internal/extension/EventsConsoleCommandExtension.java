@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.console.internal.extension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.events.EventDispatchMonitor;
+import org.eclipse.smarthome.core.events.EventSubscriberQueueInfo;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console command extension to show the event queues of the event subscribers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class EventsConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_QUEUES = "queues";
+
+    private @NonNullByDefault({}) EventDispatchMonitor eventDispatchMonitor;
+
+    public EventsConsoleCommandExtension() {
+        super("events", "Show information about the event bus.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage(SUBCMD_QUEUES,
+                "lists the event queues of all subscribers, the most lagging first"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_QUEUES.equals(args[0])) {
+            List<EventSubscriberQueueInfo> queues = new ArrayList<>(eventDispatchMonitor.getSubscriberQueues());
+            queues.sort(Comparator.comparingLong(EventSubscriberQueueInfo::getLag).reversed()
+                    .thenComparing(Comparator.comparingInt(EventSubscriberQueueInfo::getQueueSize).reversed()));
+            for (EventSubscriberQueueInfo queue : queues) {
+                console.println(queue.toString());
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Reference
+    protected void setEventDispatchMonitor(EventDispatchMonitor eventDispatchMonitor) {
+        this.eventDispatchMonitor = eventDispatchMonitor;
+    }
+
+    protected void unsetEventDispatchMonitor(EventDispatchMonitor eventDispatchMonitor) {
+        this.eventDispatchMonitor = null;
+    }
+
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertThat;
 import java.util.List;
 
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
+import org.eclipse.smarthome.io.rest.sse.internal.util.TopicFilter;
 import org.eclipse.smarthome.test.java.JavaOSGiTest;
 import org.junit.Test;
 
@@ -112,4 +113,16 @@ public class SseResourceOSGiTest extends JavaOSGiTest {
         assertThat("smarthome/items/anyitem/added".matches(regexes.get(0)), is(true));
         assertThat("smarthome/items/anyitem/removed".matches(regexes.get(0)), is(false));
     }
+
+    @Test
+    public void testTopicFilter() {
+        TopicFilter topicFilter = new TopicFilter("smarthome/items/*/added, smarthome/things");
+
+        assertThat(topicFilter.matches("smarthome/items/anyitem/added"), is(true));
+        assertThat(topicFilter.matches("smarthome/items/anyitem/removed"), is(false));
+        assertThat(topicFilter.matches("smarthome/things/anything/updated"), is(true));
+        assertThat(topicFilter.matches("smarthome/inbox/anything/added"), is(false));
+
+        assertThat(new TopicFilter("").matches("smarthome/inbox/anything/added"), is(true));
+    }
 }
@@ -15,6 +15,9 @@ package org.eclipse.smarthome.io.rest.sse;
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Singleton;
@@ -31,13 +34,14 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.auth.Role;
+import org.eclipse.smarthome.core.common.ThreadFactoryBuilder;
 import org.eclipse.smarthome.core.events.Event;
-import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput;
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventBroadcaster;
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -63,10 +67,18 @@ public class SseResource {
 
     private static final String X_ACCEL_BUFFERING_HEADER = "X-Accel-Buffering";
 
-    private final SseBroadcaster broadcaster;
+    private static final String THREAD_POOL_NAME = "sse";
+
+    private static final int WRITE_POOL_SIZE = 5;
+
+    private static final int WRITE_THREAD_TIMEOUT = 65;
+
+    private final SseEventBroadcaster broadcaster;
 
     private final ExecutorService executorService;
 
+    private final ThreadPoolExecutor writeExecutor;
+
     @Context
     private UriInfo uriInfo;
 
@@ -77,8 +89,19 @@ public class SseResource {
     private HttpServletRequest request;
 
     public SseResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
-        this.broadcaster = new SseBroadcaster();
+        this.executorService = Executors.newSingleThreadExecutor(
+                ThreadFactoryBuilder.create().withName(THREAD_POOL_NAME + "-broadcast").build());
+        this.writeExecutor = new ThreadPoolExecutor(WRITE_POOL_SIZE, WRITE_POOL_SIZE, WRITE_THREAD_TIMEOUT,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                ThreadFactoryBuilder.create().withName(THREAD_POOL_NAME).build());
+        this.writeExecutor.allowCoreThreadTimeOut(true);
+        this.broadcaster = new SseEventBroadcaster(writeExecutor);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        executorService.shutdownNow();
+        writeExecutor.shutdownNow();
     }
 
     /**
@@ -104,8 +127,7 @@ public class SseResource {
 
         // construct an EventOutput that will only write out events that match
         // the given filter
-        final EventOutput eventOutput = new SseEventOutput(eventFilter);
-        broadcaster.add(eventOutput);
+        final EventOutput eventOutput = broadcaster.subscribe(eventFilter);
 
         // Disables proxy buffering when using an nginx http server proxy for this response.
         // This allows you to not disable proxy buffering in nginx and still have working sse
@@ -138,10 +160,13 @@ public class SseResource {
      * @param event the event
      */
     public void broadcastEvent(final Event event) {
+        if (executorService.isShutdown()) {
+            return;
+        }
         executorService.execute(new Runnable() {
             @Override
             public void run() {
-                broadcaster.broadcast(SseUtil.buildEvent(event));
+                broadcaster.broadcast(event);
             }
         });
     }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.sse.internal;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
+import org.eclipse.smarthome.io.rest.sse.internal.util.TopicFilter;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+
+/**
+ * Broadcasts events to all subscribed {@link SseEventOutput}s whose topic filter matches.
+ * <p>
+ * Subscriptions with the same topic filter share one compiled {@link TopicFilter}, which is evaluated only once per
+ * event. Each event is serialized once and the same {@link OutboundEvent} is handed to all matching outputs.
+ * <p>
+ * {@link #broadcast(Event)} must not be called concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+public class SseEventBroadcaster {
+
+    private final Executor writeExecutor;
+
+    private final List<SseEventOutput> outputs = new CopyOnWriteArrayList<>();
+
+    private final Map<String, TopicFilter> topicFilters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new broadcaster.
+     *
+     * @param writeExecutor the executor writing the events to the clients
+     */
+    public SseEventBroadcaster(Executor writeExecutor) {
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Creates a new output for a client subscribing to the given topics.
+     *
+     * @param topicFilter the topic filter of the client
+     * @return the output of the client
+     */
+    public SseEventOutput subscribe(String topicFilter) {
+        String key = topicFilter != null ? topicFilter : "";
+        SseEventOutput output = new SseEventOutput(topicFilters.computeIfAbsent(key, TopicFilter::new),
+                writeExecutor);
+        outputs.add(output);
+        return output;
+    }
+
+    /**
+     * Sends the given event to all subscribed clients whose topic filter matches.
+     *
+     * @param event the event
+     */
+    public void broadcast(Event event) {
+        if (outputs.isEmpty()) {
+            return;
+        }
+
+        String topic = event.getTopic();
+        Map<TopicFilter, Boolean> matches = new IdentityHashMap<>();
+        OutboundEvent chunk = null;
+        boolean closedOutputs = false;
+
+        for (SseEventOutput output : outputs) {
+            if (output.isClosed()) {
+                closedOutputs = true;
+                continue;
+            }
+            if (matches.computeIfAbsent(output.getTopicFilter(), filter -> filter.matches(topic))) {
+                if (chunk == null) {
+                    chunk = SseUtil.buildEncodedEvent(event);
+                }
+                output.offer(chunk);
+            }
+        }
+
+        if (closedOutputs) {
+            removeClosedOutputs();
+        }
+    }
+
+    private void removeClosedOutputs() {
+        outputs.removeIf(SseEventOutput::isClosed);
+        topicFilters.values()
+                .removeIf(topicFilter -> outputs.stream().noneMatch(output -> output.getTopicFilter() == topicFilter));
+    }
+
+}
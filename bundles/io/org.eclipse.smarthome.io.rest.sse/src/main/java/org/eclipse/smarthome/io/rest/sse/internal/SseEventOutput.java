@@ -13,39 +13,107 @@
 package org.eclipse.smarthome.io.rest.sse.internal;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
-import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
+import org.eclipse.smarthome.io.rest.sse.internal.util.TopicFilter;
 import org.glassfish.jersey.media.sse.EventOutput;
 import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * {@link EventOutput} implementation that takes a filter parameter and only writes out events that match this filter.
- * Should only be used when the {@link OutboundEvent}s sent through this {@link EventOutput} contain a data object of
- * type {@link EventBean}
- * 
+ * {@link EventOutput} implementation for a client which is subscribed to the events matching a {@link TopicFilter}.
+ * <p>
+ * Events are handed over by {@link #offer(OutboundEvent)} and written to the client asynchronously, so a client which
+ * does not read fast enough does not hold up the others. If more than {@link #MAX_PENDING_EVENTS} events are pending,
+ * the client is considered stalled and the connection is closed. The client then has to reconnect.
+ *
  * @author Ivan Iliev - Initial contribution and API
- * 
+ *
  */
 public class SseEventOutput extends EventOutput {
 
-    private List<String> regexFilters;
+    /** the maximum number of events which may be waiting to be written to the client */
+    static final int MAX_PENDING_EVENTS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(SseEventOutput.class);
+
+    private final TopicFilter topicFilter;
+
+    private final Executor executor;
 
-    public SseEventOutput(String topicFilter) {
+    private final Queue<OutboundEvent> pendingEvents = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    /**
+     * Creates a new output.
+     *
+     * @param topicFilter the filter for the events to be written out
+     * @param executor the executor writing the events to the client
+     */
+    public SseEventOutput(TopicFilter topicFilter, Executor executor) {
         super();
-        this.regexFilters = SseUtil.convertToRegex(topicFilter);
+        this.topicFilter = topicFilter;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the filter for the events to be written out
+     */
+    public TopicFilter getTopicFilter() {
+        return topicFilter;
     }
 
-    @Override
-    public void write(OutboundEvent chunk) throws IOException {
-        EventBean event = (EventBean) chunk.getData();
+    /**
+     * Queues the given event to be written to the client. Closes the output if the client does not keep up.
+     *
+     * @param chunk the event
+     */
+    public void offer(OutboundEvent chunk) {
+        if (isClosed()) {
+            return;
+        }
+        if (!pendingEvents.offer(chunk)) {
+            logger.debug("SSE client for topics '{}' does not keep up with {} pending events, closing connection.",
+                    topicFilter, MAX_PENDING_EVENTS);
+            closeQuietly();
+            return;
+        }
+        if (writing.compareAndSet(false, true)) {
+            executor.execute(this::writePendingEvents);
+        }
+    }
 
-        for (String filter : regexFilters) {
-            if (event.topic.matches(filter)) {
-                super.write(chunk);
-                return;
+    private void writePendingEvents() {
+        try {
+            OutboundEvent chunk;
+            while ((chunk = pendingEvents.poll()) != null) {
+                write(chunk);
             }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Writing to SSE client for topics '{}' failed, closing connection: {}", topicFilter,
+                    e.getMessage());
+            closeQuietly();
+        } finally {
+            writing.set(false);
+        }
+
+        // an event may have been queued after the queue was drained but before the flag was reset
+        if (!pendingEvents.isEmpty() && !isClosed() && writing.compareAndSet(false, true)) {
+            executor.execute(this::writePendingEvents);
+        }
+    }
+
+    private void closeQuietly() {
+        pendingEvents.clear();
+        try {
+            close();
+        } catch (IOException e) {
+            logger.debug("Closing SSE connection failed: {}", e.getMessage());
         }
     }
 
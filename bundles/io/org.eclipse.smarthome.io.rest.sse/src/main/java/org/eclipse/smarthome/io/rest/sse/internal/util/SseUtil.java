@@ -12,6 +12,7 @@
  */
 package org.eclipse.smarthome.io.rest.sse.internal.util;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
@@ -24,6 +25,9 @@ import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
 import org.glassfish.jersey.media.sse.OutboundEvent;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 /**
  * Utility class containing helper methods for the SSE implementation.
  * 
@@ -33,6 +37,8 @@ import org.glassfish.jersey.media.sse.OutboundEvent;
 public class SseUtil {
     static final String TOPIC_VALIDATE_PATTERN = "(\\w*\\*?\\/?,?\\s*)*";
 
+    private static final Gson GSON = new GsonBuilder().create();
+
     static {
         boolean servlet3 = false;
         try {
@@ -70,6 +76,33 @@ public class SseUtil {
         return outboundEvent;
     }
 
+    /**
+     * Creates a new {@link OutboundEvent} object containing the JSON representation of an {@link EventBean} created for
+     * the given Eclipse SmartHome {@link Event}.
+     * <p>
+     * In contrast to {@link #buildEvent(Event)} the data is serialized right away, so the returned event can be written
+     * to any number of clients without serializing it again.
+     *
+     * @param event the event
+     *
+     * @return a new OutboundEvent
+     */
+    public static OutboundEvent buildEncodedEvent(Event event) {
+        EventBean eventBean = new EventBean();
+        eventBean.topic = event.getTopic();
+        eventBean.type = event.getType();
+        eventBean.payload = event.getPayload();
+
+        byte[] data = GSON.toJson(eventBean).getBytes(StandardCharsets.UTF_8);
+
+        // the media type of an event is not transmitted, octet-stream only makes sure the bytes are written as they are
+        OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
+        OutboundEvent outboundEvent = eventBuilder.name("message").mediaType(MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                .data(data).build();
+
+        return outboundEvent;
+    }
+
     /**
      * Used to mark our current thread(request processing) that SSE blocking
      * should be enabled.
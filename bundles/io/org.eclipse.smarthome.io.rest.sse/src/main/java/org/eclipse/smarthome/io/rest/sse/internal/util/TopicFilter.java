@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.sse.internal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A topic filter of an SSE subscription, compiled once into regular expressions.
+ *
+ * @author agent - Initial contribution
+ */
+public class TopicFilter {
+
+    private final String topicFilter;
+
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    /**
+     * Compiles the given topic filter.
+     *
+     * @param topicFilter a comma separated list of topics which may contain wildcards (*)
+     * @see SseUtil#convertToRegex(String)
+     */
+    public TopicFilter(String topicFilter) {
+        this.topicFilter = topicFilter;
+        for (String regex : SseUtil.convertToRegex(topicFilter)) {
+            patterns.add(Pattern.compile(regex));
+        }
+    }
+
+    /**
+     * Returns true if the given topic matches any of the topics of this filter.
+     *
+     * @param topic the topic of an event
+     * @return true if the topic matches
+     */
+    public boolean matches(String topic) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(topic).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return topicFilter;
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.transport.mqtt.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TopicTrie} class
+ *
+ * @author agent - Initial contribution
+ */
+public class TopicTrieTests {
+    @Test
+    public void exactTopic() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.put("homie/device123/$name", Arrays.asList("a", "b"));
+
+        assertThat(trie.match("homie/device123/$name"), is(Arrays.asList("a", "b")));
+        assertThat(trie.match("homie/device123"), is(Collections.emptyList()));
+        assertThat(trie.match("homie/device123/$name/set"), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void singleLevelWildcard() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.put("homie/+/$name", Collections.singletonList("a"));
+        trie.put("+", Collections.singletonList("b"));
+
+        assertThat(trie.match("homie/device123/$name"), is(Collections.singletonList("a")));
+        assertThat(trie.match("homie//$name"), is(Collections.singletonList("a")));
+        assertThat(trie.match("homie/device123/$state"), is(Collections.emptyList()));
+        assertThat(trie.match("homie"), is(Collections.singletonList("b")));
+    }
+
+    @Test
+    public void multiLevelWildcard() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.put("#", Collections.singletonList("a"));
+        trie.put("homie/#", Collections.singletonList("b"));
+
+        assertThat(trie.match("homie/device123/$name"), is(Arrays.asList("a", "b")));
+        assertThat(trie.match("homie"), is(Arrays.asList("a", "b")));
+        assertThat(trie.match("other/topic"), is(Collections.singletonList("a")));
+    }
+
+    @Test
+    public void noRegularExpressions() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.put("sensor.1/value", Collections.singletonList("a"));
+
+        assertThat(trie.match("sensor.1/value"), is(Collections.singletonList("a")));
+        assertThat(trie.match("sensorX1/value"), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void remove() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.put("homie/+/$name", Collections.singletonList("a"));
+        trie.put("homie/device123/$name", Collections.singletonList("b"));
+
+        trie.remove("homie/+/$name");
+        assertThat(trie.match("homie/device123/$name"), is(Collections.singletonList("b")));
+
+        trie.put("homie/device123/$name", Collections.emptyList());
+        assertThat(trie.match("homie/device123/$name"), is(Collections.emptyList()));
+
+        trie.put("homie/#", Collections.singletonList("c"));
+        trie.clear();
+        assertThat(trie.match("homie/device123/$name"), is(Collections.emptyList()));
+    }
+}
@@ -44,6 +44,7 @@ import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.io.transport.mqtt.internal.ClientCallback;
 import org.eclipse.smarthome.io.transport.mqtt.internal.MqttActionAdapterCallback;
 import org.eclipse.smarthome.io.transport.mqtt.internal.TopicSubscribers;
+import org.eclipse.smarthome.io.transport.mqtt.internal.TopicTrie;
 import org.eclipse.smarthome.io.transport.mqtt.reconnect.AbstractReconnectStrategy;
 import org.eclipse.smarthome.io.transport.mqtt.reconnect.PeriodicReconnectStrategy;
 import org.eclipse.smarthome.io.transport.mqtt.sslcontext.AcceptAllCertificatesSSLContext;
@@ -100,6 +101,8 @@ public class MqttBrokerConnection {
     protected final List<MqttConnectionObserver> connectionObservers = new CopyOnWriteArrayList<>();
 
     protected final Map<String, TopicSubscribers> subscribers = new HashMap<>();
+    /** The subscribers of {@link #subscribers} indexed by their topic filters, for routing received messages */
+    protected final TopicTrie<MqttMessageSubscriber> subscriberTrie = new TopicTrie<>();
 
     // Connection timeout handling
     protected final AtomicReference<@Nullable ScheduledFuture<?>> timeoutFuture = new AtomicReference<>(null);
@@ -169,7 +172,7 @@ public class MqttBrokerConnection {
     }
 
     /** Client callback object */
-    protected ClientCallback clientCallback = new ClientCallback(this, connectionObservers, subscribers);
+    protected ClientCallback clientCallback = new ClientCallback(this, connectionObservers, subscriberTrie);
     /** Connection callback object */
     protected ConnectionCallback connectionCallback;
     /** Action callback object */
@@ -486,6 +489,7 @@ public class MqttBrokerConnection {
             TopicSubscribers subscriberList = subscribers.getOrDefault(topic, new TopicSubscribers(topic));
             subscribers.put(topic, subscriberList);
             subscriberList.add(subscriber);
+            subscriberTrie.put(topic, subscriberList);
         }
         final MqttAsyncClient client = this.client;
         if (client == null) {
@@ -545,6 +549,7 @@ public class MqttBrokerConnection {
                 return CompletableFuture.completedFuture(true);
             }
             list.remove(subscriber);
+            subscriberTrie.put(topic, list);
             if (!list.isEmpty()) {
                 return CompletableFuture.completedFuture(true);
             }
@@ -789,6 +794,7 @@ public class MqttBrokerConnection {
                 futures.add(unsubscribeRaw(client, topic));
             });
             subscribers.clear();
+            subscriberTrie.clear();
         }
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
     }
@@ -12,9 +12,7 @@
  */
 package org.eclipse.smarthome.io.transport.mqtt.internal;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
@@ -38,10 +36,10 @@ public class ClientCallback implements MqttCallback {
     final Logger logger = LoggerFactory.getLogger(ClientCallback.class);
     private final MqttBrokerConnection connection;
     private final List<MqttConnectionObserver> connectionObservers;
-    private final Map<String, TopicSubscribers> subscribers;
+    private final TopicTrie<MqttMessageSubscriber> subscribers;
 
     public ClientCallback(MqttBrokerConnection mqttBrokerConnectionImpl,
-            List<MqttConnectionObserver> connectionObservers, Map<String, TopicSubscribers> subscribers) {
+            List<MqttConnectionObserver> connectionObservers, TopicTrie<MqttMessageSubscriber> subscribers) {
         this.connection = mqttBrokerConnectionImpl;
         this.connectionObservers = connectionObservers;
         this.subscribers = subscribers;
@@ -72,19 +70,13 @@ public class ClientCallback implements MqttCallback {
     @Override
     public void messageArrived(String topic, MqttMessage message) {
         byte[] payload = message.getPayload();
-        logger.trace("Received message on topic '{}' : {}", topic, new String(payload));
-        List<MqttMessageSubscriber> matches = new ArrayList<>();
-        synchronized (subscribers) {
-            subscribers.values().forEach(subscriberList -> {
-                if (topic.matches(subscriberList.regexMatchTopic)) {
-                    logger.trace("Topic match for '{}' using regex {}", topic, subscriberList.regexMatchTopic);
-                    subscriberList.forEach(consumer -> matches.add(consumer));
-                } else {
-                    logger.trace("No topic match for '{}' using regex {}", topic, subscriberList.regexMatchTopic);
-
-                }
-            });
-
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received message on topic '{}' : {}", topic, new String(payload));
+        }
+        List<MqttMessageSubscriber> matches = subscribers.match(topic);
+        if (matches.isEmpty()) {
+            logger.trace("No subscriber for topic '{}'", topic);
+            return;
         }
         try {
             matches.forEach(subscriber -> subscriber.processMessage(topic, payload));
@@ -13,25 +13,21 @@
 package org.eclipse.smarthome.io.transport.mqtt.internal;
 
 import java.util.ArrayList;
-import java.util.regex.Matcher;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 
 /**
- * A list of all subscribers for a given topic. This object also stores a regex version of the topic, where
- * the MQTT wildcards got replaced.
+ * A list of all subscribers for a given topic.
  *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
 public class TopicSubscribers extends ArrayList<MqttMessageSubscriber> {
     private static final long serialVersionUID = -2969599983479371961L;
-    final String regexMatchTopic;
+    final String topic;
 
     public TopicSubscribers(String topic) {
-        this.regexMatchTopic = StringUtils.replace(StringUtils.replace(Matcher.quoteReplacement(topic), "+", "[^/]*"),
-                "#", ".*");
+        this.topic = topic;
     }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.transport.mqtt.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A trie of MQTT topic filters, which may contain the single level wildcard "+" and the multi level wildcard "#".
+ * Each topic filter is associated with a list of values, e.g. the subscribers of that topic filter.
+ * <p>
+ * The trie is immutable. Every modification builds a new version, which copies the nodes along the path of the
+ * modified topic filter and shares all others. Lookups work on the current version and therefore neither lock nor
+ * see a half applied modification. Modifications are serialized.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> the type of the values
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children;
+        final List<T> values;
+
+        Node(Map<String, Node<T>> children, List<T> values) {
+            this.children = children;
+            this.values = values;
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private volatile Node<T> root = new Node<>(Collections.emptyMap(), Collections.emptyList());
+
+    /**
+     * Sets the values of the given topic filter. An empty list removes the topic filter.
+     *
+     * @param topicFilter the topic filter
+     * @param values the values of the topic filter
+     */
+    public synchronized void put(String topicFilter, List<T> values) {
+        root = put(root, topicFilter.split("/", -1), 0,
+                values.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    private Node<T> put(Node<T> node, String[] levels, int level, List<T> values) {
+        if (level == levels.length) {
+            return new Node<>(node.children, values);
+        }
+
+        Node<T> child = node.children.get(levels[level]);
+        Node<T> newChild = put(child != null ? child : new Node<>(Collections.emptyMap(), Collections.emptyList()),
+                levels, level + 1, values);
+
+        Map<String, Node<T>> children = new HashMap<>(node.children);
+        if (newChild.isEmpty()) {
+            children.remove(levels[level]);
+        } else {
+            children.put(levels[level], newChild);
+        }
+        return new Node<>(children.isEmpty() ? Collections.emptyMap() : children, node.values);
+    }
+
+    /**
+     * Removes the given topic filter and its values.
+     *
+     * @param topicFilter the topic filter
+     */
+    public void remove(String topicFilter) {
+        put(topicFilter, Collections.emptyList());
+    }
+
+    /**
+     * Removes all topic filters.
+     */
+    public synchronized void clear() {
+        root = new Node<>(Collections.emptyMap(), Collections.emptyList());
+    }
+
+    /**
+     * Returns the values of all topic filters matching the given topic.
+     *
+     * @param topic the topic of a message, must not contain wildcards
+     * @return the values of the matching topic filters, might be empty
+     */
+    public List<T> match(String topic) {
+        List<T> matches = new ArrayList<>(0);
+        match(root, topic.split("/", -1), 0, matches);
+        return matches;
+    }
+
+    private void match(Node<T> node, String[] levels, int level, List<T> matches) {
+        // "#" also matches the parent level, i.e. "a/#" matches "a"
+        Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+        if (multiLevel != null) {
+            matches.addAll(multiLevel.values);
+        }
+
+        if (level == levels.length) {
+            matches.addAll(node.values);
+            return;
+        }
+
+        Node<T> child = node.children.get(levels[level]);
+        if (child != null) {
+            match(child, levels, level + 1, matches);
+        }
+        Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+        if (singleLevel != null) {
+            match(singleLevel, levels, level + 1, matches);
+        }
+    }
+
+}
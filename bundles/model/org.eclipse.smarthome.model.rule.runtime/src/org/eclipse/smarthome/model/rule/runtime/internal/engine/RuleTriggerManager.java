@@ -23,7 +23,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
@@ -102,6 +104,11 @@ public class RuleTriggerManager {
     private final Set<Rule> systemShutdownTriggeredRules = new CopyOnWriteArraySet<>();
     private final Set<Rule> timerEventTriggeredRules = new CopyOnWriteArraySet<>();
 
+    private static final CompiledTriggers NO_TRIGGERS = new CompiledTriggers();
+
+    // item triggers compiled for the accepted types of the items, replaced whenever the rules change
+    private volatile Map<CompiledTriggersKey, CompiledTriggers> compiledTriggers = new ConcurrentHashMap<>();
+
     // the scheduler used for timer events
     private Scheduler scheduler;
 
@@ -291,113 +298,118 @@ public class RuleTriggerManager {
 
     private void internalGetUpdateRules(String name, Boolean isGroup, List<Class<? extends State>> acceptedDataTypes,
             State state, List<Rule> result) {
-        final String mapName = (isGroup) ? GROUP_NAME_PREFIX + name : name;
-        for (Rule rule : getAllRules(UPDATE, mapName)) {
-            for (EventTrigger t : rule.getEventtrigger()) {
-                String triggerStateString = null;
-                if ((!isGroup) && (t instanceof UpdateEventTrigger)) {
-                    final UpdateEventTrigger ut = (UpdateEventTrigger) t;
-                    if (ut.getItem().equals(name)) {
-                        triggerStateString = ut.getState() != null ? ut.getState().getValue() : null;
-                    } else {
-                        continue;
-                    }
-                } else if ((isGroup) && (t instanceof GroupMemberUpdateEventTrigger)) {
-                    final GroupMemberUpdateEventTrigger gmut = (GroupMemberUpdateEventTrigger) t;
-                    if (gmut.getGroup().equals(name)) {
-                        triggerStateString = gmut.getState() != null ? gmut.getState().getValue() : null;
-                    } else {
-                        continue;
-                    }
-                } else {
-                    continue;
-                }
-                if (triggerStateString != null) {
-                    final State triggerState = TypeParser.parseState(acceptedDataTypes, triggerStateString);
-                    if (!state.equals(triggerState)) {
-                        continue;
-                    }
-                }
-                result.add(rule);
-            }
-        }
+        getCompiledTriggers(UPDATE, name, isGroup, acceptedDataTypes).getRules(null, state, result);
     }
 
     private void internalGetChangeRules(String name, Boolean isGroup, List<Class<? extends State>> acceptedDataTypes,
             State newState, State oldState, List<Rule> result) {
+        getCompiledTriggers(CHANGE, name, isGroup, acceptedDataTypes).getRules(oldState, newState, result);
+    }
+
+    private void internalGetCommandRules(String name, Boolean isGroup,
+            List<Class<? extends Command>> acceptedCommandTypes, Command command, List<Rule> result) {
+        getCompiledTriggers(COMMAND, name, isGroup, acceptedCommandTypes).getRules(null, command, result);
+    }
+
+    /**
+     * Returns the item triggers of the given type for an item or group, compiled for the given accepted types. The
+     * compiled triggers are cached until the rules change, so the state and command literals of the triggers are only
+     * parsed once instead of on every event.
+     */
+    private CompiledTriggers getCompiledTriggers(TriggerTypes type, String name, boolean isGroup,
+            List<? extends Class<? extends Type>> acceptedTypes) {
         final String mapName = (isGroup) ? GROUP_NAME_PREFIX + name : name;
-        for (Rule rule : getAllRules(CHANGE, mapName)) {
+        Map<CompiledTriggersKey, CompiledTriggers> cache = compiledTriggers;
+        CompiledTriggersKey key = new CompiledTriggersKey(type, mapName, acceptedTypes);
+        CompiledTriggers triggers = cache.get(key);
+        if (triggers == null) {
+            Iterable<Rule> rules = getAllRules(type, mapName);
+            if (!rules.iterator().hasNext()) {
+                // don't cache anything for the many items without rules
+                return NO_TRIGGERS;
+            }
+            triggers = compileTriggers(type, name, isGroup, acceptedTypes, rules);
+            cache.put(key, triggers);
+        }
+        return triggers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompiledTriggers compileTriggers(TriggerTypes type, String name, boolean isGroup,
+            List<? extends Class<? extends Type>> acceptedTypes, Iterable<Rule> rules) {
+        CompiledTriggers triggers = new CompiledTriggers();
+        for (Rule rule : rules) {
             for (EventTrigger t : rule.getEventtrigger()) {
-                String triggerOldStateString = null;
-                String triggerNewStateString = null;
-                if ((!isGroup) && (t instanceof ChangedEventTrigger)) {
-                    final ChangedEventTrigger ct = (ChangedEventTrigger) t;
-                    if (ct.getItem().equals(name)) {
-                        triggerOldStateString = ct.getOldState() != null ? ct.getOldState().getValue() : null;
-                        triggerNewStateString = ct.getNewState() != null ? ct.getNewState().getValue() : null;
-                    } else {
+                String triggerOldValueString = null;
+                String triggerNewValueString = null;
+                if (type == UPDATE && !isGroup && t instanceof UpdateEventTrigger) {
+                    final UpdateEventTrigger ut = (UpdateEventTrigger) t;
+                    if (!ut.getItem().equals(name)) {
                         continue;
                     }
-                } else if ((isGroup) && (t instanceof GroupMemberChangedEventTrigger)) {
-                    final GroupMemberChangedEventTrigger gmct = (GroupMemberChangedEventTrigger) t;
-                    if (gmct.getGroup().equals(name)) {
-                        triggerOldStateString = gmct.getOldState() != null ? gmct.getOldState().getValue() : null;
-                        triggerNewStateString = gmct.getNewState() != null ? gmct.getNewState().getValue() : null;
-                    } else {
+                    triggerNewValueString = ut.getState() != null ? ut.getState().getValue() : null;
+                } else if (type == UPDATE && isGroup && t instanceof GroupMemberUpdateEventTrigger) {
+                    final GroupMemberUpdateEventTrigger gmut = (GroupMemberUpdateEventTrigger) t;
+                    if (!gmut.getGroup().equals(name)) {
                         continue;
                     }
-                } else {
-                    continue;
-                }
-                if (triggerOldStateString != null) {
-                    final State triggerOldState = TypeParser.parseState(acceptedDataTypes, triggerOldStateString);
-                    if (!oldState.equals(triggerOldState)) {
+                    triggerNewValueString = gmut.getState() != null ? gmut.getState().getValue() : null;
+                } else if (type == CHANGE && !isGroup && t instanceof ChangedEventTrigger) {
+                    final ChangedEventTrigger ct = (ChangedEventTrigger) t;
+                    if (!ct.getItem().equals(name)) {
                         continue;
                     }
-                }
-                if (triggerNewStateString != null) {
-                    final State triggerNewState = TypeParser.parseState(acceptedDataTypes, triggerNewStateString);
-                    if (!newState.equals(triggerNewState)) {
+                    triggerOldValueString = ct.getOldState() != null ? ct.getOldState().getValue() : null;
+                    triggerNewValueString = ct.getNewState() != null ? ct.getNewState().getValue() : null;
+                } else if (type == CHANGE && isGroup && t instanceof GroupMemberChangedEventTrigger) {
+                    final GroupMemberChangedEventTrigger gmct = (GroupMemberChangedEventTrigger) t;
+                    if (!gmct.getGroup().equals(name)) {
                         continue;
                     }
-                }
-                result.add(rule);
-            }
-        }
-    }
-
-    private void internalGetCommandRules(String name, Boolean isGroup,
-            List<Class<? extends Command>> acceptedCommandTypes, Command command, List<Rule> result) {
-        final String mapName = (isGroup) ? GROUP_NAME_PREFIX + name : name;
-        for (Rule rule : getAllRules(COMMAND, mapName)) {
-            for (final EventTrigger t : rule.getEventtrigger()) {
-                String triggerCommandString = null;
-                if ((!isGroup) && (t instanceof CommandEventTrigger)) {
+                    triggerOldValueString = gmct.getOldState() != null ? gmct.getOldState().getValue() : null;
+                    triggerNewValueString = gmct.getNewState() != null ? gmct.getNewState().getValue() : null;
+                } else if (type == COMMAND && !isGroup && t instanceof CommandEventTrigger) {
                     final CommandEventTrigger ct = (CommandEventTrigger) t;
-                    if (ct.getItem().equals(name)) {
-                        triggerCommandString = ct.getCommand()!=null?ct.getCommand().getValue() : null;
-                    } else {
+                    if (!ct.getItem().equals(name)) {
                         continue;
                     }
-                } else if ((isGroup) && (t instanceof GroupMemberCommandEventTrigger)) {
+                    triggerNewValueString = ct.getCommand() != null ? ct.getCommand().getValue() : null;
+                } else if (type == COMMAND && isGroup && t instanceof GroupMemberCommandEventTrigger) {
                     final GroupMemberCommandEventTrigger gmct = (GroupMemberCommandEventTrigger) t;
-                    if (gmct.getGroup().equals(name)) {
-                        triggerCommandString = gmct.getCommand() != null ? gmct.getCommand().getValue() : null;
-                    } else {
+                    if (!gmct.getGroup().equals(name)) {
                         continue;
                     }
+                    triggerNewValueString = gmct.getCommand() != null ? gmct.getCommand().getValue() : null;
                 } else {
                     continue;
                 }
-                if (triggerCommandString != null) {
-                    final Command triggerCommand = TypeParser.parseCommand(acceptedCommandTypes, triggerCommandString);
-                    if (!command.equals(triggerCommand)) {
-                        continue;
+
+                Type triggerOldValue = null;
+                Type triggerNewValue = null;
+                if (type == COMMAND) {
+                    if (triggerNewValueString != null) {
+                        triggerNewValue = TypeParser.parseCommand(
+                                (List<Class<? extends Command>>) acceptedTypes, triggerNewValueString);
+                    }
+                } else {
+                    if (triggerOldValueString != null) {
+                        triggerOldValue = TypeParser.parseState((List<Class<? extends State>>) acceptedTypes,
+                                triggerOldValueString);
                     }
+                    if (triggerNewValueString != null) {
+                        triggerNewValue = TypeParser.parseState((List<Class<? extends State>>) acceptedTypes,
+                                triggerNewValueString);
+                    }
+                }
+                if ((triggerOldValueString != null && triggerOldValue == null)
+                        || (triggerNewValueString != null && triggerNewValue == null)) {
+                    // the literal is not valid for the item, so the trigger never matches
+                    continue;
                 }
-                result.add(rule);
+                triggers.add(rule, triggerOldValue, triggerNewValue);
             }
         }
+        return triggers;
     }
 
     private Iterable<Rule> internalGetRules(TriggerTypes triggerType, Item item, Type oldType, Type newType) {
@@ -542,6 +554,7 @@ public class RuleTriggerManager {
                 thingChangedEventTriggeredRules.clear();
                 break;
         }
+        invalidateCompiledTriggers();
     }
 
     /**
@@ -652,6 +665,7 @@ public class RuleTriggerManager {
                 rules.add(rule);
             }
         }
+        invalidateCompiledTriggers();
     }
 
     /**
@@ -703,6 +717,7 @@ public class RuleTriggerManager {
                 }
                 break;
         }
+        invalidateCompiledTriggers();
     }
 
     /**
@@ -731,6 +746,15 @@ public class RuleTriggerManager {
         removeRules(TIMER, Collections.singletonList(timerEventTriggeredRules), ruleModel);
         removeRules(THINGUPDATE, thingUpdateEventTriggeredRules.values(), ruleModel);
         removeRules(THINGCHANGE, thingChangedEventTriggeredRules.values(), ruleModel);
+        invalidateCompiledTriggers();
+    }
+
+    /**
+     * Discards the compiled triggers. This has to be called after the mapping tables have been changed: triggers
+     * compiled concurrently from the tables before or during the change are only put into the discarded cache.
+     */
+    private void invalidateCompiledTriggers() {
+        compiledTriggers = new ConcurrentHashMap<>();
     }
 
     private void removeRules(TriggerTypes type, Collection<? extends Collection<Rule>> ruleSets, RuleModel model) {
@@ -846,4 +870,94 @@ public class RuleTriggerManager {
             logger.error("Error while starting the scheduler service: {}", e.getMessage());
         }
     }
+
+    /**
+     * Identifies the item triggers of a trigger type for an item or group, compiled for the types accepted by an item.
+     */
+    private static class CompiledTriggersKey {
+        private final TriggerTypes type;
+        private final String mapName;
+        private final List<? extends Class<? extends Type>> acceptedTypes;
+        private final int hashCode;
+
+        CompiledTriggersKey(TriggerTypes type, String mapName, List<? extends Class<? extends Type>> acceptedTypes) {
+            this.type = type;
+            this.mapName = mapName;
+            this.acceptedTypes = acceptedTypes;
+            this.hashCode = Objects.hash(type, mapName, acceptedTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CompiledTriggersKey)) {
+                return false;
+            }
+            CompiledTriggersKey other = (CompiledTriggersKey) obj;
+            return type == other.type && mapName.equals(other.mapName) && acceptedTypes.equals(other.acceptedTypes);
+        }
+    }
+
+    /**
+     * The item triggers of a trigger type for an item or group with their state or command literals already parsed.
+     *
+     * Triggers for enum values like ON or OPEN are looked up by the value of the event. Other values are compared one
+     * by one, as e.g. {@link org.eclipse.smarthome.core.library.types.DecimalType} considers values of different
+     * scales equal, but not their hash codes.
+     */
+    private static class CompiledTriggers {
+        private final Map<Type, List<CompiledTrigger>> triggersByEnumValue = new HashMap<>();
+        private final List<CompiledTrigger> otherTriggers = new ArrayList<>();
+
+        void add(Rule rule, Type oldValue, Type newValue) {
+            CompiledTrigger trigger = new CompiledTrigger(rule, oldValue, newValue);
+            if (newValue instanceof Enum) {
+                triggersByEnumValue.computeIfAbsent(newValue, value -> new ArrayList<>()).add(trigger);
+            } else {
+                otherTriggers.add(trigger);
+            }
+        }
+
+        void getRules(Type oldValue, Type newValue, List<Rule> result) {
+            if (newValue instanceof Enum) {
+                List<CompiledTrigger> triggers = triggersByEnumValue.get(newValue);
+                if (triggers != null) {
+                    for (CompiledTrigger trigger : triggers) {
+                        if (trigger.matchesOldValue(oldValue)) {
+                            result.add(trigger.rule);
+                        }
+                    }
+                }
+            }
+            for (CompiledTrigger trigger : otherTriggers) {
+                if ((trigger.newValue == null || newValue.equals(trigger.newValue))
+                        && trigger.matchesOldValue(oldValue)) {
+                    result.add(trigger.rule);
+                }
+            }
+        }
+    }
+
+    private static class CompiledTrigger {
+        private final Rule rule;
+        private final Type oldValue;
+        private final Type newValue;
+
+        CompiledTrigger(Rule rule, Type oldValue, Type newValue) {
+            this.rule = rule;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        boolean matchesOldValue(Type value) {
+            return oldValue == null || (value != null && value.equals(oldValue));
+        }
+    }
 }
@@ -16,8 +16,14 @@ import static org.junit.Assert.*;
 
 import java.io.ByteArrayInputStream;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.rule.rules.ChangedEventTrigger;
 import org.eclipse.smarthome.model.rule.rules.CommandEventTrigger;
@@ -122,6 +128,81 @@ public class RuleTriggerTest extends JavaOSGiTest {
                 trigger -> trigger.getTrigger().getValue());
     }
 
+    @Test
+    public void testItemTriggersOfManyRules() throws Exception {
+        StringBuilder model = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            model.append("rule \"Rule ").append(i).append("\" when ");
+            if (i % 2 == 0) {
+                model.append("Item switch").append(i % 100).append(" changed to ").append(i % 4 == 0 ? "ON" : "OFF");
+                model.append(" or Item switch").append(i % 100).append(" received command ON");
+            } else {
+                model.append("Item number").append(i % 100).append(" changed from 0 to ").append(i % 10);
+            }
+            model.append(" then logInfo(\"test\", \"Boo!\") end\n");
+        }
+        modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.toString().getBytes()));
+
+        RuleTriggerManager triggerManager = ((RuleEngineImpl) getService(RuleEngine.class)).getTriggerManager();
+        SwitchItem switchItem = new SwitchItem("switch4");
+        NumberItem numberItem = new NumberItem("number5");
+        waitForAssert(() -> assertEquals(20, count(triggerManager.getRules(TriggerTypes.CHANGE, switchItem,
+                OnOffType.OFF, OnOffType.ON))));
+        assertEquals(0, count(triggerManager.getRules(TriggerTypes.CHANGE, switchItem, OnOffType.ON, OnOffType.OFF)));
+        assertEquals(20, count(triggerManager.getRules(TriggerTypes.COMMAND, switchItem, (Command) OnOffType.ON)));
+        assertEquals(0, count(triggerManager.getRules(TriggerTypes.COMMAND, switchItem, (Command) OnOffType.OFF)));
+
+        // numbers are compared by their value
+        assertEquals(20, count(triggerManager.getRules(TriggerTypes.CHANGE, numberItem, new DecimalType("0.0"),
+                new DecimalType("5.00"))));
+        assertEquals(0, count(triggerManager.getRules(TriggerTypes.CHANGE, numberItem, new DecimalType(1),
+                new DecimalType(5))));
+
+        modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(
+                "rule \"Rule\" when Item switch4 changed then logInfo(\"test\", \"Boo!\") end".getBytes()));
+        waitForAssert(() -> assertEquals(1, count(triggerManager.getRules(TriggerTypes.CHANGE, switchItem,
+                OnOffType.ON, OnOffType.OFF))));
+        assertEquals(0, count(triggerManager.getRules(TriggerTypes.COMMAND, switchItem, (Command) OnOffType.ON)));
+    }
+
+    @Test
+    public void testItemTriggersFollowConcurrentModelChanges() throws Exception {
+        RuleTriggerManager triggerManager = ((RuleEngineImpl) getService(RuleEngine.class)).getTriggerManager();
+        SwitchItem switchItem = new SwitchItem("switch1");
+
+        // compile the item triggers over and over again while the rules change
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                triggerManager.getRules(TriggerTypes.CHANGE, switchItem, OnOffType.OFF, OnOffType.ON);
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                modelRepository.addOrRefreshModel(TESTMODEL_NAME,
+                        new ByteArrayInputStream(("rule \"Rule\" when Item switch1 changed to "
+                                + (i % 2 == 0 ? "OFF" : "ON") + " then logInfo(\"test\", \"Boo!\") end").getBytes()));
+            }
+            waitForAssert(() -> assertEquals(1, count(triggerManager.getRules(TriggerTypes.CHANGE, switchItem,
+                    OnOffType.OFF, OnOffType.ON))));
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        // no table compiled from an older model has been cached
+        assertEquals(0, count(triggerManager.getRules(TriggerTypes.CHANGE, switchItem, OnOffType.ON, OnOffType.OFF)));
+    }
+
+    private static int count(Iterable<Rule> rules) {
+        int count = 0;
+        for (Iterator<Rule> iterator = rules.iterator(); iterator.hasNext(); iterator.next()) {
+            count++;
+        }
+        return count;
+    }
+
     private <T> void assertTriggerWith(String model, TriggerTypes triggerType, Class<T> triggerClass,
             Function<T, String> valueFunction) {
         modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.getBytes()));
@@ -17,12 +17,14 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.smarthome.model.core.ModelParser;
 import org.eclipse.smarthome.model.script.ScriptServiceUtil;
 import org.eclipse.smarthome.model.script.ScriptStandaloneSetup;
@@ -113,6 +115,22 @@ public class ScriptEngineImpl implements ScriptEngine, ModelParser {
 
     @Override
     public Script newScriptFromXExpression(XExpression expression) {
+        if (expression == null) {
+            return createScript(expression);
+        }
+        // a script only holds its expression, so it is created once for an expression and then reused, e.g. for every
+        // execution of a rule
+        synchronized (expression) {
+            ScriptAdapter adapter = (ScriptAdapter) EcoreUtil.getExistingAdapter(expression, ScriptAdapter.class);
+            if (adapter == null) {
+                adapter = new ScriptAdapter(createScript(expression));
+                expression.eAdapters().add(adapter);
+            }
+            return adapter.getScript();
+        }
+    }
+
+    private Script createScript(XExpression expression) {
         ScriptImpl script = ScriptStandaloneSetup.getInjector().getInstance(ScriptImpl.class);
         script.setXExpression(expression);
         return script;
@@ -185,4 +203,25 @@ public class ScriptEngineImpl implements ScriptEngine, ModelParser {
         return "script";
     }
 
+    /**
+     * Attaches the script of an expression to the expression, so it is discarded together with its model.
+     */
+    private static class ScriptAdapter extends AdapterImpl {
+
+        private final Script script;
+
+        public ScriptAdapter(Script script) {
+            this.script = script;
+        }
+
+        public Script getScript() {
+            return script;
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == ScriptAdapter.class;
+        }
+    }
+
 }
@@ -36,6 +36,8 @@ public class ScriptImpl implements Script {
 
     private XExpression xExpression;
 
+    private volatile IExpressionInterpreter interpreter;
+
     @Inject
     public ScriptImpl() {
     }
@@ -69,12 +71,7 @@ public class ScriptImpl implements Script {
     @Override
     public Object execute(final IEvaluationContext evaluationContext) throws ScriptExecutionException {
         if (xExpression != null) {
-            Resource resource = xExpression.eResource();
-            IExpressionInterpreter interpreter = null;
-            if (resource instanceof XtextResource) {
-                IResourceServiceProvider provider = ((XtextResource) resource).getResourceServiceProvider();
-                interpreter = provider.get(IExpressionInterpreter.class);
-            }
+            IExpressionInterpreter interpreter = getInterpreter();
             if (interpreter == null) {
                 throw new ScriptExecutionException("Script interpreter couldn't be obtain");
             }
@@ -102,4 +99,23 @@ public class ScriptImpl implements Script {
             throw new ScriptExecutionException("Script does not contain any expression");
         }
     }
+
+    /**
+     * Returns the interpreter for the expression. The interpreter keeps no state of an evaluation, so it is only
+     * created once and reused for all executions of this script.
+     *
+     * @return the interpreter or null if the expression does not belong to an Xtext resource
+     */
+    private IExpressionInterpreter getInterpreter() {
+        IExpressionInterpreter interpreter = this.interpreter;
+        if (interpreter == null) {
+            Resource resource = xExpression.eResource();
+            if (resource instanceof XtextResource) {
+                IResourceServiceProvider provider = ((XtextResource) resource).getResourceServiceProvider();
+                interpreter = provider.get(IExpressionInterpreter.class);
+                this.interpreter = interpreter;
+            }
+        }
+        return interpreter;
+    }
 }
@@ -107,6 +107,19 @@ public class ScriptEngineOSGiTest extends JavaOSGiTest {
         assertEquals("ON", switch1State.toString());
     }
 
+    @Test
+    public void testScriptCanBeExecutedRepeatedly() throws ScriptParsingException, ScriptExecutionException {
+        Item numberItem = itemRegistry.get(NUMBER_ITEM_TEMPERATURE);
+        Script script = scriptEngine.newScriptFromString("NumberA.state > 20|°C");
+
+        ((NumberItem) numberItem).setState(new QuantityType<>("21 °C"));
+        assertEquals(true, script.execute());
+        ((NumberItem) numberItem).setState(new QuantityType<>("19 °C"));
+        assertEquals(false, script.execute());
+        ((NumberItem) numberItem).setState(new QuantityType<>("70 °F"));
+        assertEquals(true, script.execute());
+    }
+
     @SuppressWarnings("null")
     @Test
     public void testAssignQuantityType() throws ScriptParsingException, ScriptExecutionException {
@@ -18,6 +18,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.eclipse.smarthome.core.thing.ThingRegistry;
 import org.eclipse.smarthome.core.thing.binding.ThingActions;
 import org.eclipse.smarthome.model.core.ModelRepository;
@@ -54,6 +55,8 @@ public class ScriptServiceUtil {
 
     private ModelRepository modelRepository;
 
+    private TimerScheduler timerScheduler;
+
     private final AtomicReference<ScriptEngine> scriptEngine = new AtomicReference<>();
 
     public List<ActionService> actionServices = new CopyOnWriteArrayList<>();
@@ -103,6 +106,10 @@ public class ScriptServiceUtil {
         return modelRepository;
     }
 
+    public static TimerScheduler getTimerScheduler() {
+        return getInstance().timerScheduler;
+    }
+
     public static ScriptEngine getScriptEngine() {
         return getInstance().scriptEngine.get();
     }
@@ -177,6 +184,15 @@ public class ScriptServiceUtil {
         this.modelRepository = null;
     }
 
+    @Reference
+    public void setTimerScheduler(TimerScheduler timerScheduler) {
+        this.timerScheduler = timerScheduler;
+    }
+
+    public void unsetTimerScheduler(TimerScheduler timerScheduler) {
+        this.timerScheduler = null;
+    }
+
     public void setScriptEngine(ScriptEngine scriptEngine) {
         // injected as a callback from the script engine, not via DS as it is a circular dependency...
         this.scriptEngine.set(scriptEngine);
@@ -12,26 +12,19 @@
  */
 package org.eclipse.smarthome.model.script.actions;
 
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
-
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.scheduler.SchedulerRunnable;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.script.ScriptServiceUtil;
 import org.eclipse.smarthome.model.script.engine.Script;
 import org.eclipse.smarthome.model.script.engine.ScriptEngine;
 import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
-import org.eclipse.smarthome.model.script.internal.actions.TimerExecutionJob;
 import org.eclipse.smarthome.model.script.internal.actions.TimerImpl;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,9 +80,7 @@ public class ScriptExecution {
      * @throws ScriptExecutionException if an error occurs during the execution
      */
     public static Timer createTimer(AbstractInstant instant, Procedure0 closure) {
-        JobDataMap dataMap = new JobDataMap();
-        dataMap.put("procedure", closure);
-        return makeTimer(instant, closure.toString(), dataMap);
+        return makeTimer(instant, closure::apply);
     }
 
     /**
@@ -103,38 +94,25 @@ public class ScriptExecution {
      * @throws ScriptExecutionException if an error occurs during the execution
      */
     public static Timer createTimerWithArgument(AbstractInstant instant, Object arg1, Procedure1<Object> closure) {
-        JobDataMap dataMap = new JobDataMap();
-        dataMap.put("procedure1", closure);
-        dataMap.put("argument1", arg1);
-        return makeTimer(instant, closure.toString(), dataMap);
+        return makeTimer(instant, () -> closure.apply(arg1));
     }
 
     /**
      * helper function to create the timer
      *
      * @param instant the point in time when the code should be executed
-     * @param closure string for job id
-     * @param dataMap job data map, preconfigured with arguments
-     * @return
+     * @param runnable the code to execute
+     * @return the timer or null, if the timer scheduler is not available
      */
-    private static Timer makeTimer(AbstractInstant instant, String closure, JobDataMap dataMap) {
-
+    private static Timer makeTimer(AbstractInstant instant, SchedulerRunnable runnable) {
         Logger logger = LoggerFactory.getLogger(ScriptExecution.class);
-        JobKey jobKey = new JobKey(instant.toString() + ": " + closure.toString());
-        Trigger trigger = newTrigger().startAt(instant.toDate()).build();
-        Timer timer = new TimerImpl(jobKey, trigger.getKey(), dataMap, instant);
-        try {
-            JobDetail job = newJob(TimerExecutionJob.class).withIdentity(jobKey).usingJobData(dataMap).build();
-            if (TimerImpl.scheduler.checkExists(job.getKey())) {
-                TimerImpl.scheduler.deleteJob(job.getKey());
-                logger.debug("Deleted existing Job {}", job.getKey().toString());
-            }
-            TimerImpl.scheduler.scheduleJob(job, trigger);
-            logger.debug("Scheduled code for execution at {}", instant.toString());
-            return timer;
-        } catch (SchedulerException e) {
-            logger.error("Failed to schedule code for execution.", e);
+        TimerScheduler scheduler = ScriptServiceUtil.getTimerScheduler();
+        if (scheduler == null) {
+            logger.error("Failed to schedule code for execution, the timer scheduler is not available.");
             return null;
         }
+        Timer timer = new TimerImpl(scheduler.schedule(runnable, instant.toDate().toInstant()));
+        logger.debug("Scheduled code for execution at {}", instant);
+        return timer;
     }
 }
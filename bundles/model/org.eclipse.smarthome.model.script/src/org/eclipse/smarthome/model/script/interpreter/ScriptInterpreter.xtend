@@ -13,6 +13,8 @@
 package org.eclipse.smarthome.model.script.interpreter;
 
 import com.google.inject.Inject
+import org.eclipse.emf.common.notify.impl.AdapterImpl
+import org.eclipse.emf.ecore.util.EcoreUtil
 import org.eclipse.smarthome.core.items.Item
 import org.eclipse.smarthome.core.items.ItemNotFoundException
 import org.eclipse.smarthome.core.items.ItemRegistry
@@ -100,11 +102,7 @@ public class ScriptInterpreter extends XbaseInterpreter {
     }
 
     def protected Type getStateOrCommand(String name) {
-        for (Type type : stateAndCommandProvider.getAllTypes()) {
-            if (type.toString == name) {
-                return type
-            }
-        }
+        return stateAndCommandProvider.getType(name)
     }
 
     def protected Item getItem(String name) {
@@ -149,7 +147,15 @@ public class ScriptInterpreter extends XbaseInterpreter {
     }
 
     def  protected  Object doEvaluate(QuantityLiteral literal, IEvaluationContext context, CancelIndicator indicator) {
-        return QuantityType.valueOf(literal.value + " " + literal.unit.value);
+        // the literal can't change, so its unit is only parsed on the first evaluation
+        synchronized (literal) {
+            var adapter = EcoreUtil.getExistingAdapter(literal, QuantityLiteralAdapter) as QuantityLiteralAdapter
+            if (adapter === null) {
+                adapter = new QuantityLiteralAdapter(QuantityType.valueOf(literal.value + " " + literal.unit.value))
+                literal.eAdapters.add(adapter)
+            }
+            return adapter.quantity
+        }
     }
 
     override Object _doEvaluate(XCastedExpression castedExpression, IEvaluationContext context,
@@ -168,5 +174,25 @@ public class ScriptInterpreter extends XbaseInterpreter {
             }
         }
 
+    /**
+     * Holds the value of a quantity literal, so it is discarded together with its model.
+     */
+    private static class QuantityLiteralAdapter extends AdapterImpl {
+
+        val QuantityType<?> quantity
+
+        new(QuantityType<?> quantity) {
+            this.quantity = quantity
+        }
+
+        def QuantityType<?> getQuantity() {
+            return quantity
+        }
+
+        override isAdapterForType(Object type) {
+            return type == QuantityLiteralAdapter
+        }
+    }
+
     }
     
\ No newline at end of file
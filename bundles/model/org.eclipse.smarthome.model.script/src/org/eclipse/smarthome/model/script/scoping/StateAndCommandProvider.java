@@ -12,7 +12,9 @@
  */
 package org.eclipse.smarthome.model.script.scoping;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.smarthome.core.library.types.IncreaseDecreaseType;
@@ -44,6 +46,7 @@ public class StateAndCommandProvider {
     final static protected Set<Command> COMMANDS = new HashSet<Command>();
     final static protected Set<State> STATES = new HashSet<State>();
     final static protected Set<Type> TYPES = new HashSet<Type>();
+    final static protected Map<String, Type> TYPES_BY_NAME = new HashMap<String, Type>();
 
     static {
         COMMANDS.add(OnOffType.ON);
@@ -76,6 +79,10 @@ public class StateAndCommandProvider {
 
         TYPES.addAll(COMMANDS);
         TYPES.addAll(STATES);
+
+        for (Type type : TYPES) {
+            TYPES_BY_NAME.put(type.toString(), type);
+        }
     }
 
     public Iterable<Type> getAllTypes() {
@@ -90,4 +97,14 @@ public class StateAndCommandProvider {
         return STATES;
     }
 
+    /**
+     * Returns the state or command with the given name.
+     *
+     * @param name the name of the state or command
+     * @return the state or command or null if there is none with the name
+     */
+    public Type getType(String name) {
+        return TYPES_BY_NAME.get(name);
+    }
+
 }
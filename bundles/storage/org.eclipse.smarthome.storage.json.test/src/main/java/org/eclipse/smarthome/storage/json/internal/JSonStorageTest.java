@@ -126,6 +126,47 @@ public class JSonStorageTest extends JavaTest {
         assertEquals(storageString1, storageString2);
     }
 
+    @Test
+    public void testValueCachingKeepsInstances() {
+        objectStorage.setValueCaching(true);
+        DummyObject stored = new DummyObject();
+        objectStorage.put("DummyObject", stored);
+
+        assertSame(stored, objectStorage.get("DummyObject"));
+        assertSame(stored, objectStorage.getValues().iterator().next());
+    }
+
+    @Test
+    public void testValueCachingKeepsRestoredInstances() {
+        objectStorage.put("DummyObject", new DummyObject());
+        persistAndReadAgain();
+        objectStorage.setValueCaching(true);
+
+        DummyObject dummy = objectStorage.get("DummyObject");
+        assertSame(dummy, objectStorage.get("DummyObject"));
+        assertTrue(dummy.configuration.get("testInt") instanceof BigDecimal);
+    }
+
+    @Test
+    public void testValueCachingSerializesOnFlush() {
+        objectStorage.setValueCaching(true);
+        objectStorage.set("DummyObject", new DummyObject());
+        persistAndReadAgain();
+        DummyObject dummy = objectStorage.get("DummyObject");
+
+        assertTrue(dummy.configuration.get("testInt") instanceof BigDecimal);
+        assertEquals(((BigDecimal) dummy.channels.get(0).configuration.get("testChildLong")).scale(), 0);
+    }
+
+    @Test
+    public void testSet() {
+        objectStorage.set("DummyObject", new DummyObject());
+        assertNotNull(objectStorage.get("DummyObject"));
+
+        objectStorage.set("DummyObject", null);
+        assertFalse(objectStorage.containsKey("DummyObject"));
+    }
+
     private static class DummyObject {
 
         private final Configuration configuration = new Configuration();
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.json.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link JournalStorage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JournalStorageTest {
+
+    private File folder;
+    private File journal;
+    private File jsonFile;
+    private JournalStorage<DummyObject> storage;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("journal").toFile();
+        journal = new File(folder, "test.journal");
+        jsonFile = new File(folder, "test.json");
+        storage = open();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(folder);
+    }
+
+    private JournalStorage<DummyObject> open() {
+        return new JournalStorage<>(journal, jsonFile, getClass().getClassLoader(), 60000, 60000);
+    }
+
+    @Test
+    public void testValuesAreReadFromJournal() {
+        storage.put("a", new DummyObject("a"));
+        storage.put("b", new DummyObject("b"));
+        storage.flush();
+        storage.put("b", new DummyObject("b2"));
+        storage.remove("a");
+        storage.put("c", new DummyObject("c"));
+        storage.flush();
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(2));
+        assertFalse(storage.containsKey("a"));
+        assertThat(storage.get("b").name, is("b2"));
+        assertThat(storage.get("c").name, is("c"));
+        assertTrue(storage.get("c").configuration.get("number") instanceof BigDecimal);
+    }
+
+    @Test
+    public void testFlushOnlyAppendsChanges() {
+        for (int i = 0; i < 100; i++) {
+            storage.put("key" + i, new DummyObject("value" + i));
+        }
+        storage.flush();
+        long length = journal.length();
+
+        storage.put("key0", new DummyObject("changed"));
+        storage.flush();
+        long appended = journal.length() - length;
+
+        assertTrue(appended > 0);
+        assertTrue(appended < length / 50);
+    }
+
+    @Test
+    public void testPutReturnsPreviousValue() {
+        assertNull(storage.put("a", new DummyObject("a")));
+        assertThat(storage.put("a", new DummyObject("b")).name, is("a"));
+        assertThat(storage.remove("a").name, is("b"));
+        assertNull(storage.remove("a"));
+    }
+
+    @Test
+    public void testIncompleteRecordIsIgnored() throws IOException {
+        storage.put("a", new DummyObject("a"));
+        storage.flush();
+        storage.put("b", new DummyObject("b"));
+        storage.flush();
+
+        // cut off the end of the last record
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(1));
+        assertThat(storage.get("a").name, is("a"));
+
+        storage.put("c", new DummyObject("c"));
+        storage.flush();
+        storage = open();
+        assertThat(storage.getKeys().size(), is(2));
+        assertThat(storage.get("c").name, is("c"));
+    }
+
+    @Test
+    public void testRecordWithWrongChecksumIsIgnored() throws IOException {
+        storage.put("a", new DummyObject("a"));
+        storage.flush();
+        long length = journal.length();
+        storage.put("b", new DummyObject("b"));
+        storage.flush();
+
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.seek(length + 20);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(1));
+        assertTrue(storage.containsKey("a"));
+    }
+
+    @Test
+    public void testJournalIsCompacted() {
+        for (int i = 0; i < 2000; i++) {
+            storage.put("key" + i % 10, new DummyObject("value" + i));
+            storage.flush();
+        }
+        assertTrue(journal.length() < 128 * 1024);
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(10));
+        assertThat(storage.get("key9").name, is("value1999"));
+    }
+
+    @Test
+    public void testJsonStorageFileIsImported() {
+        JsonStorage<DummyObject> jsonStorage = new JsonStorage<>(jsonFile, getClass().getClassLoader(), 0, 0, 0);
+        jsonStorage.put("a", new DummyObject("a"));
+        jsonStorage.flush();
+
+        storage = open();
+        assertThat(storage.get("a").name, is("a"));
+        storage.flush();
+        assertTrue(journal.exists());
+
+        // once the journal exists, the file is not imported anymore
+        storage.remove("a");
+        storage.flush();
+        storage = open();
+        assertFalse(storage.containsKey("a"));
+    }
+
+    @Test
+    public void testValuesAreExportedToJsonStorageFile() {
+        storage.put("a", new DummyObject("a"));
+        storage.put("b", new DummyObject("b"));
+        storage.flush();
+        storage.remove("b");
+        storage.flush();
+        storage.exportJsonFile();
+
+        JsonStorage<DummyObject> jsonStorage = new JsonStorage<>(jsonFile, getClass().getClassLoader(), 0, 0, 0);
+        assertThat(jsonStorage.getKeys().size(), is(1));
+        assertThat(jsonStorage.get("a").name, is("a"));
+        assertTrue(jsonStorage.get("a").configuration.get("number") instanceof BigDecimal);
+
+        // the exported file is not imported again
+        storage.put("c", new DummyObject("c"));
+        storage.flush();
+        storage = open();
+        assertThat(storage.getKeys().size(), is(2));
+    }
+
+    @Test
+    public void testChangedJsonStorageFileIsImportedAgain() {
+        storage.put("a", new DummyObject("a"));
+        storage.flush();
+
+        // the journal has been disabled in between
+        JsonStorage<DummyObject> jsonStorage = new JsonStorage<>(jsonFile, getClass().getClassLoader(), 0, 0, 0);
+        jsonStorage.put("b", new DummyObject("b"));
+        jsonStorage.flush();
+        assertTrue(jsonFile.setLastModified(journal.lastModified() + 1000));
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(1));
+        assertThat(storage.get("b").name, is("b"));
+        storage.flush();
+        storage = open();
+        assertFalse(storage.containsKey("a"));
+    }
+
+    @Test
+    public void testCorruptJournalIsKept() throws IOException {
+        storage.put("a", new DummyObject("a"));
+        storage.flush();
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.writeInt(0);
+        }
+
+        storage = open();
+        assertThat(storage.getKeys().size(), is(0));
+        assertFalse(journal.exists());
+        assertTrue(new File(folder, "test.journal.corrupt").exists());
+    }
+
+    private static class DummyObject {
+
+        private final String name;
+        private final Configuration configuration = new Configuration();
+
+        public DummyObject(String name) {
+            this.name = name;
+            configuration.put("number", Integer.valueOf(12));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.json.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The file format of the {@link JournalStorage}.
+ *
+ * A journal starts with a header, followed by records which either put or remove a key. Each record is prefixed with
+ * the length and the CRC32 checksum of its payload. The payload of a put record holds the key, the class name and the
+ * JSON of the value, the payload of a remove record only holds the key.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class JournalFile {
+
+    private static final int MAGIC = 0x45534A4C;
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    /**
+     * Receives the records read from a journal.
+     */
+    interface RecordHandler {
+
+        /**
+         * @param key the key
+         * @param className the class name of the value
+         * @param json the UTF-8 encoded JSON of the value, copied from the journal
+         * @param length the length of the record
+         */
+        void put(String key, String className, ByteBuffer json, int length);
+
+        /**
+         * @param key the key
+         * @param length the length of the record
+         */
+        void remove(String key, int length);
+    }
+
+    /**
+     * A record to be written to a journal.
+     */
+    static final class Record {
+        final String key;
+        final @Nullable String className;
+        final @Nullable ByteBuffer json;
+
+        private Record(String key, @Nullable String className, @Nullable ByteBuffer json) {
+            this.key = key;
+            this.className = className;
+            this.json = json;
+        }
+
+        static Record put(String key, String className, ByteBuffer json) {
+            return new Record(key, className, json);
+        }
+
+        static Record remove(String key) {
+            return new Record(key, null, null);
+        }
+    }
+
+    private JournalFile() {
+        // hidden
+    }
+
+    /**
+     * Reads the records of a journal. The journal is read into a heap buffer, so it is never mapped while it is
+     * replaced.
+     *
+     * Reading stops at the first incomplete record or record with a wrong checksum, e.g. after a crash while
+     * appending.
+     *
+     * @param file the journal
+     * @param handler the handler receiving the records
+     * @return the length of the valid part of the journal, which is 0 if the journal doesn't exist
+     * @throws IOException if the journal can't be read or is no journal
+     */
+    static long read(Path file, RecordHandler handler) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Journal '" + file + "' is too large");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            throw new IOException("'" + file + "' is no journal");
+        }
+        CRC32 crc = new CRC32();
+        int position = HEADER_LENGTH;
+        while (position + RECORD_HEADER_LENGTH <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            int payload = position + RECORD_HEADER_LENGTH;
+            if (length <= 0 || payload + length > buffer.limit()) {
+                break;
+            }
+            ByteBuffer record = slice(buffer, payload, length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            int recordLength = RECORD_HEADER_LENGTH + length;
+            byte operation = record.get();
+            String key = readString(record);
+            if (operation == PUT) {
+                String className = readString(record);
+                int jsonLength = record.getInt();
+                // copied, so the values don't keep the buffer of the whole journal alive
+                ByteBuffer json = ByteBuffer.allocate(jsonLength);
+                json.put(slice(record, record.position(), jsonLength)).flip();
+                handler.put(key, className, json.asReadOnlyBuffer(), recordLength);
+            } else if (operation == REMOVE) {
+                handler.remove(key, recordLength);
+            } else {
+                break;
+            }
+            position += recordLength;
+        }
+        return position;
+    }
+
+    /**
+     * Appends records to a journal, creating the journal if it doesn't exist.
+     *
+     * @param file the journal
+     * @param length the length of the valid part of the journal, anything after it is cut off
+     * @param records the records
+     * @return the lengths of the written records in the order of the records
+     * @throws IOException if the journal can't be written
+     */
+    static int[] append(Path file, long length, Collection<Record> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() > length) {
+                channel.truncate(length);
+            }
+            channel.position(length);
+            return write(channel, records, length == 0);
+        }
+    }
+
+    /**
+     * Replaces a journal with a journal holding only the given records. The journal is replaced atomically, so
+     * readers either see the old or the new journal.
+     *
+     * @param file the journal
+     * @param records the records
+     * @return the lengths of the written records in the order of the records
+     * @throws IOException if the journal can't be written
+     */
+    static int[] replace(Path file, Collection<Record> records) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int[] lengths;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            lengths = write(channel, records, true);
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return lengths;
+    }
+
+    private static int[] write(FileChannel channel, Collection<Record> records, boolean header) throws IOException {
+        int[] lengths = new int[records.size()];
+        int capacity = header ? HEADER_LENGTH : 0;
+        int index = 0;
+        for (Record record : records) {
+            lengths[index++] = RECORD_HEADER_LENGTH + payloadLength(record);
+            capacity += lengths[index - 1];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        if (header) {
+            buffer.putInt(MAGIC).put(VERSION).put((byte) 0).putShort((short) 0);
+        }
+        CRC32 crc = new CRC32();
+        for (Record record : records) {
+            int start = buffer.position();
+            buffer.position(start + RECORD_HEADER_LENGTH);
+            String className = record.className;
+            ByteBuffer json = record.json;
+            if (className == null || json == null) {
+                buffer.put(REMOVE);
+                writeString(buffer, record.key);
+            } else {
+                buffer.put(PUT);
+                writeString(buffer, record.key);
+                writeString(buffer, className);
+                buffer.putInt(json.remaining()).put(json.duplicate());
+            }
+            int length = buffer.position() - start - RECORD_HEADER_LENGTH;
+            crc.reset();
+            crc.update(slice(buffer, start + RECORD_HEADER_LENGTH, length));
+            buffer.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return lengths;
+    }
+
+    private static int payloadLength(Record record) {
+        int length = 1 + 4 + utf8Length(record.key);
+        String className = record.className;
+        ByteBuffer json = record.json;
+        if (className != null && json != null) {
+            length += 4 + utf8Length(className) + 4 + json.remaining();
+        }
+        return length;
+    }
+
+    private static int utf8Length(String string) {
+        return string.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeString(ByteBuffer buffer, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String string = StandardCharsets.UTF_8.decode(slice(buffer, buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length).position(position);
+        return slice.slice().asReadOnlyBuffer();
+    }
+}
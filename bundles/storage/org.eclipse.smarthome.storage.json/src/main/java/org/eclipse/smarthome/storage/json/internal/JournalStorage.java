@@ -0,0 +1,445 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.json.internal;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.config.core.ConfigurationDeserializer;
+import org.eclipse.smarthome.core.storage.Storage;
+import org.eclipse.smarthome.storage.json.internal.JournalFile.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * The JournalStorage is an implementation of the {@link Storage} interface which stores the values as JSON, like the
+ * {@link JsonStorage}, but in an append-only journal.
+ *
+ * Changes are collected for a write delay and then appended to the journal, so a flush only writes the changed keys
+ * instead of the whole storage. The journal is compacted once most of it consists of outdated records. Values read
+ * from the journal are kept as their encoded JSON until they are requested for the first time.
+ *
+ * The storage is initialized with the entries of the JSON storage file of the {@link JsonStorage} if the journal
+ * doesn't exist yet or the JSON storage file has been changed after the journal, i.e. the journal has been disabled in
+ * between. In turn, all values are exported to the JSON storage file when the journal is compacted and by
+ * {@link #exportJsonFile()}, so the {@link JsonStorage} continues with the current values if the journal is disabled.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JournalStorage<T> implements Storage<T> {
+
+    /** journals are not compacted below this length */
+    private static final long MINIMUM_COMPACTION_LENGTH = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(JournalStorage.class);
+
+    private final Path file;
+    private final Path jsonFile;
+    private final @Nullable ClassLoader classLoader;
+    private final int writeDelay;
+    private final int maxDeferredPeriod;
+
+    private final Map<String, Entry> map = new ConcurrentHashMap<>();
+    private final Gson entityMapper = new GsonBuilder()
+            .registerTypeAdapter(Configuration.class, new ConfigurationDeserializer()).create();
+    private final Gson jsonMapper = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Timer commitTimer = new Timer();
+    private @Nullable TimerTask commitTimerTask;
+    private long deferredSince;
+
+    // guarded by this
+    private final Set<String> changedKeys = new LinkedHashSet<>();
+    private long length;
+    private long garbage;
+
+    /**
+     * Opens a journal.
+     *
+     * @param file the journal
+     * @param jsonFile the JSON storage file to initialize the storage with and to export the values to
+     * @param classLoader the class loader for the values or null to use the class loader of this bundle
+     * @param writeDelay the milliseconds to wait for further changes before they are written
+     * @param maxDeferredPeriod the maximum milliseconds changes are deferred
+     */
+    public JournalStorage(File file, File jsonFile, @Nullable ClassLoader classLoader, int writeDelay,
+            int maxDeferredPeriod) {
+        this.file = file.toPath();
+        this.jsonFile = jsonFile.toPath();
+        this.classLoader = classLoader;
+        this.writeDelay = writeDelay;
+        this.maxDeferredPeriod = maxDeferredPeriod;
+
+        try {
+            length = JournalFile.read(this.file, new JournalFile.RecordHandler() {
+                @Override
+                public void put(String key, String className, ByteBuffer json, int recordLength) {
+                    Entry previous = map.put(key, new Entry(className, json, recordLength));
+                    garbage += previous == null ? 0 : previous.recordLength;
+                }
+
+                @Override
+                public void remove(String key, int recordLength) {
+                    Entry previous = map.remove(key);
+                    garbage += recordLength + (previous == null ? 0 : previous.recordLength);
+                }
+            });
+            long fileLength = length == 0 ? 0 : Files.size(this.file);
+            if (length < fileLength) {
+                logger.warn("Ignoring {} bytes of an incomplete or corrupt record at the end of journal '{}'.",
+                        fileLength - length, file.getAbsolutePath());
+            }
+            logger.debug("Opened journal at '{}' with {} entries.", file.getAbsolutePath(), map.size());
+        } catch (IOException e) {
+            logger.error("Journal at '{}' is corrupt. Cause {}.", file.getAbsolutePath(), e.getMessage());
+            length = 0;
+            garbage = 0;
+            map.clear();
+            keepCorruptJournal();
+            if (jsonFile.exists()) {
+                logger.error("Restoring the storage from Json storage file '{}' of {}, later changes are lost.",
+                        jsonFile.getAbsolutePath(), Instant.ofEpochMilli(jsonFile.lastModified()));
+                importJsonFile(jsonFile);
+            } else {
+                logger.error("Starting with an empty storage, all values of the journal are lost.");
+            }
+            return;
+        }
+
+        if (length == 0 && map.isEmpty()) {
+            if (jsonFile.exists()) {
+                importJsonFile(jsonFile);
+            }
+        } else if (jsonFile.lastModified() > file.lastModified()) {
+            logger.info("Json storage file '{}' has been changed after journal '{}', initializing the journal again.",
+                    jsonFile.getAbsolutePath(), file.getAbsolutePath());
+            length = 0;
+            garbage = 0;
+            map.clear();
+            importJsonFile(jsonFile);
+        }
+    }
+
+    private void keepCorruptJournal() {
+        Path corrupt = file.resolveSibling(file.getFileName() + ".corrupt");
+        try {
+            Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            logger.error("Moved corrupt journal to '{}'.", corrupt.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Couldn't move corrupt journal to '{}'. Cause {}.", corrupt.toAbsolutePath(),
+                    e.getMessage());
+        }
+    }
+
+    private void importJsonFile(File jsonFile) {
+        Gson internalMapper = new GsonBuilder()
+                .registerTypeHierarchyAdapter(Map.class, new StorageEntryMapDeserializer()).create();
+        try (Reader reader = new FileReader(jsonFile)) {
+            @SuppressWarnings("unchecked")
+            Map<String, StorageEntry> entries = internalMapper.fromJson(reader, map.getClass());
+            if (entries != null) {
+                entries.forEach((key, entry) -> put(key, entry.getEntityClassName(), (JsonElement) entry.getValue()));
+                logger.info("Initialized journal at '{}' with {} entries of Json storage file '{}'.",
+                        file.toAbsolutePath(), entries.size(), jsonFile.getAbsolutePath());
+            }
+        } catch (JsonSyntaxException | JsonIOException | IOException e) {
+            logger.error("Error reading JsonDB from {}. Cause {}.", jsonFile.getPath(), e.getMessage());
+        }
+    }
+
+    @Override
+    public @Nullable T put(String key, @Nullable T value) {
+        if (value == null) {
+            return remove(key);
+        }
+        return deserialize(put(key, value.getClass().getName(), entityMapper.toJsonTree(value)));
+    }
+
+    @Override
+    public void set(String key, @Nullable T value) {
+        if (value == null) {
+            synchronized (this) {
+                Entry previous = map.remove(key);
+                if (previous != null) {
+                    changed(key, previous);
+                }
+            }
+        } else {
+            put(key, value.getClass().getName(), entityMapper.toJsonTree(value));
+        }
+    }
+
+    private synchronized @Nullable Entry put(String key, String className, JsonElement json) {
+        Entry previous = map.put(key, new Entry(className, json));
+        changed(key, previous);
+        return previous;
+    }
+
+    @Override
+    public @Nullable T remove(String key) {
+        Entry previous;
+        synchronized (this) {
+            previous = map.remove(key);
+            if (previous != null) {
+                changed(key, previous);
+            }
+        }
+        return deserialize(previous);
+    }
+
+    private void changed(String key, @Nullable Entry previous) {
+        if (previous != null) {
+            garbage += previous.recordLength;
+        }
+        changedKeys.add(key);
+        deferredCommit();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public @Nullable T get(String key) {
+        return deserialize(map.get(key));
+    }
+
+    @Override
+    public Collection<String> getKeys() {
+        return map.keySet();
+    }
+
+    @Override
+    public Collection<@Nullable T> getValues() {
+        Collection<@Nullable T> values = new ArrayList<>();
+        for (Entry entry : map.values()) {
+            values.add(deserialize(entry));
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T deserialize(@Nullable Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        try {
+            ClassLoader loader = classLoader;
+            Class<T> type = (Class<T>) (loader == null ? Class.forName(entry.className)
+                    : loader.loadClass(entry.className));
+            T value = entityMapper.fromJson(entry.getJson(), type);
+            logger.trace("deserialized value '{}' from Json", value);
+            return value;
+        } catch (Exception e) {
+            logger.error("Couldn't deserialize value of class '{}'. Root cause is: {}", entry.className,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends the outstanding changes to the journal and compacts the journal if most of it is outdated.
+     */
+    public synchronized void flush() {
+        if (commitTimerTask != null) {
+            commitTimerTask.cancel();
+            commitTimerTask = null;
+        }
+        deferredSince = 0;
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<@Nullable Entry> entries = new ArrayList<>(changedKeys.size());
+            List<Record> records = new ArrayList<>(changedKeys.size());
+            for (String key : changedKeys) {
+                Entry entry = map.get(key);
+                entries.add(entry);
+                records.add(entry == null ? Record.remove(key) : entry.toRecord(key));
+            }
+            if (length == 0) {
+                // a new journal is written completely, so it doesn't start with a partially written record
+                write(JournalFile.replace(file, records), entries);
+                length = Files.size(file);
+            } else {
+                int[] lengths = JournalFile.append(file, length, records);
+                write(lengths, entries);
+                for (int recordLength : lengths) {
+                    length += recordLength;
+                }
+            }
+            changedKeys.clear();
+
+            if (length > MINIMUM_COMPACTION_LENGTH && garbage > length / 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            logger.error("Error writing journal to '{}'. Cause {}.", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private void write(int[] lengths, List<@Nullable Entry> entries) {
+        for (int i = 0; i < lengths.length; i++) {
+            Entry entry = entries.get(i);
+            if (entry == null) {
+                // the record of a removed key is outdated right away
+                garbage += lengths[i];
+            } else {
+                entry.recordLength = lengths[i];
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        long previousLength = length;
+        List<@Nullable Entry> entries = new ArrayList<>(map.size());
+        List<Record> records = new ArrayList<>(map.size());
+        map.forEach((key, entry) -> {
+            entries.add(entry);
+            records.add(entry.toRecord(key));
+        });
+        garbage = 0;
+        write(JournalFile.replace(file, records), entries);
+        length = Files.size(file);
+        logger.debug("Compacted journal at '{}' from {} to {} bytes.", file.toAbsolutePath(), previousLength, length);
+        exportJsonFile();
+    }
+
+    /**
+     * Writes all values to the JSON storage file, so the {@link JsonStorage} continues with them if the journal is
+     * disabled. The outstanding changes should be flushed before.
+     */
+    public synchronized void exportJsonFile() {
+        if (!Files.exists(file)) {
+            // nothing has been written to the journal, so the JSON storage file is still up to date
+            return;
+        }
+        Map<String, StorageEntry> entries = new TreeMap<>();
+        map.forEach((key, entry) -> entries.put(key, new StorageEntry(entry.className, entry.getJson())));
+        Path temporary = jsonFile.resolveSibling(jsonFile.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, jsonMapper.toJson(entries).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, jsonFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // not newer than the journal, so it isn't imported again when the journal is opened
+            Files.setLastModifiedTime(jsonFile, Files.getLastModifiedTime(file));
+            logger.debug("Exported {} entries of journal at '{}' to Json storage file '{}'.", entries.size(),
+                    file.toAbsolutePath(), jsonFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Error writing JsonDB to {}. Cause {}.", jsonFile, e.getMessage());
+        }
+    }
+
+    private class CommitTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            flush();
+        }
+    }
+
+    private synchronized void deferredCommit() {
+        if (commitTimerTask != null) {
+            commitTimerTask.cancel();
+            commitTimerTask = null;
+        }
+
+        // handle a maximum time for deferring the commit, which stops a pathological loop preventing saving
+        if (deferredSince != 0
+                && System.nanoTime() - deferredSince > TimeUnit.MILLISECONDS.toNanos(maxDeferredPeriod)) {
+            flush();
+            return;
+        }
+        if (deferredSince == 0) {
+            deferredSince = System.nanoTime();
+        }
+
+        commitTimerTask = new CommitTimerTask();
+        commitTimer.schedule(commitTimerTask, writeDelay);
+    }
+
+    /**
+     * A value of the storage, which is kept as the encoded JSON of the journal until it is requested.
+     */
+    private static class Entry {
+        final String className;
+        private @Nullable ByteBuffer encoded;
+        private @Nullable JsonElement json;
+
+        // the length of the record of this entry in the journal, 0 if it hasn't been written yet
+        volatile int recordLength;
+
+        Entry(String className, ByteBuffer encoded, int recordLength) {
+            this.className = className;
+            this.encoded = encoded;
+            this.recordLength = recordLength;
+        }
+
+        Entry(String className, JsonElement json) {
+            this.className = className;
+            this.json = json;
+        }
+
+        synchronized JsonElement getJson() {
+            JsonElement json = this.json;
+            if (json == null) {
+                json = new JsonParser().parse(StandardCharsets.UTF_8.decode(getEncoded()).toString());
+                this.json = json;
+            }
+            return json;
+        }
+
+        synchronized ByteBuffer getEncoded() {
+            ByteBuffer encoded = this.encoded;
+            if (encoded == null) {
+                encoded = ByteBuffer.wrap(String.valueOf(json).getBytes(StandardCharsets.UTF_8));
+                this.encoded = encoded;
+            }
+            return encoded.duplicate();
+        }
+
+        Record toRecord(String key) {
+            return Record.put(key, className, getEncoded());
+        }
+    }
+}
@@ -45,7 +45,9 @@ import com.google.gson.JsonSyntaxException;
  * deserializes the given values using JSON (generated by {@code Gson}). A
  * deferred write mechanism of WRITE_DELAY milliseconds is used to improve
  * performance. The service keeps backups in a /backup folder, and maintains a
- * maximum of MAX_FILES at any time
+ * maximum of MAX_FILES at any time. With value caching enabled the stored
+ * instances are kept and handed out on reads, and they are serialized only
+ * when the storage is written.
  *
  * @author Chris Jackson - Initial Contribution
  * @author Stefan Triller - Removed dependency to internal GSon packages
@@ -80,6 +82,8 @@ public class JsonStorage<T> implements Storage<T> {
 
     private boolean dirty = false;
 
+    private volatile boolean valueCaching = false;
+
     public JsonStorage(File file, ClassLoader classLoader, int maxBackupFiles, int writeDelay, int maxDeferredPeriod) {
         this.file = file;
         this.classLoader = classLoader;
@@ -136,8 +140,7 @@ public class JsonStorage<T> implements Storage<T> {
             return remove(key);
         }
 
-        StorageEntry val = new StorageEntry(value.getClass().getName(), entityMapper.toJsonTree(value));
-        StorageEntry previousValue = map.put(key, val);
+        StorageEntry previousValue = map.put(key, createEntry(value));
         deferredCommit();
 
         if (previousValue == null) {
@@ -147,6 +150,23 @@ public class JsonStorage<T> implements Storage<T> {
         return deserialize(previousValue);
     }
 
+    @Override
+    public void set(String key, @Nullable T value) {
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, createEntry(value));
+        }
+        deferredCommit();
+    }
+
+    private StorageEntry createEntry(T value) {
+        if (valueCaching) {
+            return StorageEntry.ofInstance(value.getClass().getName(), value);
+        }
+        return new StorageEntry(value.getClass().getName(), entityMapper.toJsonTree(value));
+    }
+
     @Override
     public @Nullable T remove(String key) {
         StorageEntry removedElement = map.remove(key);
@@ -179,12 +199,24 @@ public class JsonStorage<T> implements Storage<T> {
     @Override
     public Collection<@Nullable T> getValues() {
         Collection<@Nullable T> values = new ArrayList<>();
-        for (String key : getKeys()) {
-            values.add(get(key));
+        for (StorageEntry entry : map.values()) {
+            values.add(deserialize(entry));
         }
         return values;
     }
 
+    @Override
+    public synchronized void setValueCaching(boolean valueCaching) {
+        if (this.valueCaching && !valueCaching) {
+            // entries must not depend on instances any more which callers may now modify
+            for (StorageEntry entry : map.values()) {
+                serialize(entry);
+                entry.setInstance(null);
+            }
+        }
+        this.valueCaching = valueCaching;
+    }
+
     /**
      * Deserializes and instantiates an object of type {@code T} out of the given
      * JSON String. A special classloader (other than the one of the Json bundle) is
@@ -197,6 +229,11 @@ public class JsonStorage<T> implements Storage<T> {
             return null;
         }
 
+        Object instance = entry.getInstance();
+        if (instance != null) {
+            return (T) instance;
+        }
+
         @Nullable
         T value = null;
         try {
@@ -210,6 +247,9 @@ public class JsonStorage<T> implements Storage<T> {
 
             value = entityMapper.fromJson((JsonElement) entry.getValue(), loadedValueType);
             logger.trace("deserialized value '{}' from Json", value);
+            if (valueCaching) {
+                entry.setInstance(value);
+            }
         } catch (Exception e) {
             logger.error("Couldn't deserialize value '{}'. Root cause is: {}", entry, e.getMessage());
         }
@@ -217,6 +257,12 @@ public class JsonStorage<T> implements Storage<T> {
         return value;
     }
 
+    private void serialize(StorageEntry entry) {
+        if (entry.getValue() == null) {
+            entry.setValue(entityMapper.toJsonTree(entry.getInstance()));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private @Nullable Map<String, StorageEntry> readDatabase(File inputFile) {
         try {
@@ -295,7 +341,13 @@ public class JsonStorage<T> implements Storage<T> {
         }
 
         if (dirty) {
-            String json = internalMapper.toJson(map);
+            Map<String, StorageEntry> entries = map;
+            if (valueCaching) {
+                // entries put while writing must not end up in the file before they are serialized
+                entries = new ConcurrentHashMap<>(map);
+                entries.values().forEach(this::serialize);
+            }
+            String json = internalMapper.toJson(entries);
 
             synchronized (map) {
                 // Write the database file
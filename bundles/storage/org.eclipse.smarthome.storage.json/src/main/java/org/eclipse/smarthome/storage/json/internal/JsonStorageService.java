@@ -32,6 +32,9 @@ import org.slf4j.LoggerFactory;
  * This implementation of {@link StorageService} provides a mechanism to store
  * data in Json files.
  *
+ * If the journal is enabled, the data is stored in append-only journals instead, see {@link JournalStorage}. The
+ * setting is only read on activation, so all consumers switch to the new storages together when it changes.
+ *
  * @author Chris Jackson - Initial Contribution
  */
 @Component(name = "org.eclipse.smarthome.storage.json", immediate = true, property = { //
@@ -43,6 +46,7 @@ import org.slf4j.LoggerFactory;
 public class JsonStorageService implements StorageService {
 
     private static final int MAX_FILENAME_LENGTH = 127;
+    private static final String JOURNAL_EXTENSION = ".journal";
 
     private final Logger logger = LoggerFactory.getLogger(JsonStorageService.class);
 
@@ -52,12 +56,15 @@ public class JsonStorageService implements StorageService {
     private final String CFG_MAX_BACKUP_FILES = "backup_files";
     private final String CFG_WRITE_DELAY = "write_delay";
     private final String CFG_MAX_DEFER_DELAY = "max_defer_delay";
+    private final String CFG_JOURNAL = "journal";
 
     private int maxBackupFiles = 5;
     private int writeDelay = 500;
     private int maxDeferredPeriod = 60000;
+    private boolean journal = false;
 
     private final Map<String, JsonStorage<Object>> storageList = new HashMap<String, JsonStorage<Object>>();
+    private final Map<String, JournalStorage<Object>> journalList = new HashMap<String, JournalStorage<Object>>();
 
     @Activate
     protected void activate(ComponentContext cContext, Map<String, Object> properties) {
@@ -100,6 +107,9 @@ public class JsonStorageService implements StorageService {
             logger.error("Value {} for {} is invalid. Using {}.", properties.get(CFG_MAX_DEFER_DELAY),
                     CFG_MAX_DEFER_DELAY, maxDeferredPeriod);
         }
+        if (properties.get(CFG_JOURNAL) != null) {
+            journal = Boolean.parseBoolean(properties.get(CFG_JOURNAL).toString());
+        }
     }
 
     @Deactivate
@@ -108,6 +118,11 @@ public class JsonStorageService implements StorageService {
         for (JsonStorage<Object> storage : storageList.values()) {
             storage.flush();
         }
+        // and keep the Json files up to date in case the journal is disabled
+        for (JournalStorage<Object> storage : journalList.values()) {
+            storage.flush();
+            storage.exportJsonFile();
+        }
         logger.debug("Json Storage Service: Deactivated.");
     }
 
@@ -122,6 +137,18 @@ public class JsonStorageService implements StorageService {
             file = legacyFile;
         }
 
+        if (journal) {
+            JournalStorage<T> newStorage = new JournalStorage<T>(
+                    new File(dbFolderName, urlEscapeUnwantedChars(name) + JOURNAL_EXTENSION), file, classLoader,
+                    writeDelay, maxDeferredPeriod);
+
+            JournalStorage<Object> oldStorage = journalList.put(name, (JournalStorage<Object>) newStorage);
+            if (oldStorage != null) {
+                oldStorage.flush();
+            }
+            return newStorage;
+        }
+
         JsonStorage<T> newStorage = new JsonStorage<T>(file, classLoader, maxBackupFiles, writeDelay,
                 maxDeferredPeriod);
 
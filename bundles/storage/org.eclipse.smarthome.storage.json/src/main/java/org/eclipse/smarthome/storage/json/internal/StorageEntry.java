@@ -24,19 +24,61 @@ public class StorageEntry {
 
     @SerializedName("class") // in order to stay backwards compatible
     private final String entityClassName;
-    private final Object value;
+    private volatile Object value;
+
+    // the restored or not yet serialized entity, never written to the file
+    private transient volatile Object instance;
 
     public StorageEntry(String entityClassName, Object value) {
         this.entityClassName = entityClassName;
         this.value = value;
     }
 
+    private StorageEntry(String entityClassName, Object value, Object instance) {
+        this.entityClassName = entityClassName;
+        this.value = value;
+        this.instance = instance;
+    }
+
+    /**
+     * Creates an entry holding the given entity, whose json value is set only when the storage is written.
+     *
+     * @param entityClassName the class name of the entity
+     * @param instance the entity
+     * @return the new entry
+     */
+    static StorageEntry ofInstance(String entityClassName, Object instance) {
+        return new StorageEntry(entityClassName, null, instance);
+    }
+
     public String getEntityClassName() {
         return entityClassName;
     }
 
+    /**
+     * Returns the json value of this entry.
+     *
+     * @return the json value or null if the entity has not been serialized yet
+     */
     public Object getValue() {
         return value;
     }
 
+    void setValue(Object value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the entity held by this entry.
+     *
+     * @return the entity or null if it has not been restored yet
+     */
+    Object getInstance() {
+        return instance;
+    }
+
+    void setInstance(Object instance) {
+        this.instance = instance;
+    }
+
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.unit.SIUnits;
+import org.junit.Test;
+
+public class LabelFormatTest {
+
+    @Test
+    public void plainLabel() {
+        LabelFormat labelFormat = new LabelFormat(" Label ", pattern -> "-");
+
+        assertNull(labelFormat.getPattern());
+        assertNull(labelFormat.getValuePattern());
+        assertNull(labelFormat.getUndefinedValue());
+        assertEquals("Label", labelFormat.getPlainLabel());
+    }
+
+    @Test
+    public void emptyPattern() {
+        LabelFormat labelFormat = new LabelFormat("Label []", pattern -> "-");
+
+        assertEquals("", labelFormat.getPattern());
+        assertEquals("Label", labelFormat.getPlainLabel());
+        assertNull(labelFormat.getUndefinedValue());
+    }
+
+    @Test
+    public void decimalPattern() {
+        LabelFormat labelFormat = new LabelFormat("Label [%d items]", pattern -> "undefined " + pattern);
+
+        assertTrue(labelFormat.isDecimal());
+        assertEquals("%d items", labelFormat.getPattern());
+        assertEquals("%.0f items", labelFormat.getValuePattern());
+        assertEquals("undefined %.0f items", labelFormat.getUndefinedValue());
+        assertEquals("Label [", labelFormat.getPrefix());
+        assertEquals("20 items", labelFormat.format(new DecimalType(20)));
+    }
+
+    @Test
+    public void unitPattern() {
+        LabelFormat labelFormat = new LabelFormat("Temperature [%.0f °C]", pattern -> "-");
+
+        assertFalse(labelFormat.isDecimal());
+        assertEquals(SIUnits.CELSIUS, labelFormat.getUnit());
+        assertEquals("21 °C", labelFormat.format(new DecimalType(21)));
+    }
+
+    @Test
+    public void transformationPattern() {
+        LabelFormat labelFormat = new LabelFormat("Label [MAP(de.map):%s]", pattern -> "-");
+
+        assertNull(labelFormat.getUnit());
+        assertEquals("MAP(de.map):State", labelFormat.format(new StringType("State")));
+    }
+
+}
@@ -12,8 +12,6 @@
  */
 package org.eclipse.smarthome.ui.internal.items;
 
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -21,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -55,7 +54,6 @@ import org.eclipse.smarthome.core.library.items.PlayerItem;
 import org.eclipse.smarthome.core.library.items.RollershutterItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
-import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.NextPreviousType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -130,6 +128,12 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
     private final Map<Widget, Widget> defaultWidgets = Collections.synchronizedMap(new WeakHashMap<Widget, Widget>());
 
+    /* the maximum number of compiled labels and conditions kept, a sitemap usually has far less */
+    private static final int MAX_COMPILED_ENTRIES = 10000;
+
+    private final Map<String, LabelFormat> labelFormats = new ConcurrentHashMap<>();
+    private final Map<String, StateCondition> stateConditions = new ConcurrentHashMap<>();
+
     public ItemUIRegistryImpl() {
     }
 
@@ -318,7 +322,8 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         String labelMappedOption = null;
         State state = null;
         StateDescription stateDescription = null;
-        String formatPattern = getFormatPattern(label);
+        LabelFormat labelFormat = getLabelFormat(label);
+        String formatPattern = labelFormat.getPattern();
 
         // now insert the value, if the state is a string or decimal value and there is some formatting pattern defined
         // in the label
@@ -337,37 +342,31 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
             // provided by the channel state description provider.
             stateDescription = item.getStateDescription();
             if (formatPattern == null && stateDescription != null && stateDescription.getPattern() != null) {
-                label = label + " [" + stateDescription.getPattern() + "]";
+                labelFormat = getLabelFormat(label + " [" + stateDescription.getPattern() + "]");
             }
 
-            String updatedPattern = getFormatPattern(label);
-            if (updatedPattern != null) {
-                formatPattern = updatedPattern;
+            if (labelFormat.getPattern() != null) {
+                formatPattern = labelFormat.getValuePattern();
                 state = item.getState();
 
-                if (formatPattern.contains("%d")) {
-                    if (!(state instanceof Number)) {
-                        // States which do not provide a Number will be converted to DecimalType.
-                        // e.g.: GroupItem can provide a count of items matching the active state
-                        // for some group functions.
-                        state = item.getStateAs(DecimalType.class);
-                    }
-
-                    // for fraction digits in state we dont want to risk format exceptions,
-                    // so treat everything as floats:
-                    formatPattern = formatPattern.replaceAll("\\%d", "%.0f");
+                if (labelFormat.isDecimal() && !(state instanceof Number)) {
+                    // States which do not provide a Number will be converted to DecimalType.
+                    // e.g.: GroupItem can provide a count of items matching the active state
+                    // for some group functions.
+                    state = item.getStateAs(DecimalType.class);
                 }
             }
         } catch (ItemNotFoundException e) {
             logger.error("Cannot retrieve item for widget {}", w.eClass().getInstanceTypeName());
         }
 
+        label = labelFormat.getLabel();
         if (formatPattern != null) {
             if (formatPattern.isEmpty()) {
-                label = label.substring(0, label.indexOf("[")).trim();
+                label = labelFormat.getPlainLabel();
             } else {
                 if (state == null || state instanceof UnDefType) {
-                    formatPattern = formatUndefined(formatPattern);
+                    formatPattern = labelFormat.getUndefinedValue();
                 } else if (state instanceof Type) {
                     // if the channel contains options, we build a label with the mapped option value
                     if (stateDescription != null && stateDescription.getOptions() != null) {
@@ -376,9 +375,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                                 State stateOption = new StringType(option.getLabel());
                                 try {
                                     String formatPatternOption = stateOption.format(formatPattern);
-                                    labelMappedOption = label.trim();
-                                    labelMappedOption = labelMappedOption.substring(0,
-                                            labelMappedOption.indexOf("[") + 1) + formatPatternOption + "]";
+                                    labelMappedOption = labelFormat.getPrefix() + formatPatternOption + "]";
                                 } catch (IllegalArgumentException e) {
                                     logger.debug(
                                             "Mapping option value '{}' for item {} using format '{}' failed ({}); mapping is ignored",
@@ -395,7 +392,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                         // sanity convert current state to the item state description unit in case it was updated in the
                         // meantime. The item state is still in the "original" unit while the state description will
                         // display the new unit:
-                        Unit<?> patternUnit = UnitUtils.parseUnit(formatPattern);
+                        Unit<?> patternUnit = labelFormat.getUnit();
                         if (patternUnit != null && !quantityState.getUnit().equals(patternUnit)) {
                             quantityState = quantityState.toUnit(patternUnit);
                         }
@@ -410,7 +407,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                     // Without this catch, the whole sitemap, or page can not be displayed!
                     // This also handles IllegalFormatConversionException, which is a subclass of IllegalArgument.
                     try {
-                        formatPattern = fillFormatPattern(formatPattern, state);
+                        formatPattern = labelFormat.format(state);
                     } catch (IllegalArgumentException e) {
                         logger.warn("Exception while formatting value '{}' of item {} with format '{}': {}", state,
                                 itemName, formatPattern, e.getMessage());
@@ -418,8 +415,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                     }
                 }
 
-                label = label.trim();
-                label = label.substring(0, label.indexOf("[") + 1) + formatPattern + "]";
+                label = labelFormat.getPrefix() + formatPattern + "]";
             }
         }
 
@@ -427,7 +423,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     }
 
     private QuantityType<?> convertStateToWidgetUnit(QuantityType<?> quantityState, @NonNull Widget w) {
-        Unit<?> widgetUnit = UnitUtils.parseUnit(getFormatPattern(w.getLabel()));
+        Unit<?> widgetUnit = w.getLabel() != null ? getLabelFormat(w.getLabel()).getUnit() : null;
         if (widgetUnit != null && !widgetUnit.equals(quantityState.getUnit())) {
             return quantityState.toUnit(widgetUnit);
         }
@@ -435,6 +431,24 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         return quantityState;
     }
 
+    /**
+     * Returns the compiled form of the given label. Labels are compiled once and then shared by all widgets (and
+     * renderings) using the same label text.
+     *
+     * @param label the label
+     * @return the compiled label
+     */
+    private LabelFormat getLabelFormat(String label) {
+        LabelFormat labelFormat = labelFormats.get(label);
+        if (labelFormat == null) {
+            if (labelFormats.size() >= MAX_COMPILED_ENTRIES) {
+                labelFormats.clear();
+            }
+            labelFormat = labelFormats.computeIfAbsent(label, l -> new LabelFormat(l, this::formatUndefined));
+        }
+        return labelFormat;
+    }
+
     private String getFormatPattern(String label) {
         if (label == null) {
             return null;
@@ -535,22 +549,6 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         return ret;
     }
 
-    private String fillFormatPattern(String formatPattern, Type state) throws IllegalArgumentException {
-        String ret = formatPattern;
-        if (ret != null && state != null) {
-            Matcher matcher = EXTRACT_TRANSFORMFUNCTION_PATTERN_WITHOUT_SQUARE_BRACKETS.matcher(ret);
-            if (matcher.find()) {
-                String type = matcher.group(1);
-                String pattern = matcher.group(2);
-                String value = matcher.group(3);
-                ret = type + "(" + pattern + "):" + state.format(value);
-            } else {
-                ret = state.format(formatPattern);
-            }
-        }
-        return ret;
-    }
-
     @Override
     public String getCategory(Widget w) {
         String widgetTypeName = w.eClass().getInstanceTypeName()
@@ -902,149 +900,15 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     }
 
     private boolean matchStateToValue(State state, String value, String matchCondition) {
-        // Check if the value is equal to the supplied value
-        boolean matched = false;
-
-        // Remove quotes - this occurs in some instances where multiple types
-        // are defined in the xtext definitions
-        String unquotedValue = value;
-        if (unquotedValue.startsWith("\"") && unquotedValue.endsWith("\"")) {
-            unquotedValue = unquotedValue.substring(1, unquotedValue.length() - 1);
-        }
-
-        // Convert the condition string into enum
-        Condition condition = Condition.EQUAL;
-        if (matchCondition != null) {
-            condition = Condition.fromString(matchCondition);
-            if (condition == null) {
-                logger.warn("matchStateToValue: unknown match condition '{}'", matchCondition);
-                return matched;
-            }
-        }
-
-        if (unquotedValue.equals(UnDefType.NULL.toString()) || unquotedValue.equals(UnDefType.UNDEF.toString())) {
-            switch (condition) {
-                case EQUAL:
-                    if (unquotedValue.equals(state.toString())) {
-                        matched = true;
-                    }
-                    break;
-                case NOT:
-                case NOTEQUAL:
-                    if (!unquotedValue.equals(state.toString())) {
-                        matched = true;
-                    }
-                    break;
-                default:
-                    break;
-            }
-        } else {
-            if (state instanceof DecimalType || state instanceof QuantityType<?>) {
-                try {
-                    double compareDoubleValue = Double.parseDouble(unquotedValue);
-                    double stateDoubleValue;
-                    if (state instanceof DecimalType) {
-                        stateDoubleValue = ((DecimalType) state).doubleValue();
-                    } else {
-                        stateDoubleValue = ((QuantityType<?>) state).doubleValue();
-                    }
-                    switch (condition) {
-                        case EQUAL:
-                            if (stateDoubleValue == compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                        case LTE:
-                            if (stateDoubleValue <= compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                        case GTE:
-                            if (stateDoubleValue >= compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                        case GREATER:
-                            if (stateDoubleValue > compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                        case LESS:
-                            if (stateDoubleValue < compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                        case NOT:
-                        case NOTEQUAL:
-                            if (stateDoubleValue != compareDoubleValue) {
-                                matched = true;
-                            }
-                            break;
-                    }
-                } catch (NumberFormatException e) {
-                    logger.debug("matchStateToValue: Decimal format exception: ", e);
-                }
-            } else if (state instanceof DateTimeType) {
-                ZonedDateTime val = ((DateTimeType) state).getZonedDateTime();
-                ZonedDateTime now = ZonedDateTime.now();
-                long secsDif = ChronoUnit.SECONDS.between(val, now);
-
-                try {
-                    switch (condition) {
-                        case EQUAL:
-                            if (secsDif == Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                        case LTE:
-                            if (secsDif <= Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                        case GTE:
-                            if (secsDif >= Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                        case GREATER:
-                            if (secsDif > Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                        case LESS:
-                            if (secsDif < Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                        case NOT:
-                        case NOTEQUAL:
-                            if (secsDif != Integer.parseInt(unquotedValue)) {
-                                matched = true;
-                            }
-                            break;
-                    }
-                } catch (NumberFormatException e) {
-                    logger.debug("matchStateToValue: Decimal format exception: ", e);
-                }
-            } else {
-                // Strings only allow = and !=
-                switch (condition) {
-                    case NOT:
-                    case NOTEQUAL:
-                        if (!unquotedValue.equals(state.toString())) {
-                            matched = true;
-                        }
-                        break;
-                    default:
-                        if (unquotedValue.equals(state.toString())) {
-                            matched = true;
-                        }
-                        break;
-                }
+        String key = matchCondition != null ? matchCondition + ' ' + value : value;
+        StateCondition stateCondition = stateConditions.get(key);
+        if (stateCondition == null) {
+            if (stateConditions.size() >= MAX_COMPILED_ENTRIES) {
+                stateConditions.clear();
             }
+            stateCondition = stateConditions.computeIfAbsent(key, k -> new StateCondition(value, matchCondition));
         }
-
-        return matched;
+        return stateCondition.matches(state);
     }
 
     private String processColorDefinition(State state, List<ColorArray> colorList) {
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.core.types.util.UnitUtils;
+
+/**
+ * The {@link LabelFormat} is the compiled form of a widget label. Everything which only depends on the label text -
+ * the format pattern, its unit, the optional transformation and the text for undefined states - is derived once, so
+ * rendering a label only has to format the current state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class LabelFormat {
+
+    private final String label;
+    private final @Nullable String pattern;
+    private final String prefix;
+    private final String plainLabel;
+    private final boolean decimal;
+    private final @Nullable String valuePattern;
+    private final @Nullable String undefinedValue;
+    private final @Nullable Unit<?> unit;
+    private final String transformationPrefix;
+    private final @Nullable String statePattern;
+
+    /**
+     * Compiles the given label.
+     *
+     * @param label the label, optionally followed by a format pattern in square brackets
+     * @param undefinedFormatter creates the text shown for undefined states from the format pattern
+     */
+    LabelFormat(String label, UnaryOperator<String> undefinedFormatter) {
+        this.label = label;
+
+        String trimmedLabel = label.trim();
+        int indexOpenBracket = trimmedLabel.indexOf("[");
+        int indexCloseBracket = trimmedLabel.endsWith("]") ? trimmedLabel.length() - 1 : -1;
+        if (indexOpenBracket >= 0 && indexCloseBracket > indexOpenBracket) {
+            pattern = trimmedLabel.substring(indexOpenBracket + 1, indexCloseBracket);
+            prefix = trimmedLabel.substring(0, indexOpenBracket + 1);
+            plainLabel = trimmedLabel.substring(0, indexOpenBracket).trim();
+        } else {
+            pattern = null;
+            prefix = trimmedLabel;
+            plainLabel = trimmedLabel;
+        }
+
+        String pattern = this.pattern;
+        if (pattern == null || pattern.isEmpty()) {
+            decimal = false;
+            valuePattern = pattern;
+            undefinedValue = null;
+            unit = null;
+            transformationPrefix = "";
+            statePattern = null;
+            return;
+        }
+
+        // for fraction digits in state we dont want to risk format exceptions, so treat everything as floats
+        decimal = pattern.contains("%d");
+        String valuePattern = decimal ? pattern.replaceAll("\\%d", "%.0f") : pattern;
+        this.valuePattern = valuePattern;
+        undefinedValue = undefinedFormatter.apply(valuePattern);
+        unit = UnitUtils.parseUnit(valuePattern);
+
+        Matcher matcher = ItemUIRegistryImpl.EXTRACT_TRANSFORMFUNCTION_PATTERN_WITHOUT_SQUARE_BRACKETS
+                .matcher(valuePattern);
+        if (matcher.find()) {
+            transformationPrefix = matcher.group(1) + "(" + matcher.group(2) + "):";
+            statePattern = matcher.group(3);
+        } else {
+            transformationPrefix = "";
+            statePattern = valuePattern;
+        }
+    }
+
+    /**
+     * @return the label this format has been compiled from
+     */
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the format pattern within the square brackets of the label or <code>null</code> if there is none
+     */
+    @Nullable
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return the trimmed label up to and including the opening square bracket of the format pattern
+     */
+    String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return the trimmed label without the format pattern
+     */
+    String getPlainLabel() {
+        return plainLabel;
+    }
+
+    /**
+     * @return <code>true</code> if the format pattern expects a decimal value (i.e. contains "%d")
+     */
+    boolean isDecimal() {
+        return decimal;
+    }
+
+    /**
+     * @return the format pattern to be used for the state, with "%d" replaced by "%.0f"
+     */
+    @Nullable
+    String getValuePattern() {
+        return valuePattern;
+    }
+
+    /**
+     * @return the formatted text for an undefined state or <code>null</code> if the label has no format pattern
+     */
+    @Nullable
+    String getUndefinedValue() {
+        return undefinedValue;
+    }
+
+    /**
+     * @return the unit given at the end of the format pattern or <code>null</code> if there is none
+     */
+    @Nullable
+    Unit<?> getUnit() {
+        return unit;
+    }
+
+    /**
+     * Formats the given state with the format pattern. If the pattern calls a transformation (e.g. "MAP(en.map):%s")
+     * only the part after the colon is used to format the state.
+     *
+     * @param state the state to format
+     * @return the formatted state including the transformation call, if any
+     * @throws IllegalArgumentException if the state cannot be formatted with the pattern
+     */
+    String format(Type state) throws IllegalArgumentException {
+        String statePattern = this.statePattern;
+        if (statePattern == null) {
+            throw new IllegalStateException("The label '" + label + "' has no format pattern");
+        }
+        return transformationPrefix + state.format(statePattern);
+    }
+
+}
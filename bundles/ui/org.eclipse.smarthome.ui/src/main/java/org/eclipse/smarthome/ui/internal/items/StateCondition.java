@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.eclipse.smarthome.ui.internal.items.ItemUIRegistryImpl.Condition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link StateCondition} is the compiled form of the condition of a visibility or color rule. The value is
+ * unquoted and parsed as number once, so evaluating the rule only has to compare the current state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class StateCondition {
+
+    private final Logger logger = LoggerFactory.getLogger(StateCondition.class);
+
+    private final String value;
+    private final @Nullable Condition condition;
+    private final boolean undefined;
+    private final @Nullable Double doubleValue;
+    private final @Nullable Long longValue;
+
+    /**
+     * Compiles the given condition.
+     *
+     * @param value the value to compare the state with, optionally in quotes
+     * @param matchCondition the comparison operator, "==" if <code>null</code>
+     */
+    StateCondition(String value, @Nullable String matchCondition) {
+        // Remove quotes - this occurs in some instances where multiple types
+        // are defined in the xtext definitions
+        String unquotedValue = value;
+        if (unquotedValue.startsWith("\"") && unquotedValue.endsWith("\"")) {
+            unquotedValue = unquotedValue.substring(1, unquotedValue.length() - 1);
+        }
+        this.value = unquotedValue;
+
+        if (matchCondition != null) {
+            condition = Condition.fromString(matchCondition);
+            if (condition == null) {
+                logger.warn("matchStateToValue: unknown match condition '{}'", matchCondition);
+            }
+        } else {
+            condition = Condition.EQUAL;
+        }
+
+        undefined = unquotedValue.equals(UnDefType.NULL.toString()) || unquotedValue.equals(UnDefType.UNDEF.toString());
+        doubleValue = parseDouble(unquotedValue);
+        longValue = parseInteger(unquotedValue);
+    }
+
+    private static @Nullable Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static @Nullable Long parseInteger(String value) {
+        try {
+            return (long) Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the given state fulfills this condition.
+     *
+     * @param state the state to check
+     * @return <code>true</code> if the condition is fulfilled
+     */
+    boolean matches(State state) {
+        Condition condition = this.condition;
+        if (condition == null) {
+            return false;
+        }
+
+        if (undefined) {
+            switch (condition) {
+                case EQUAL:
+                    return value.equals(state.toString());
+                case NOT:
+                case NOTEQUAL:
+                    return !value.equals(state.toString());
+                default:
+                    return false;
+            }
+        }
+
+        if (state instanceof DecimalType || state instanceof QuantityType<?>) {
+            Double compareValue = doubleValue;
+            if (compareValue == null) {
+                logger.debug("matchStateToValue: Decimal format exception: '{}' is not a number", value);
+                return false;
+            }
+            double stateValue = state instanceof DecimalType ? ((DecimalType) state).doubleValue()
+                    : ((QuantityType<?>) state).doubleValue();
+            return compare(condition, stateValue, compareValue);
+        } else if (state instanceof DateTimeType) {
+            Long compareValue = longValue;
+            if (compareValue == null) {
+                logger.debug("matchStateToValue: Decimal format exception: '{}' is not an integer", value);
+                return false;
+            }
+            ZonedDateTime val = ((DateTimeType) state).getZonedDateTime();
+            long secsDif = ChronoUnit.SECONDS.between(val, ZonedDateTime.now());
+            return compare(condition, secsDif, compareValue);
+        } else {
+            // Strings only allow = and !=
+            switch (condition) {
+                case NOT:
+                case NOTEQUAL:
+                    return !value.equals(state.toString());
+                default:
+                    return value.equals(state.toString());
+            }
+        }
+    }
+
+    private static boolean compare(Condition condition, double stateValue, double compareValue) {
+        switch (condition) {
+            case EQUAL:
+                return stateValue == compareValue;
+            case LTE:
+                return stateValue <= compareValue;
+            case GTE:
+                return stateValue >= compareValue;
+            case GREATER:
+                return stateValue > compareValue;
+            case LESS:
+                return stateValue < compareValue;
+            case NOT:
+            case NOTEQUAL:
+                return stateValue != compareValue;
+            default:
+                return false;
+        }
+    }
+
+}
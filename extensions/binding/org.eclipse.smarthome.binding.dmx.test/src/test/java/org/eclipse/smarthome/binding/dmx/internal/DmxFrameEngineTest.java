@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.binding.dmx.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for DmxFrameEngine
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngineTest {
+
+    DmxFrameEngine frameEngine;
+    DmxBridgeHandler bridgeHandler;
+
+    @Before
+    public void setup() {
+        frameEngine = new DmxFrameEngine();
+        bridgeHandler = mock(DmxBridgeHandler.class);
+    }
+
+    @After
+    public void tearDown() {
+        frameEngine.unregister(bridgeHandler);
+    }
+
+    @Test
+    public void registeredBridgeSendsFrames() {
+        frameEngine.register(bridgeHandler, 10);
+        verify(bridgeHandler, timeout(1000).atLeast(3)).sendFrame();
+
+        frameEngine.unregister(bridgeHandler);
+        reset(bridgeHandler);
+        verify(bridgeHandler, after(100).never()).sendFrame();
+    }
+
+    @Test
+    public void failingBridgeDoesNotStopFrames() {
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("dmx:test:bridge"));
+        when(bridgeHandler.getThing()).thenReturn(bridge);
+        doThrow(new IllegalStateException()).when(bridgeHandler).sendFrame();
+        frameEngine.register(bridgeHandler, 10);
+        verify(bridgeHandler, timeout(1000).atLeast(3)).sendFrame();
+    }
+
+    @Test
+    public void frameTimePercentiles() {
+        assertThat(frameEngine.getFrameTimePercentile(50), is(0L));
+
+        for (int i = 1; i <= 100; i++) {
+            frameEngine.recordFrameTime(i);
+        }
+        assertThat(frameEngine.getFrameTimePercentile(50), is(50L));
+        assertThat(frameEngine.getFrameTimePercentile(99), is(99L));
+        assertThat(frameEngine.getFrameTimePercentile(100), is(100L));
+
+        // only the last samples are kept
+        for (int i = 0; i < DmxFrameEngine.FRAME_TIME_SAMPLES; i++) {
+            frameEngine.recordFrameTime(1000);
+        }
+        assertThat(frameEngine.getFrameTimePercentile(0), is(1000L));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.binding.dmx.multiverse;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.eclipse.smarthome.binding.dmx.internal.multiverse.BaseDmxChannel;
+import org.eclipse.smarthome.binding.dmx.internal.multiverse.DmxChannel;
+import org.eclipse.smarthome.binding.dmx.internal.multiverse.Universe;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests cases for Universe
+ *
+ * @author agent - Initial contribution
+ */
+public class UniverseTest {
+
+    Universe universe;
+    DmxChannel dmxChannel;
+    long currentTime;
+
+    @Before
+    public void setup() {
+        universe = new Universe(0);
+        dmxChannel = universe.registerChannel(new BaseDmxChannel(0, 5), Mockito.mock(Thing.class));
+        currentTime = System.currentTimeMillis();
+    }
+
+    @Test
+    public void copyBufferReturnsCalculatedValues() {
+        dmxChannel.setValue(100);
+        universe.calculateBuffer(currentTime);
+
+        byte[] payload = new byte[Universe.MAX_UNIVERSE_SIZE];
+        int payloadSize = universe.copyBuffer(payload);
+
+        assertThat(payloadSize, is(universe.getBufferSize()));
+        assertThat(payload[4], is((byte) 100));
+        assertThat(universe.getBuffer()[4], is((byte) 100));
+        assertThat(universe.getLastBufferChanged(), is(currentTime));
+    }
+
+    @Test
+    public void unchangedChannelIsNotRecalculated() {
+        dmxChannel.setValue(100);
+        assertThat(dmxChannel.needsCalculation(), is(true));
+
+        universe.calculateBuffer(currentTime);
+        assertThat(dmxChannel.needsCalculation(), is(false));
+
+        dmxChannel.setValue(50);
+        assertThat(dmxChannel.needsCalculation(), is(true));
+
+        universe.calculateBuffer(currentTime + 2000);
+        assertThat(universe.getBuffer()[4], is((byte) 50));
+        assertThat(dmxChannel.needsCalculation(), is(false));
+    }
+
+    @Test
+    public void throttledStateUpdateKeepsChannelDirty() {
+        dmxChannel.setValue(100);
+        universe.calculateBuffer(currentTime);
+
+        // state updates are limited to one per refresh time, so the new value is not reported yet
+        dmxChannel.setValue(50);
+        universe.calculateBuffer(currentTime + 10);
+        assertThat(universe.getBuffer()[4], is((byte) 50));
+        assertThat(dmxChannel.needsCalculation(), is(true));
+
+        universe.calculateBuffer(currentTime + 2000);
+        assertThat(dmxChannel.needsCalculation(), is(false));
+    }
+
+    @Test
+    public void dimCurveChangeRecalculatesAllChannels() {
+        dmxChannel.setValue(128);
+        universe.calculateBuffer(currentTime);
+        assertThat(universe.getBuffer()[4], is((byte) 128));
+
+        universe.setDimCurveChannels("5");
+        universe.calculateBuffer(currentTime + 2000);
+        assertThat(universe.getBuffer()[4], is(not((byte) 128)));
+    }
+}
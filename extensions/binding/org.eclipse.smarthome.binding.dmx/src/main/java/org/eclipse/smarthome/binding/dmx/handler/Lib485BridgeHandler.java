@@ -20,11 +20,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.smarthome.binding.dmx.internal.DmxBridgeHandler;
 import org.eclipse.smarthome.binding.dmx.internal.config.Lib485BridgeHandlerConfiguration;
 import org.eclipse.smarthome.binding.dmx.internal.dmxoverethernet.IpNode;
 import org.eclipse.smarthome.binding.dmx.internal.multiverse.Universe;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
@@ -34,7 +38,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link Lib485BridgeHandler} is responsible for communication with
- * an Lib485 instance
+ * an Lib485 instance. The blocking TCP writes run on their own pool, so a stalled receiver does not delay the frames
+ * of other bridges.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -45,8 +50,13 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
     public static final int MAX_UNIVERSE_ID = 0;
     public static final int DEFAULT_PORT = 9020;
 
+    private static final String WRITE_THREAD_POOL_NAME = "dmx-lib485";
+
     private final Logger logger = LoggerFactory.getLogger(Lib485BridgeHandler.class);
     private final Map<IpNode, Socket> receiverNodes = new HashMap<IpNode, Socket>();
+    private final byte[] payload = new byte[Universe.MAX_UNIVERSE_SIZE];
+    private final ExecutorService writeExecutor = ThreadPoolManager.getPool(WRITE_THREAD_POOL_NAME);
+    private volatile Future<?> pendingWrite = null;
 
     public Lib485BridgeHandler(Bridge lib485Bridge) {
         super(lib485Bridge);
@@ -83,6 +93,8 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
 
     @Override
     protected void closeConnection() {
+        // a write still pending fails with the closed sockets, it must not close the next connection
+        pendingWrite = null;
         for (IpNode receiverNode : receiverNodes.keySet()) {
             Socket socket = receiverNodes.get(receiverNode);
             if ((socket != null) && (!socket.isClosed())) {
@@ -100,29 +112,64 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
     @Override
     protected void sendDmxData() {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
+            Future<?> pendingWrite = this.pendingWrite;
+            if (pendingWrite != null) {
+                if (!pendingWrite.isDone()) {
+                    logger.trace("previous frame is still being sent in {}, skipping frame", this.thing.getUID());
+                    return;
+                }
+                try {
+                    pendingWrite.get();
+                } catch (ExecutionException e) {
+                    closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    this.pendingWrite = null;
+                }
+            }
             long now = System.currentTimeMillis();
             universe.calculateBuffer(now);
-            for (IpNode receiverNode : receiverNodes.keySet()) {
-                Socket socket = receiverNodes.get(receiverNode);
-                if (socket.isConnected()) {
-                    try {
-                        socket.getOutputStream().write(universe.getBuffer());
-                    } catch (IOException e) {
-                        logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
-                                e.getMessage());
-                        closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
-                        return;
-                    }
-                } else {
+            int payloadSize = universe.copyBuffer(payload);
+            for (Socket socket : receiverNodes.values()) {
+                if (!socket.isConnected()) {
                     closeConnection(ThingStatusDetail.NONE, "reconnect");
                     return;
                 }
             }
+            this.pendingWrite = writeExecutor.submit(() -> {
+                writePayload(payloadSize);
+                return null;
+            });
         } else {
             openConnection();
         }
     }
 
+    /**
+     * write the payload to all receivers, called on the write pool
+     *
+     * @param payloadSize number of bytes to write
+     * @throws IOException if sending to one of the receivers failed
+     */
+    private void writePayload(int payloadSize) throws IOException {
+        for (Map.Entry<IpNode, Socket> receiverNode : receiverNodes.entrySet()) {
+            Socket socket = receiverNode.getValue();
+            if (socket == null) {
+                throw new IOException("socket closed");
+            }
+            try {
+                socket.getOutputStream().write(payload, 0, payloadSize);
+            } catch (IOException e) {
+                logger.debug("Could not send to {} in {}: {}", receiverNode.getKey(), this.thing.getUID(),
+                        e.getMessage());
+                throw e;
+            }
+        }
+    }
+
     @Override
     protected void updateConfiguration() {
         Lib485BridgeHandlerConfiguration configuration = getConfig().as(Lib485BridgeHandlerConfiguration.class);
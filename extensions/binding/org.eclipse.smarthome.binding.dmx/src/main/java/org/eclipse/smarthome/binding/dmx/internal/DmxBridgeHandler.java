@@ -18,8 +18,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.binding.dmx.action.DmxActions;
 import org.eclipse.smarthome.binding.dmx.internal.action.FadeAction;
@@ -55,8 +53,8 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
 
     protected Universe universe;
 
-    private ScheduledFuture<?> senderJob;
-    private boolean isMuted = false;
+    private boolean isScheduled = false;
+    private volatile boolean isMuted = false;
     private int refreshTime = 1000 / DEFAULT_REFRESH_RATE;
 
     public DmxBridgeHandler(Bridge dmxBridge) {
@@ -148,23 +146,31 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
      */
     protected abstract void sendDmxData();
 
+    /**
+     * send the next frame, called by the {@link DmxFrameEngine}
+     */
+    void sendFrame() {
+        if (logger.isTraceEnabled()) {
+            logger.trace("runnable packet sender for universe {} called, state {}/{}", universe.getUniverseId(),
+                    getThing().getStatus(), isMuted);
+        }
+        if (!isMuted) {
+            sendDmxData();
+        } else {
+            logger.trace("bridge {} is muted", getThing().getUID());
+        }
+    }
+
     /**
      * install the sending and updating scheduler
      */
     protected void installScheduler() {
-        if (senderJob != null) {
+        if (isScheduled) {
             uninstallScheduler();
         }
         if (refreshTime > 0) {
-            senderJob = scheduler.scheduleAtFixedRate(() -> {
-                logger.trace("runnable packet sender for universe {} called, state {}/{}", universe.getUniverseId(),
-                        getThing().getStatus(), isMuted);
-                if (!isMuted) {
-                    sendDmxData();
-                } else {
-                    logger.trace("bridge {} is muted", getThing().getUID());
-                }
-            }, 1, refreshTime, TimeUnit.MILLISECONDS);
+            DmxFrameEngine.getInstance().register(this, refreshTime);
+            isScheduled = true;
             logger.trace("started scheduler for thing {}", this.thing.getUID());
         } else {
             logger.info("refresh disabled for thing {}", this.thing.getUID());
@@ -175,11 +181,9 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
      * uninstall the sending and updating scheduler
      */
     protected void uninstallScheduler() {
-        if (senderJob != null) {
-            if (!senderJob.isCancelled()) {
-                senderJob.cancel(true);
-            }
-            senderJob = null;
+        if (isScheduled) {
+            DmxFrameEngine.getInstance().unregister(this);
+            isScheduled = false;
             closeConnection();
             logger.trace("stopping scheduler for thing {}", this.thing.getUID());
         }
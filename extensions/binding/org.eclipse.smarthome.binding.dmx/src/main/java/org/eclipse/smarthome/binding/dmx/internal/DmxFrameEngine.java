@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.binding.dmx.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link DmxFrameEngine} sends the DMX frames of all bridges from the shared DMX scheduler. Bridges with the same
+ * refresh time share one job, so all their universes are calculated and sent in the same tick. The duration of each
+ * tick is recorded to provide frame time percentiles.
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngine {
+    public static final int FRAME_TIME_SAMPLES = 1024;
+
+    private static final String THREAD_POOL_NAME = "dmx";
+
+    private static final DmxFrameEngine INSTANCE = new DmxFrameEngine();
+
+    private final Logger logger = LoggerFactory.getLogger(DmxFrameEngine.class);
+
+    private final Map<Integer, FrameGroup> frameGroups = new HashMap<>();
+    private final Map<DmxBridgeHandler, FrameGroup> bridgeGroups = new HashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
+
+    private final long[] frameTimes = new long[FRAME_TIME_SAMPLES];
+    private long frameCount = 0;
+
+    /**
+     * all bridges sharing a refresh time
+     */
+    private class FrameGroup implements Runnable {
+        private final List<DmxBridgeHandler> bridges = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> job;
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            for (DmxBridgeHandler bridge : bridges) {
+                try {
+                    bridge.sendFrame();
+                } catch (RuntimeException e) {
+                    logger.warn("sending DMX frame for bridge {} failed: {}", bridge.getThing().getUID(),
+                            e.getMessage(), e);
+                }
+            }
+            recordFrameTime(System.nanoTime() - start);
+        }
+    }
+
+    DmxFrameEngine() {
+    }
+
+    /**
+     * get the frame engine shared by all bridges
+     *
+     * @return the frame engine
+     */
+    public static DmxFrameEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * register a bridge for sending its frames, replaces a previous registration of the same bridge
+     *
+     * @param bridge the bridge whose {@link DmxBridgeHandler#sendFrame()} shall be called
+     * @param refreshTime time in ms between two frames
+     */
+    public synchronized void register(DmxBridgeHandler bridge, int refreshTime) {
+        removeFromGroup(bridge);
+        FrameGroup group = frameGroups.get(refreshTime);
+        if (group == null) {
+            group = new FrameGroup();
+            group.job = scheduler.scheduleAtFixedRate(group, 1, refreshTime, TimeUnit.MILLISECONDS);
+            frameGroups.put(refreshTime, group);
+            logger.debug("started frame job with refresh time {} ms", refreshTime);
+        }
+        group.bridges.add(bridge);
+        bridgeGroups.put(bridge, group);
+    }
+
+    /**
+     * stop sending frames for a bridge
+     *
+     * @param bridge the bridge to unregister
+     */
+    public synchronized void unregister(DmxBridgeHandler bridge) {
+        removeFromGroup(bridge);
+    }
+
+    private void removeFromGroup(DmxBridgeHandler bridge) {
+        FrameGroup group = bridgeGroups.remove(bridge);
+        if (group != null) {
+            group.bridges.remove(bridge);
+            if (group.bridges.isEmpty()) {
+                group.job.cancel(false);
+                frameGroups.values().remove(group);
+            }
+        }
+    }
+
+    synchronized void recordFrameTime(long frameTime) {
+        frameTimes[(int) (frameCount % FRAME_TIME_SAMPLES)] = frameTime;
+        frameCount++;
+        if (frameCount % FRAME_TIME_SAMPLES == 0 && logger.isDebugEnabled()) {
+            logger.debug("DMX frame times: p50 {} µs, p99 {} µs, max {} µs", getFrameTimePercentile(50) / 1000,
+                    getFrameTimePercentile(99) / 1000, getFrameTimePercentile(100) / 1000);
+        }
+    }
+
+    /**
+     * get a percentile of the duration of the last {@link #FRAME_TIME_SAMPLES} frames
+     *
+     * @param percentile the percentile (0-100)
+     * @return frame time in ns, 0 if no frame was sent yet
+     */
+    public synchronized long getFrameTimePercentile(double percentile) {
+        int samples = (int) Math.min(frameCount, FRAME_TIME_SAMPLES);
+        if (samples == 0) {
+            return 0;
+        }
+        long[] sortedFrameTimes = Arrays.copyOf(frameTimes, samples);
+        Arrays.sort(sortedFrameTimes);
+        int index = (int) Math.ceil(percentile / 100 * samples) - 1;
+        return sortedFrameTimes[Math.max(0, Math.min(index, samples - 1))];
+    }
+}
@@ -13,13 +13,14 @@
 package org.eclipse.smarthome.binding.dmx.internal.dmxoverethernet;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.smarthome.binding.dmx.internal.DmxBridgeHandler;
+import org.eclipse.smarthome.binding.dmx.internal.multiverse.Universe;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
@@ -28,7 +29,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link DmxOverEthernetHandler} is an abstract class with base functions
- * for DMX over Ethernet Bridges (ArtNet, sACN)
+ * for DMX over Ethernet Bridges (ArtNet, sACN). Frames are sent through a {@link DatagramChannel} from a reused
+ * direct buffer, so sending does not allocate.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -42,7 +44,10 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
 
     protected boolean refreshAlways = false;
 
-    DatagramSocket socket = null;
+    DatagramChannel channel = null;
+    private final byte[] payload = new byte[Universe.MAX_UNIVERSE_SIZE];
+    private ByteBuffer sendBuffer = null;
+    private final List<InetSocketAddress> receiverAddresses = new ArrayList<>();
     private long lastSend = 0;
     private int repeatCounter = 0;
     private int sequenceNo = 0;
@@ -51,23 +56,28 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
     protected void openConnection() {
         if (getThing().getStatus() != ThingStatus.ONLINE) {
             try {
+                channel = DatagramChannel.open();
                 if (senderNode.getAddress() == null) {
-                    if (senderNode.getPort() == 0) {
-                        socket = new DatagramSocket();
-                        senderNode.setInetAddress(socket.getLocalAddress());
-                        senderNode.setPort(socket.getLocalPort());
-                    } else {
-                        socket = new DatagramSocket(senderNode.getPort());
-                        senderNode.setInetAddress(socket.getLocalAddress());
-                    }
+                    channel.bind(new InetSocketAddress(senderNode.getPort()));
+                    senderNode.setInetAddress(channel.socket().getLocalAddress());
+                    senderNode.setPort(channel.socket().getLocalPort());
                 } else {
-                    socket = new DatagramSocket(senderNode.getPort(), senderNode.getAddress());
+                    channel.bind(new InetSocketAddress(senderNode.getAddress(), senderNode.getPort()));
+                }
+                receiverAddresses.clear();
+                for (IpNode receiverNode : receiverNodes) {
+                    receiverAddresses.add(new InetSocketAddress(receiverNode.getAddress(), receiverNode.getPort()));
+                }
+                int packetSize = packetTemplate.getRawPacket().length;
+                if (sendBuffer == null || sendBuffer.capacity() < packetSize) {
+                    sendBuffer = ByteBuffer.allocateDirect(packetSize);
                 }
                 updateStatus(ThingStatus.ONLINE);
                 logger.debug("opened socket {} in bridge {}", senderNode, this.thing.getUID());
-            } catch (SocketException e) {
+            } catch (IOException e) {
                 logger.debug("could not open socket {} in bridge {}: {}", senderNode, this.thing.getUID(),
                         e.getMessage());
+                closeChannel();
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "opening UDP socket failed");
             }
         }
@@ -75,16 +85,27 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
 
     @Override
     protected void closeConnection() {
-        if (socket != null) {
+        if (channel != null) {
             logger.debug("closing socket {} in bridge {}", senderNode, this.thing.getUID());
-            socket.close();
-            socket = null;
+            closeChannel();
         } else {
             logger.debug("socket was already closed when calling closeConnection in bridge {}", this.thing.getUID());
         }
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "UDP socket closed");
     }
 
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("could not close socket {} in bridge {}: {}", senderNode, this.thing.getUID(),
+                        e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
     @Override
     protected void sendDmxData() {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
@@ -101,21 +122,25 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
                 repeatCounter++;
             }
             if (needsSending) {
-                packetTemplate.setPayload(universe.getBuffer(), universe.getBufferSize());
+                packetTemplate.setPayload(payload, universe.copyBuffer(payload));
                 packetTemplate.setSequence(sequenceNo);
-                DatagramPacket sendPacket = new DatagramPacket(packetTemplate.getRawPacket(),
-                        packetTemplate.getPacketLength());
-                for (IpNode receiverNode : receiverNodes) {
-                    sendPacket.setAddress(receiverNode.getAddress());
-                    sendPacket.setPort(receiverNode.getPort());
-                    logger.trace("sending packet with length {} to {}", packetTemplate.getPacketLength(),
-                            receiverNode.toString());
+                int packetLength = packetTemplate.getPacketLength();
+                sendBuffer.clear();
+                sendBuffer.put(packetTemplate.getRawPacket(), 0, packetLength);
+                sendBuffer.flip();
+                for (int i = 0; i < receiverAddresses.size(); i++) {
+                    InetSocketAddress receiverAddress = receiverAddresses.get(i);
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("sending packet with length {} to {}", packetLength, receiverAddress);
+                    }
                     try {
-                        socket.send(sendPacket);
+                        sendBuffer.rewind();
+                        channel.send(sendBuffer, receiverAddress);
                     } catch (IOException e) {
-                        logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
+                        logger.debug("Could not send to {} in {}: {}", receiverAddress, this.thing.getUID(),
                                 e.getMessage());
                         closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
+                        return;
                     }
                 }
                 lastSend = now;
@@ -50,6 +50,7 @@ public class DmxChannel extends BaseDmxChannel {
     private boolean isSuspended = false;
     private int refreshTime = 0;
     private long lastStateTimestamp = 0;
+    private volatile boolean needsCalculation = true;
 
     private final List<BaseAction> actions = new ArrayList<BaseAction>();
     private final List<BaseAction> suspendedActions = new ArrayList<BaseAction>();
@@ -107,8 +108,9 @@ public class DmxChannel extends BaseDmxChannel {
      *
      * @param value Integer value (0-255)
      */
-    public void setValue(int value) {
+    public synchronized void setValue(int value) {
         this.value = Util.toDmxValue(value) << 8;
+        needsCalculation = true;
         logger.trace("set dmx channel {} to value {}", this, this.value >> 8);
     }
 
@@ -117,8 +119,9 @@ public class DmxChannel extends BaseDmxChannel {
      *
      * @param value PercentType (0-100)
      */
-    public void setValue(PercentType value) {
+    public synchronized void setValue(PercentType value) {
         this.value = Util.toDmxValue(value) << 8;
+        needsCalculation = true;
         logger.trace("set dmx channel {} to value {}", this, this.value >> 8);
     }
 
@@ -174,6 +177,7 @@ public class DmxChannel extends BaseDmxChannel {
                 logger.trace("resuming suspended value for DMX channel {}", this);
             }
             isSuspended = false;
+            needsCalculation = true;
         } else {
             throw new IllegalStateException("trying to resume actions in non-suspended DMX channel " + this.toString());
         }
@@ -209,6 +213,7 @@ public class DmxChannel extends BaseDmxChannel {
     public synchronized void setChannelAction(BaseAction channelAction) {
         clearAction();
         actions.add(channelAction);
+        needsCalculation = true;
         logger.trace("set action {} for DMX channel {}", channelAction, this);
     }
 
@@ -219,9 +224,19 @@ public class DmxChannel extends BaseDmxChannel {
      */
     public synchronized void addChannelAction(BaseAction channelAction) {
         actions.add(channelAction);
+        needsCalculation = true;
         logger.trace("added action {} to channel {} (total {} actions)", channelAction, this, actions.size());
     }
 
+    /**
+     * check if the value of this channel may differ from the one calculated last or if a state update is pending
+     *
+     * @return true if the channel has to be calculated in the next frame
+     */
+    public boolean needsCalculation() {
+        return needsCalculation;
+    }
+
     /**
      * @return true if there are running actions
      */
@@ -298,6 +313,10 @@ public class DmxChannel extends BaseDmxChannel {
             lastStateTimestamp = calculationTime;
         }
 
+        boolean stillNeedsCalculation = hasRunningActions() || lastStateValue != value;
+        if (needsCalculation != stillNeedsCalculation) {
+            needsCalculation = stillNeedsCalculation;
+        }
         return value;
     }
 
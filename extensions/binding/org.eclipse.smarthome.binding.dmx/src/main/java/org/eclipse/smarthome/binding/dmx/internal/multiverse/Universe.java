@@ -13,6 +13,7 @@
 package org.eclipse.smarthome.binding.dmx.internal.multiverse;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -23,7 +24,7 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link Universe} represents a single DMX universes with all its channels and provides a buffer for sending by the
- * bridges
+ * bridges. Only channels with running actions or changed values are calculated for a new frame.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -38,14 +39,15 @@ public class Universe {
     private int universeId;
     private int bufferSize = MIN_UNIVERSE_SIZE;
 
-    private final short[] buffer = new short[MAX_UNIVERSE_SIZE];
+    private final byte[] buffer = new byte[MAX_UNIVERSE_SIZE];
     private final short[] cie1931Curve = new short[DmxChannel.MAX_VALUE << 8 + 1];
 
     private long bufferChanged;
     private int refreshTime = DEFAULT_REFRESH_TIME;
+    private volatile boolean recalculateAll = true;
 
     private final List<DmxChannel> channels = new ArrayList<DmxChannel>();
-    private final List<Integer> applyCurve = new ArrayList<Integer>();
+    private final boolean[] applyCurve = new boolean[MAX_UNIVERSE_SIZE];
 
     /**
      * universe constructor
@@ -179,18 +181,26 @@ public class Universe {
     public void calculateBuffer(long time) {
         universeLock.lock();
         try {
-            for (DmxChannel channel : channels) {
-                logger.trace("calculating new value for {}", channel);
+            boolean calculateAll = recalculateAll;
+            recalculateAll = false;
+            for (int i = 0; i < channels.size(); i++) {
+                DmxChannel channel = channels.get(i);
+                if (!calculateAll && !channel.needsCalculation()) {
+                    continue;
+                }
+                if (logger.isTraceEnabled()) {
+                    logger.trace("calculating new value for {}", channel);
+                }
                 int channelId = channel.getChannelId();
                 int vx = channel.getNewHiResValue(time);
-                int value;
-                if (applyCurve.contains(channelId)) {
-                    value = cie1931Curve[vx];
+                byte value;
+                if (applyCurve[channelId - 1]) {
+                    value = (byte) cie1931Curve[vx];
                 } else {
-                    value = vx >> 8;
+                    value = (byte) (vx >> 8);
                 }
                 if (buffer[channelId - 1] != value) {
-                    buffer[channelId - 1] = (short) value;
+                    buffer[channelId - 1] = value;
                     bufferChanged = time;
                 }
             }
@@ -206,15 +216,24 @@ public class Universe {
      */
     public byte[] getBuffer() {
         byte[] b = new byte[bufferSize];
+        copyBuffer(b);
+        return b;
+    }
+
+    /**
+     * copy the universe buffer to the given array without allocating a new one
+     *
+     * @param target byte array of at least {@link #getBufferSize()} bytes which receives the channel values
+     * @return number of copied channel values
+     */
+    public int copyBuffer(byte[] target) {
         universeLock.lock();
         try {
-            for (int i = 0; i < bufferSize; i++) {
-                b[i] = (byte) buffer[i];
-            }
+            System.arraycopy(buffer, 0, target, 0, bufferSize);
+            return bufferSize;
         } finally {
             universeLock.unlock();
         }
-        return b;
     }
 
     /**
@@ -223,11 +242,21 @@ public class Universe {
      * @param listString
      */
     public void setDimCurveChannels(String listString) {
-        applyCurve.clear();
+        List<Integer> curveChannels = new ArrayList<>();
         for (BaseDmxChannel channel : BaseDmxChannel.fromString(listString, universeId)) {
-            applyCurve.add(channel.getChannelId());
+            curveChannels.add(channel.getChannelId());
+        }
+        universeLock.lock();
+        try {
+            Arrays.fill(applyCurve, false);
+            for (int channelId : curveChannels) {
+                applyCurve[channelId - 1] = true;
+            }
+            recalculateAll = true;
+        } finally {
+            universeLock.unlock();
         }
-        logger.debug("applying dim curve in universe {} to channels {}", universeId, applyCurve);
+        logger.debug("applying dim curve in universe {} to channels {}", universeId, curveChannels);
     }
 
     /**
@@ -12,11 +12,11 @@
  */
 package org.eclipse.smarthome.binding.mqtt.generic.internal.generic;
 
-import java.lang.ref.WeakReference;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.CompiledTransformation;
 import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationHelper;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +30,8 @@ import org.slf4j.LoggerFactory;
 public class ChannelStateTransformation {
     private final Logger logger = LoggerFactory.getLogger(ChannelStateTransformation.class);
     private final TransformationServiceProvider provider;
-    private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
+    private @Nullable TransformationService transformationService;
+    private @Nullable CompiledTransformation compiledTransformation;
     final String pattern;
     final String serviceName;
 
@@ -67,18 +68,26 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = provider.getTransformationService(serviceName);
         if (transformationService == null) {
-            transformationService = provider.getTransformationService(serviceName);
-            if (transformationService == null) {
-                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+            logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+            return value;
+        }
+        CompiledTransformation compiledTransformation = this.compiledTransformation;
+        if (compiledTransformation == null || transformationService != this.transformationService) {
+            // the pattern is compiled once and then applied to every value, until the service is replaced
+            try {
+                compiledTransformation = TransformationHelper.compile(transformationService, pattern);
+            } catch (TransformationException e) {
+                logger.warn("Compiling the {}-transformation failed: {}", serviceName, e.getMessage());
                 return value;
             }
-            this.transformationService = new WeakReference<>(transformationService);
+            this.transformationService = transformationService;
+            this.compiledTransformation = compiledTransformation;
         }
         String temp = null;
         try {
-            temp = transformationService.transform(pattern, value);
+            temp = compiledTransformation.transform(value);
         } catch (TransformationException e) {
             logger.warn("Executing the {}-transformation failed: {}", serviceName, e.getMessage());
         }
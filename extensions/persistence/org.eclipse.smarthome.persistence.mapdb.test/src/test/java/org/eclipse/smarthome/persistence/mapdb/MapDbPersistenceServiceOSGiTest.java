@@ -23,15 +23,20 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Date;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
+import org.eclipse.smarthome.core.library.items.NumberItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.persistence.mapdb.internal.MapDbPersistenceService;
@@ -132,4 +137,35 @@ public class MapDbPersistenceServiceOSGiTest extends JavaOSGiTest {
         assertThat(persistenceService.query(filterByAlias),
                 contains(allOf(hasProperty("name", equalTo(alias)), hasProperty("state", equalTo(state)))));
     }
+
+    @Test
+    public void queryShouldReturnTheHistoryInPages() {
+        // the time series store is opt-in
+        MapDbPersistenceService service = (MapDbPersistenceService) persistenceService;
+        service.deactivate();
+        service.activate(Collections.singletonMap("timeSeries", true));
+
+        String name = "number";
+        GenericItem item = new NumberItem(name);
+        long start = System.currentTimeMillis() - 60_000;
+        for (int i = 0; i < 10; i++) {
+            persistenceService.store(item, new Date(start + i * 1000), new DecimalType(i));
+        }
+
+        FilterCriteria filter = new FilterCriteria().setItemName(name).setPageSize(3).setPageNumber(1);
+        assertThat(persistenceService.query(filter),
+                contains(hasProperty("state", equalTo(new DecimalType(6))),
+                        hasProperty("state", equalTo(new DecimalType(5))),
+                        hasProperty("state", equalTo(new DecimalType(4)))));
+
+        filter = new FilterCriteria().setItemName(name).setOrdering(Ordering.ASCENDING)
+                .setBeginDate(new Date(start + 8000));
+        assertThat(persistenceService.query(filter),
+                contains(hasProperty("state", equalTo(new DecimalType(8))),
+                        hasProperty("state", equalTo(new DecimalType(9)))));
+
+        persistenceService.remove(new FilterCriteria().setItemName(name).setBeginDate(new Date(start + 5000)));
+        assertThat(persistenceService.query(new FilterCriteria().setItemName(name).setPageSize(1)),
+                contains(hasProperty("state", equalTo(new DecimalType(4)))));
+    }
 }
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link TimeSeries} and the encoding of its segment files.
+ *
+ * @author agent - Initial contribution
+ */
+public class TimeSeriesTest {
+
+    private static final long DAY = TimeSeries.PARTITION_MILLIS;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private TimeSeries timeSeries;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.getRoot().toPath().resolve("series");
+        timeSeries = new TimeSeries(directory);
+    }
+
+    @Test
+    public void encodingShouldRestoreTheExactStates() {
+        List<State> states = Arrays.asList(new DecimalType("21.5"), new DecimalType("21.5"), new DecimalType("-3"),
+                new DecimalType("1.50"), new DecimalType("0.1"), new DecimalType("123456789.123456789"),
+                new PercentType(42), new QuantityType<>("21.7 °C"), new QuantityType<>("22.25 °C"), OnOffType.ON,
+                OnOffType.OFF, OnOffType.ON, new StringType("a@@b"), new DecimalType("1E+3"), DecimalType.ZERO);
+        List<SeriesPoint> points = new ArrayList<>();
+        long[] deltas = { 0, 1000, 1000, 1003, 60_000, 1, 7 * DAY, 5, 5, 64, 63, 256, 2048, 2049, -1 };
+        long timestamp = 1_546_300_800_000L;
+        for (int i = 0; i < states.size(); i++) {
+            timestamp += Math.abs(deltas[i]);
+            points.add(new SeriesPoint(timestamp, states.get(i)));
+        }
+
+        List<SeriesPoint> decoded = new ArrayList<>();
+        for (byte[] block : SeriesBlock.encode(points)) {
+            decoded.addAll(SeriesBlock.read(ByteBuffer.wrap(block), 0).decode());
+        }
+
+        assertThat(timestamps(decoded), is(timestamps(points)));
+        assertThat(fullStrings(decoded), is(fullStrings(points)));
+        for (int i = 0; i < points.size(); i++) {
+            assertThat(decoded.get(i).state.getClass(), is(equalTo(points.get(i).state.getClass())));
+        }
+    }
+
+    @Test
+    public void queryShouldHonorRangeOrderingAndPaging() throws IOException {
+        long start = 100 * DAY;
+        for (int i = 0; i < 48; i++) {
+            timeSeries.add(start + i * DAY / 8, new DecimalType(i));
+            if (i == 20) {
+                timeSeries.flush();
+            }
+        }
+
+        // flushed and buffered points are combined
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 100)).size(),
+                is(48));
+        assertThat(values(timeSeries.query(start + DAY, start + 2 * DAY, false, s -> true, 0, 100)),
+                is(range(8, 16)));
+        assertThat(values(timeSeries.query(start + DAY, start + 2 * DAY, true, s -> true, 2, 3)),
+                is(Arrays.asList(14, 13, 12)));
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, true,
+                s -> ((DecimalType) s).intValue() % 10 == 0, 1, 2)), is(Arrays.asList(30, 20)));
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 50, 10)).size(), is(0));
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 0)).size(), is(0));
+        assertThat(timeSeries.getNewest().state, is(new DecimalType(47)));
+    }
+
+    @Test
+    public void pointsShouldBeReplacedAndInsertedInOrder() throws IOException {
+        timeSeries.add(1000, new DecimalType(1));
+        timeSeries.add(3000, new DecimalType(3));
+        timeSeries.flush();
+        timeSeries.add(4000, new DecimalType(4));
+        timeSeries.add(4000, new DecimalType(40));
+        timeSeries.add(2000, new DecimalType(2));
+        timeSeries.add(3000, new DecimalType(30));
+
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10)),
+                is(Arrays.asList(1, 2, 30, 40)));
+    }
+
+    @Test
+    public void flushedPointsShouldBeReadByANewInstance() throws IOException {
+        timeSeries.add(1000, new DecimalType(1));
+        timeSeries.add(2000, OnOffType.ON);
+        timeSeries.flush();
+        timeSeries.add(3000, new DecimalType(3));
+        timeSeries.flush();
+
+        // an incomplete block at the end of the segment is ignored and cut off
+        Path segment = Files.list(directory).findFirst().get();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 1, 2 }));
+        }
+
+        TimeSeries reopened = new TimeSeries(directory);
+        reopened.add(4000, new DecimalType(4));
+        reopened.flush();
+        List<SeriesPoint> points = reopened.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10);
+        assertThat(timestamps(points), is(Arrays.asList(1000L, 2000L, 3000L, 4000L)));
+        assertThat(points.get(1).state, is(OnOffType.ON));
+    }
+
+    @Test
+    public void removeShouldDeleteMatchingPointsAndFinallyTheDirectory() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            timeSeries.add(i * DAY / 2, new DecimalType(i));
+        }
+
+        timeSeries.remove(DAY, 3 * DAY, s -> ((DecimalType) s).intValue() % 2 == 0);
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10)),
+                is(Arrays.asList(0, 1, 3, 5, 7, 8, 9)));
+
+        timeSeries.remove(0, 2 * DAY - 1, null);
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10)),
+                is(Arrays.asList(5, 7, 8, 9)));
+
+        timeSeries.remove(Long.MIN_VALUE, Long.MAX_VALUE, null);
+        assertThat(timeSeries.getNewest(), is(nullValue()));
+        assertFalse(Files.exists(directory));
+    }
+
+    @Test
+    public void retentionShouldDeleteOldPartitions() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            timeSeries.add(i * DAY, new DecimalType(i));
+        }
+        timeSeries.flush();
+
+        timeSeries.deleteBefore(3 * DAY + 1);
+        assertThat(values(timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10)),
+                is(Arrays.asList(3, 4)));
+    }
+
+    @Test
+    public void downsamplingShouldAverageNumbersAndKeepOtherStates() throws IOException {
+        long interval = 60_000;
+        for (int i = 0; i < 6; i++) {
+            timeSeries.add(i * interval / 3, new DecimalType(i));
+            timeSeries.add(DAY + i * interval / 3, i % 2 == 0 ? OnOffType.ON : OnOffType.OFF);
+        }
+        timeSeries.add(2 * DAY, new DecimalType(10));
+        timeSeries.flush();
+
+        timeSeries.downsampleBefore(2 * DAY, interval);
+        // downsampled segments aren't downsampled again
+        timeSeries.downsampleBefore(2 * DAY, 10 * interval);
+
+        List<SeriesPoint> points = timeSeries.query(Long.MIN_VALUE, Long.MAX_VALUE, false, s -> true, 0, 10);
+        assertThat(fullStrings(points), is(Arrays.asList("1", "4", "ON", "OFF", "10")));
+        assertThat(timestamps(points),
+                is(Arrays.asList(2 * interval / 3, 5 * interval / 3, DAY + 2 * interval / 3,
+                        DAY + 5 * interval / 3, 2 * DAY)));
+    }
+
+    private static List<Long> timestamps(List<SeriesPoint> points) {
+        return points.stream().map(point -> point.timestamp).collect(Collectors.toList());
+    }
+
+    private static List<String> fullStrings(List<SeriesPoint> points) {
+        return points.stream().map(point -> point.state.toFullString()).collect(Collectors.toList());
+    }
+
+    private static List<Integer> values(List<SeriesPoint> points) {
+        return points.stream().map(point -> ((DecimalType) point.state).intValue()).collect(Collectors.toList());
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Reads the bits written by a {@link BitOutput} from a region of a (possibly memory mapped) buffer.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class BitInput {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final long limit;
+    private long position;
+
+    /**
+     * @param buffer the buffer to read from, its position is not changed
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     */
+    BitInput(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.limit = (long) length << 3;
+    }
+
+    boolean readBit() {
+        checkAvailable(1);
+        int b = buffer.get(offset + (int) (position >>> 3));
+        boolean bit = (b & (0x80 >>> (position & 7))) != 0;
+        position++;
+        return bit;
+    }
+
+    /**
+     * Reads a group of bits.
+     *
+     * @param count the number of bits, at most 64
+     * @return the bits as the lowest bits of the result
+     */
+    long readBits(int count) {
+        checkAvailable(count);
+        long value = 0;
+        int remaining = count;
+        while (remaining > 0) {
+            int available = 8 - (int) (position & 7);
+            int chunk = Math.min(available, remaining);
+            int b = buffer.get(offset + (int) (position >>> 3)) & 0xFF;
+            int bits = (b >>> (available - chunk)) & ((1 << chunk) - 1);
+            value = (value << chunk) | bits;
+            position += chunk;
+            remaining -= chunk;
+        }
+        return value;
+    }
+
+    private void checkAvailable(int bits) {
+        if (position + bits > limit) {
+            throw new IllegalStateException("Read beyond the end of the bit stream");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Writes single bits and bit groups (most significant bit first) into a growing byte array.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class BitOutput {
+
+    private byte[] buffer = new byte[64];
+    private int bitCount;
+
+    void writeBit(boolean bit) {
+        ensureCapacity(1);
+        if (bit) {
+            buffer[bitCount >>> 3] |= 0x80 >>> (bitCount & 7);
+        }
+        bitCount++;
+    }
+
+    /**
+     * Writes the lowest bits of a value.
+     *
+     * @param value the value
+     * @param count the number of bits to write, at most 64
+     */
+    void writeBits(long value, int count) {
+        ensureCapacity(count);
+        int remaining = count;
+        while (remaining > 0) {
+            int free = 8 - (bitCount & 7);
+            int chunk = Math.min(free, remaining);
+            int bits = (int) (value >>> (remaining - chunk)) & ((1 << chunk) - 1);
+            buffer[bitCount >>> 3] |= bits << (free - chunk);
+            bitCount += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    int getBitCount() {
+        return bitCount;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (bitCount + 7) >>> 3);
+    }
+
+    private void ensureCapacity(int bits) {
+        int bytes = (bitCount + bits + 7) >>> 3;
+        if (bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(bytes, buffer.length * 2));
+        }
+    }
+}
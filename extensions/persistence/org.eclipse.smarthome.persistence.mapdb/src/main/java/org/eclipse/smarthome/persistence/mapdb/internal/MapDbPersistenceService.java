@@ -13,13 +13,21 @@
 package org.eclipse.smarthome.persistence.mapdb.internal;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,8 +36,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.ModifiablePersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
@@ -37,7 +49,9 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,12 +63,16 @@ import com.google.gson.GsonBuilder;
  * more about MapDB please visit their <a
  * href="http://www.mapdb.org/">website</a>.
  *
+ * The last value of each item is kept in MapDB. Unless disabled by the configuration, all values are additionally
+ * recorded in a {@link TimeSeriesStore}, which answers the queries with the full history of an item.
+ *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
-public class MapDbPersistenceService implements QueryablePersistenceService {
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        ModifiablePersistenceService.class }, configurationPid = "persistence.mapdb")
+public class MapDbPersistenceService implements ModifiablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
 
@@ -62,6 +80,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    private static final String SERIES_FOLDER_NAME = "series";
+
+    private static final String CONFIG_TIME_SERIES = "timeSeries";
+    private static final String CONFIG_RETENTION_DAYS = "retentionDays";
+    private static final String CONFIG_DOWNSAMPLE_AFTER_DAYS = "downsampleAfterDays";
+    private static final String CONFIG_DOWNSAMPLE_INTERVAL = "downsampleInterval";
+
+    /** the number of buffered points of a time series which triggers a flush */
+    private static final int MAX_BUFFERED_POINTS = 512;
+    private static final long FLUSH_INTERVAL_SECONDS = 10;
+    private static final long MAINTENANCE_INTERVAL_MINUTES = 60;
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
@@ -73,11 +103,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     @NonNullByDefault({})
     private Map<String, String> map;
 
+    private @Nullable TimeSeriesStore timeSeriesStore;
+    private int retentionDays;
+    private int downsampleAfterDays;
+    private int downsampleIntervalMinutes = 15;
+    private final List<ScheduledFuture<?>> jobs = new ArrayList<>();
+
     private transient Gson mapper = new GsonBuilder()
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
-    public void activate() {
+    @Activate
+    public void activate(@Nullable Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
@@ -94,11 +131,37 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
         map = db.createTreeMap("itemStore").makeOrGet();
+
+        if (getConfigValue(config, CONFIG_TIME_SERIES, false)) {
+            retentionDays = getConfigValue(config, CONFIG_RETENTION_DAYS, 0);
+            downsampleAfterDays = getConfigValue(config, CONFIG_DOWNSAMPLE_AFTER_DAYS, 0);
+            downsampleIntervalMinutes = Math.max(1, getConfigValue(config, CONFIG_DOWNSAMPLE_INTERVAL, 15));
+
+            TimeSeriesStore store = new TimeSeriesStore(Paths.get(DB_FOLDER_NAME, SERIES_FOLDER_NAME));
+            recoverLatestValues(store);
+            timeSeriesStore = store;
+
+            ScheduledExecutorService scheduler = ThreadPoolManager
+                    .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+            jobs.add(scheduler.scheduleWithFixedDelay(this::flushTimeSeries, FLUSH_INTERVAL_SECONDS,
+                    FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS));
+            if (retentionDays > 0 || downsampleAfterDays > 0) {
+                jobs.add(scheduler.scheduleWithFixedDelay(this::maintainTimeSeries, 1, MAINTENANCE_INTERVAL_MINUTES,
+                        TimeUnit.MINUTES));
+            }
+        }
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        jobs.forEach(job -> job.cancel(false));
+        jobs.clear();
+        if (timeSeriesStore != null) {
+            flushTimeSeries();
+            timeSeriesStore = null;
+        }
         if (db != null) {
             db.close();
         }
@@ -141,27 +204,265 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("store called for {}", alias);
 
         State state = item.getState();
-        MapDbItem mItem = new MapDbItem();
-        mItem.setName(alias);
-        mItem.setState(state);
-        mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(alias, json);
+        Date timestamp = new Date();
+        storeLatest(alias, timestamp, state);
         commit();
+        addToTimeSeries(alias, timestamp.getTime(), state);
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
+    @Override
+    public void store(Item item, Date date, State state) {
+        if (state instanceof UnDefType) {
+            return;
+        }
+
+        String name = item.getName();
+        Optional<MapDbItem> latest = getLatest(name);
+        if (!latest.isPresent() || !date.before(latest.get().getTimestamp())) {
+            storeLatest(name, date, state);
+            commit();
+        }
+        addToTimeSeries(name, date.getTime(), state);
+        logger.debug("Stored '{}' with state '{}' at {} in MapDB database", name, state, date);
+    }
+
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String name = filter.getItemName();
+        if (name == null) {
             return Collections.emptyList();
         }
-        Optional<MapDbItem> item = deserialize(json);
-        if (!item.isPresent()) {
-            return Collections.emptyList();
+        long begin = filter.getBeginDate() == null ? Long.MIN_VALUE : filter.getBeginDate().getTime();
+        long end = filter.getEndDate() == null ? Long.MAX_VALUE : filter.getEndDate().getTime();
+        Predicate<State> stateFilter = createStateFilter(filter);
+        boolean descending = filter.getOrdering() == Ordering.DESCENDING;
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+
+        List<SeriesPoint> points;
+        TimeSeriesStore store = timeSeriesStore;
+        if (store != null) {
+            try {
+                points = store.get(name).query(begin, end, descending, stateFilter, skip, filter.getPageSize());
+            } catch (IOException e) {
+                logger.warn("Failed to query the time series of '{}': {}", name, e.getMessage());
+                return Collections.emptyList();
+            }
+        } else {
+            // only the last value is available
+            Optional<MapDbItem> latest = getLatest(name);
+            if (!latest.isPresent() || skip > 0 || filter.getPageSize() <= 0) {
+                return Collections.emptyList();
+            }
+            long timestamp = latest.get().getTimestamp().getTime();
+            if (timestamp < begin || timestamp > end || !stateFilter.test(latest.get().getState())) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(latest.get());
+        }
+
+        List<HistoricItem> items = new ArrayList<>(points.size());
+        for (SeriesPoint point : points) {
+            items.add(toItem(name, point.timestamp, point.state));
+        }
+        return items;
+    }
+
+    @Override
+    public boolean remove(FilterCriteria filter) throws IllegalArgumentException {
+        String name = filter.getItemName();
+        if (name == null) {
+            throw new IllegalArgumentException("Item name must not be null");
+        }
+        long begin = filter.getBeginDate() == null ? Long.MIN_VALUE : filter.getBeginDate().getTime();
+        long end = filter.getEndDate() == null ? Long.MAX_VALUE : filter.getEndDate().getTime();
+        @Nullable
+        Predicate<State> stateFilter = filter.getState() == null ? null : createStateFilter(filter);
+
+        TimeSeriesStore store = timeSeriesStore;
+        if (store != null) {
+            try {
+                TimeSeries timeSeries = store.get(name);
+                timeSeries.remove(begin, end, stateFilter);
+                SeriesPoint newest = timeSeries.getNewest();
+                if (newest != null) {
+                    storeLatest(name, new Date(newest.timestamp), newest.state);
+                } else {
+                    map.remove(name);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to remove from the time series of '{}': {}", name, e.getMessage());
+                return false;
+            }
+        } else {
+            Optional<MapDbItem> latest = getLatest(name);
+            if (latest.isPresent()) {
+                long timestamp = latest.get().getTimestamp().getTime();
+                if (timestamp >= begin && timestamp <= end
+                        && (stateFilter == null || stateFilter.test(latest.get().getState()))) {
+                    map.remove(name);
+                }
+            }
         }
-        return Collections.singletonList(item.get());
+        commit();
+        return true;
+    }
+
+    private void storeLatest(String name, Date timestamp, State state) {
+        map.put(name, serialize(toItem(name, timestamp.getTime(), state)));
+    }
+
+    private Optional<MapDbItem> getLatest(String name) {
+        String json = map.get(name);
+        return json == null ? Optional.empty() : deserialize(json);
+    }
+
+    private void addToTimeSeries(String name, long timestamp, State state) {
+        TimeSeriesStore store = timeSeriesStore;
+        if (store == null) {
+            return;
+        }
+        try {
+            TimeSeries timeSeries = store.get(name);
+            if (timeSeries.add(timestamp, state) == MAX_BUFFERED_POINTS) {
+                threadPool.submit(() -> flush(name, timeSeries));
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to add a value to the time series of '{}': {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the last values to their time series if they are missing there, e.g. because they were stored by a
+     * version without time series or the buffered points were lost.
+     */
+    private void recoverLatestValues(TimeSeriesStore store) {
+        for (String json : map.values()) {
+            Optional<MapDbItem> latest = deserialize(json);
+            if (latest.isPresent()) {
+                String name = latest.get().getName();
+                long timestamp = latest.get().getTimestamp().getTime();
+                try {
+                    TimeSeries timeSeries = store.get(name);
+                    SeriesPoint newest = timeSeries.getNewest();
+                    if (newest == null || newest.timestamp < timestamp) {
+                        timeSeries.add(timestamp, latest.get().getState());
+                        timeSeries.flush();
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to recover the time series of '{}': {}", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void flush(String name, TimeSeries timeSeries) {
+        try {
+            timeSeries.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to flush the time series of '{}': {}", name, e.getMessage());
+        }
+    }
+
+    private void flushTimeSeries() {
+        TimeSeriesStore store = timeSeriesStore;
+        if (store != null) {
+            try {
+                store.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to flush the time series: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void maintainTimeSeries() {
+        TimeSeriesStore store = timeSeriesStore;
+        if (store == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            for (String name : store.getNames()) {
+                TimeSeries timeSeries = store.get(name);
+                try {
+                    if (retentionDays > 0) {
+                        timeSeries.deleteBefore(now - TimeUnit.DAYS.toMillis(retentionDays));
+                    }
+                    if (downsampleAfterDays > 0) {
+                        timeSeries.downsampleBefore(now - TimeUnit.DAYS.toMillis(downsampleAfterDays),
+                                TimeUnit.MINUTES.toMillis(downsampleIntervalMinutes));
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to clean up the time series of '{}': {}", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to list the time series: {}", e.getMessage());
+        }
+    }
+
+    private static Predicate<State> createStateFilter(FilterCriteria filter) {
+        State filterState = filter.getState();
+        if (filterState == null) {
+            return state -> true;
+        }
+        Operator operator = filter.getOperator();
+        switch (operator) {
+            case EQ:
+                return state -> filterState.equals(state);
+            case NEQ:
+                return state -> !filterState.equals(state);
+            default:
+                DecimalType filterValue = filterState.as(DecimalType.class);
+                if (filterValue == null) {
+                    return state -> false;
+                }
+                return state -> {
+                    DecimalType value = state.as(DecimalType.class);
+                    if (value == null) {
+                        return false;
+                    }
+                    int comparison = value.compareTo(filterValue);
+                    switch (operator) {
+                        case GT:
+                            return comparison > 0;
+                        case GTE:
+                            return comparison >= 0;
+                        case LT:
+                            return comparison < 0;
+                        default:
+                            return comparison <= 0;
+                    }
+                };
+        }
+    }
+
+    private static boolean getConfigValue(@Nullable Map<String, Object> config, String key, boolean defaultValue) {
+        Object value = config == null ? null : config.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.toString().trim());
+    }
+
+    private static int getConfigValue(@Nullable Map<String, Object> config, String key, int defaultValue) {
+        Object value = config == null ? null : config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value != null) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                LoggerFactory.getLogger(MapDbPersistenceService.class)
+                        .warn("Invalid value '{}' of configuration parameter '{}'", value, key);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static MapDbItem toItem(String name, long timestamp, State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(state);
+        item.setTimestamp(new Date(timestamp));
+        return item;
     }
 
     private String serialize(MapDbItem item) {
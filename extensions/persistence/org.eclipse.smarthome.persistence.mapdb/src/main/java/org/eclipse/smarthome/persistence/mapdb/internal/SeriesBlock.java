@@ -0,0 +1,464 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * A compressed block of consecutive points of a time series.
+ *
+ * The timestamps are stored as deltas of deltas and numeric values as the XOR of their double representation with
+ * the previous value, both in variable bit lengths, along with the scale of the decimal number if it changes. A
+ * numeric state is only stored as a double if it can be restored exactly, all other states are stored as strings in
+ * a dictionary local to the block. The header holds the range and the number of points, so a block can be skipped
+ * without decoding it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class SeriesBlock {
+
+    private static final byte KIND_NUMERIC = 0;
+    private static final byte KIND_TEXT = 1;
+
+    /** the maximum number of points of a block, which bounds the memory needed to decode a block */
+    private static final int MAX_POINTS = 4096;
+
+    /** the number of bits of the scale of the decimal numbers, which is stored along with their values */
+    private static final int SCALE_BITS = 5;
+    private static final int MAX_SCALE = (1 << SCALE_BITS) - 1;
+
+    private final ByteBuffer buffer;
+    private final Format format;
+    private final int count;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+    private final int timestampsOffset;
+    private final int timestampsLength;
+    private final int valuesOffset;
+    private final int valuesLength;
+
+    private SeriesBlock(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        int position = offset;
+        byte kind = buffer.get(position++);
+        int typeLength = buffer.getShort(position) & 0xFFFF;
+        String type = readString(buffer, position + 2, typeLength);
+        position += 2 + typeLength;
+        int unitLength = buffer.getShort(position) & 0xFFFF;
+        String unit = readString(buffer, position + 2, unitLength);
+        position += 2 + unitLength;
+        this.format = kind == KIND_TEXT ? Format.TEXT : new Format(type, unit);
+        this.count = buffer.getInt(position);
+        this.firstTimestamp = buffer.getLong(position + 4);
+        this.lastTimestamp = buffer.getLong(position + 12);
+        position += 20;
+        this.timestampsLength = buffer.getInt(position);
+        this.timestampsOffset = position + 4;
+        position = timestampsOffset + timestampsLength;
+        this.valuesLength = buffer.getInt(position);
+        this.valuesOffset = position + 4;
+    }
+
+    /**
+     * Reads the header of a block.
+     *
+     * @param buffer the buffer holding the block
+     * @param offset the index of the first byte of the block
+     * @return the block, which decodes its points from the buffer on demand
+     */
+    static SeriesBlock read(ByteBuffer buffer, int offset) {
+        return new SeriesBlock(buffer, offset);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Decodes the points of this block.
+     *
+     * @return the points in ascending order
+     */
+    List<SeriesPoint> decode() {
+        long[] timestamps = decodeTimestamps(new BitInput(buffer, timestampsOffset, timestampsLength), count);
+        List<SeriesPoint> points = new ArrayList<>(count);
+        if (format == Format.TEXT) {
+            List<@Nullable State> dictionary = new ArrayList<>();
+            int position = valuesOffset;
+            for (int i = 0; i < count; i++) {
+                int index = buffer.getInt(position);
+                position += 4;
+                if (index == dictionary.size()) {
+                    int length = buffer.getInt(position);
+                    dictionary.add(StateTypeAdapter.deserialize(readString(buffer, position + 4, length)));
+                    position += 4 + length;
+                }
+                State state = dictionary.get(index);
+                if (state != null) {
+                    points.add(new SeriesPoint(timestamps[i], state));
+                }
+            }
+        } else {
+            BitInput input = new BitInput(buffer, valuesOffset, valuesLength);
+            long bits = input.readBits(64);
+            int scale = (int) input.readBits(SCALE_BITS);
+            points.add(new SeriesPoint(timestamps[0], format.toState(Double.longBitsToDouble(bits), scale)));
+            int leading = 0;
+            int trailing = 0;
+            for (int i = 1; i < count; i++) {
+                if (input.readBit()) {
+                    if (input.readBit()) {
+                        leading = (int) input.readBits(5);
+                        int significant = (int) input.readBits(6) + 1;
+                        trailing = 64 - leading - significant;
+                    }
+                    int significant = 64 - leading - trailing;
+                    bits ^= input.readBits(significant) << trailing;
+                }
+                if (input.readBit()) {
+                    scale = (int) input.readBits(SCALE_BITS);
+                }
+                points.add(new SeriesPoint(timestamps[i], format.toState(Double.longBitsToDouble(bits), scale)));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Encodes points into blocks, starting a new block whenever the format of the values changes.
+     *
+     * @param points the points in ascending order
+     * @return the encoded blocks
+     */
+    static List<byte[]> encode(List<SeriesPoint> points) {
+        List<byte[]> blocks = new ArrayList<>();
+        int start = 0;
+        @Nullable
+        Format format = null;
+        for (int i = 0; i < points.size(); i++) {
+            Format pointFormat = Format.of(points.get(i).state);
+            if (format != null && (!pointFormat.equals(format) || i - start == MAX_POINTS)) {
+                blocks.add(encode(points.subList(start, i), format));
+                start = i;
+            }
+            format = pointFormat;
+        }
+        if (format != null) {
+            blocks.add(encode(points.subList(start, points.size()), format));
+        }
+        return blocks;
+    }
+
+    private static byte[] encode(List<SeriesPoint> points, Format format) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(format == Format.TEXT ? KIND_TEXT : KIND_NUMERIC);
+            writeShortString(out, format.type);
+            writeShortString(out, format.unit);
+            out.writeInt(points.size());
+            out.writeLong(points.get(0).timestamp);
+            out.writeLong(points.get(points.size() - 1).timestamp);
+            byte[] timestamps = encodeTimestamps(points);
+            out.writeInt(timestamps.length);
+            out.write(timestamps);
+            byte[] values = format == Format.TEXT ? encodeText(points) : encodeNumbers(points);
+            out.writeInt(values.length);
+            out.write(values);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // not thrown by in-memory streams
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encodeTimestamps(List<SeriesPoint> points) {
+        BitOutput output = new BitOutput();
+        long previous = points.get(0).timestamp;
+        long previousDelta = 0;
+        output.writeBits(previous, 64);
+        for (int i = 1; i < points.size(); i++) {
+            long timestamp = points.get(i).timestamp;
+            long delta = timestamp - previous;
+            long deltaOfDelta = delta - previousDelta;
+            if (deltaOfDelta == 0) {
+                output.writeBit(false);
+            } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                output.writeBits(0b10, 2);
+                output.writeBits(deltaOfDelta + 63, 7);
+            } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                output.writeBits(0b110, 3);
+                output.writeBits(deltaOfDelta + 255, 9);
+            } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                output.writeBits(0b1110, 4);
+                output.writeBits(deltaOfDelta + 2047, 12);
+            } else {
+                output.writeBits(0b1111, 4);
+                output.writeBits(deltaOfDelta, 64);
+            }
+            previous = timestamp;
+            previousDelta = delta;
+        }
+        return output.toByteArray();
+    }
+
+    private static long[] decodeTimestamps(BitInput input, int count) {
+        long[] timestamps = new long[count];
+        long previous = input.readBits(64);
+        long previousDelta = 0;
+        timestamps[0] = previous;
+        for (int i = 1; i < count; i++) {
+            long deltaOfDelta;
+            if (!input.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.readBits(7) - 63;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.readBits(9) - 255;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.readBits(12) - 2047;
+            } else {
+                deltaOfDelta = input.readBits(64);
+            }
+            previousDelta += deltaOfDelta;
+            previous += previousDelta;
+            timestamps[i] = previous;
+        }
+        return timestamps;
+    }
+
+    private static byte[] encodeNumbers(List<SeriesPoint> points) {
+        BitOutput output = new BitOutput();
+        long previous = Double.doubleToLongBits(Format.toDouble(points.get(0).state));
+        int previousScale = Format.scaleOf(points.get(0).state);
+        output.writeBits(previous, 64);
+        output.writeBits(previousScale, SCALE_BITS);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < points.size(); i++) {
+            long bits = Double.doubleToLongBits(Format.toDouble(points.get(i).state));
+            long xor = bits ^ previous;
+            if (xor == 0) {
+                output.writeBit(false);
+            } else {
+                output.writeBit(true);
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    // the meaningful bits fit into the window of the previous value
+                    output.writeBit(false);
+                    output.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int significant = 64 - leading - trailing;
+                    output.writeBit(true);
+                    output.writeBits(leading, 5);
+                    output.writeBits(significant - 1, 6);
+                    output.writeBits(xor >>> trailing, significant);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            int scale = Format.scaleOf(points.get(i).state);
+            if (scale == previousScale) {
+                output.writeBit(false);
+            } else {
+                output.writeBit(true);
+                output.writeBits(scale, SCALE_BITS);
+            }
+            previous = bits;
+            previousScale = scale;
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] encodeText(List<SeriesPoint> points) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (SeriesPoint point : points) {
+            String value = StateTypeAdapter.serialize(point.state);
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                out.writeInt(index);
+            } else {
+                out.writeInt(dictionary.size());
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+                dictionary.put(value, dictionary.size());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Converts a double into the shortest decimal which is converted back to the same double, without an exponent.
+     */
+    static BigDecimal toDecimal(double value) {
+        BigDecimal decimal = new BigDecimal(Double.toString(value));
+        if (decimal.scale() > 0) {
+            decimal = decimal.stripTrailingZeros();
+        }
+        if (decimal.scale() < 0) {
+            decimal = decimal.setScale(0);
+        }
+        return decimal;
+    }
+
+    private static void writeShortString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The representation of the values of a block.
+     */
+    private static final class Format {
+
+        private static final String DECIMAL = "DecimalType";
+        private static final String PERCENT = "PercentType";
+        private static final String QUANTITY = "QuantityType";
+
+        static final Format TEXT = new Format("", "");
+
+        final String type;
+        final String unit;
+        private @Nullable Unit<?> parsedUnit;
+
+        Format(String type, String unit) {
+            this.type = type;
+            this.unit = unit;
+        }
+
+        /**
+         * Determines the format of a state, which is numeric only if the state is restored exactly from its double
+         * value.
+         */
+        static Format of(State state) {
+            Format format;
+            if (state.getClass() == DecimalType.class) {
+                format = new Format(DECIMAL, "");
+            } else if (state.getClass() == PercentType.class) {
+                format = new Format(PERCENT, "");
+            } else if (state.getClass() == QuantityType.class) {
+                format = new Format(QUANTITY, ((QuantityType<?>) state).getUnit().toString());
+            } else {
+                return TEXT;
+            }
+            try {
+                State restored = format.toState(toDouble(state), scaleOf(state));
+                if (restored.getClass() == state.getClass()
+                        && restored.toFullString().equals(state.toFullString())) {
+                    return format;
+                }
+            } catch (RuntimeException e) {
+                // e.g. a unit which can't be parsed from its string
+            }
+            return TEXT;
+        }
+
+        static double toDouble(State state) {
+            return toBigDecimal(state).doubleValue();
+        }
+
+        /**
+         * Returns the scale of a numeric state, which is restored as long as it isn't negative and fits the bits
+         * reserved for it.
+         */
+        static int scaleOf(State state) {
+            return Math.max(0, Math.min(toBigDecimal(state).scale(), MAX_SCALE));
+        }
+
+        private static BigDecimal toBigDecimal(State state) {
+            return state instanceof QuantityType ? ((QuantityType<?>) state).toBigDecimal()
+                    : ((DecimalType) state).toBigDecimal();
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        State toState(double value, int scale) {
+            BigDecimal decimal = toDecimal(value);
+            if (decimal.scale() < scale) {
+                // restores trailing zeros
+                decimal = decimal.setScale(scale);
+            }
+            switch (type) {
+                case PERCENT:
+                    return new PercentType(decimal);
+                case QUANTITY:
+                    Unit<?> quantityUnit = parsedUnit;
+                    if (quantityUnit == null) {
+                        quantityUnit = new QuantityType<>("0 " + unit).getUnit();
+                        parsedUnit = quantityUnit;
+                    }
+                    return new QuantityType(decimal, quantityUnit);
+                default:
+                    return new DecimalType(decimal);
+            }
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Format)) {
+                return false;
+            }
+            Format other = (Format) obj;
+            return type.equals(other.type) && unit.equals(other.unit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, unit);
+        }
+    }
+}
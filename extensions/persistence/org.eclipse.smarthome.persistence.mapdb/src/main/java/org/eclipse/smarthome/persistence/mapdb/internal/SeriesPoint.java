@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * A state with the time it was recorded at.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class SeriesPoint {
+
+    final long timestamp;
+    final State state;
+
+    SeriesPoint(long timestamp, State state) {
+        this.timestamp = timestamp;
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + ": " + state;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A file holding the {@link SeriesBlock}s of one partition of a time series.
+ *
+ * The file starts with a header, followed by the blocks, each prefixed with its length. Blocks are only ever appended
+ * to a file, changing existing points rewrites the whole file. Files are read completely into a heap buffer, so they are
+ * never mapped while they are replaced or deleted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class SeriesSegment {
+
+    /** flag of segments whose points have been downsampled */
+    static final int FLAG_DOWNSAMPLED = 1;
+
+    private static final int MAGIC = 0x45534854;
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+
+    private final int flags;
+    private final List<SeriesBlock> blocks;
+    private final long validLength;
+
+    private SeriesSegment(int flags, List<SeriesBlock> blocks, long validLength) {
+        this.flags = flags;
+        this.blocks = blocks;
+        this.validLength = validLength;
+    }
+
+    /**
+     * Reads a segment file and the headers of its blocks.
+     *
+     * An incomplete block at the end of the file, e.g. after a crash while appending, is ignored.
+     *
+     * @param file the segment file
+     * @return the segment
+     * @throws IOException if the file can't be read or is no segment file
+     */
+    static SeriesSegment read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment file '" + file + "' is too large");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            throw new IOException("'" + file + "' is no segment file");
+        }
+        int flags = buffer.get(5);
+        List<SeriesBlock> blocks = new ArrayList<>();
+        int position = HEADER_LENGTH;
+        while (position + 4 <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + 4 + length > buffer.limit()) {
+                break;
+            }
+            blocks.add(SeriesBlock.read(buffer, position + 4));
+            position += 4 + length;
+        }
+        return new SeriesSegment(flags, Collections.unmodifiableList(blocks), position);
+    }
+
+    boolean isDownsampled() {
+        return (flags & FLAG_DOWNSAMPLED) != 0;
+    }
+
+    /**
+     * @return the blocks in ascending order
+     */
+    List<SeriesBlock> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the length of the complete blocks and the header
+     */
+    long getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * Decodes all points of this segment.
+     *
+     * @return the points in ascending order
+     */
+    List<SeriesPoint> readPoints() {
+        List<SeriesPoint> points = new ArrayList<>();
+        for (SeriesBlock block : blocks) {
+            points.addAll(block.decode());
+        }
+        return points;
+    }
+
+    /**
+     * Appends points to a segment file, creating the file if it doesn't exist.
+     *
+     * @param file the segment file
+     * @param points the points in ascending order, all newer than the points in the file
+     * @throws IOException if the file can't be written
+     */
+    static void append(Path file, List<SeriesPoint> points) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            write(channel, points, channel.size() == 0, 0);
+        }
+    }
+
+    /**
+     * Replaces the content of a segment file. The file is replaced atomically, so readers either see the old or the
+     * new content.
+     *
+     * @param file the segment file
+     * @param points the points in ascending order, the file is deleted if there are none
+     * @param flags the flags of the segment
+     * @throws IOException if the file can't be written
+     */
+    static void replace(Path file, List<SeriesPoint> points, int flags) throws IOException {
+        if (points.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, points, true, flags);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Cuts off an incomplete block at the end of a segment file.
+     *
+     * @param file the segment file
+     * @param length the valid length of the file
+     * @throws IOException if the file can't be written
+     */
+    static void truncate(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    private static void write(FileChannel channel, List<SeriesPoint> points, boolean header, int flags)
+            throws IOException {
+        List<byte[]> blocks = SeriesBlock.encode(points);
+        int length = header ? HEADER_LENGTH : 0;
+        for (byte[] block : blocks) {
+            length += 4 + block.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        if (header) {
+            buffer.putInt(MAGIC).put(VERSION).put((byte) flags).putShort((short) 0);
+        }
+        for (byte[] block : blocks) {
+            buffer.putInt(block.length).put(block);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -18,7 +18,6 @@ import java.util.List;
 
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
-import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.TypeAdapter;
@@ -34,15 +33,41 @@ import com.google.gson.stream.JsonWriter;
 public class StateTypeAdapter extends TypeAdapter<State> {
     private static final String TYPE_SEPARATOR = "@@@";
 
-    private final Logger logger = LoggerFactory.getLogger(StateTypeAdapter.class);
-
     @Override
     public State read(JsonReader reader) throws IOException {
         if (reader.peek() == JsonToken.NULL) {
             reader.nextNull();
             return null;
         }
-        String value = reader.nextString();
+        return deserialize(reader.nextString());
+    }
+
+    @Override
+    public void write(JsonWriter writer, State state) throws IOException {
+        if (state == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.value(serialize(state));
+    }
+
+    /**
+     * Converts a state into the string format used by this adapter.
+     *
+     * @param state the state
+     * @return the name of the state class and the full string of the state
+     */
+    static String serialize(State state) {
+        return state.getClass().getName() + TYPE_SEPARATOR + state.toFullString();
+    }
+
+    /**
+     * Parses a state from the string format used by this adapter.
+     *
+     * @param value the value created by {@link #serialize(State)}
+     * @return the state, or null if the value can't be parsed
+     */
+    static State deserialize(String value) {
         String[] parts = value.split(TYPE_SEPARATOR);
         String valueTypeName = parts[0];
         String valueAsString = parts[1];
@@ -53,18 +78,9 @@ public class StateTypeAdapter extends TypeAdapter<State> {
             List<Class<? extends State>> types = Collections.singletonList(valueType);
             return TypeParser.parseState(types, valueAsString);
         } catch (Exception e) {
-            logger.warn("Couldn't deserialize state '{}': {}", value, e.getMessage());
+            LoggerFactory.getLogger(StateTypeAdapter.class).warn("Couldn't deserialize state '{}': {}", value,
+                    e.getMessage());
         }
         return null;
     }
-
-    @Override
-    public void write(JsonWriter writer, State state) throws IOException {
-        if (state == null) {
-            writer.nullValue();
-            return;
-        }
-        String value = state.getClass().getName() + TYPE_SEPARATOR + state.toFullString();
-        writer.value(value);
-    }
 }
@@ -0,0 +1,422 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * The points of a single item, stored in one directory with a {@link SeriesSegment} file per day.
+ *
+ * New points are buffered in memory and appended to the segment files by {@link #flush()}. Points which are not
+ * newer than the flushed points are written into their segment file right away.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class TimeSeries {
+
+    static final long PARTITION_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** the points which aren't flushed yet in ascending order, all newer than {@link #flushedUntil} */
+    private final List<SeriesPoint> buffer = new ArrayList<>();
+    private long flushedUntil = Long.MIN_VALUE;
+    private volatile boolean initialized;
+
+    TimeSeries(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Adds a point, replacing a point with the same timestamp.
+     *
+     * @param timestamp the timestamp
+     * @param state the state
+     * @return the number of buffered points
+     * @throws IOException if the point is older than the flushed points and can't be written
+     */
+    int add(long timestamp, State state) throws IOException {
+        initialize();
+        SeriesPoint point = new SeriesPoint(timestamp, state);
+        lock.writeLock().lock();
+        try {
+            if (timestamp > flushedUntil) {
+                insert(buffer, point);
+            } else {
+                flushBuffer();
+                long partition = partitionOf(timestamp);
+                Path file = segmentFile(partition);
+                SeriesSegment segment = Files.exists(file) ? SeriesSegment.read(file) : null;
+                List<SeriesPoint> points = segment == null ? new ArrayList<>() : segment.readPoints();
+                insert(points, point);
+                SeriesSegment.replace(file, points,
+                        segment != null && segment.isDownsampled() ? SeriesSegment.FLAG_DOWNSAMPLED : 0);
+            }
+            return buffer.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the buffered points to their segment files.
+     *
+     * @throws IOException if a segment file can't be written, the points which weren't written remain buffered
+     */
+    void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            flushBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visits the points of a time range.
+     *
+     * @param begin the first timestamp (inclusive)
+     * @param end the last timestamp (inclusive)
+     * @param descending whether to visit the newest point first
+     * @param visitor the visitor, which returns false to stop the scan
+     * @throws IOException if a segment file can't be read
+     */
+    void scan(long begin, long end, boolean descending, Predicate<SeriesPoint> visitor) throws IOException {
+        initialize();
+        lock.readLock().lock();
+        try {
+            List<Long> partitions = getPartitions(partitionOf(begin), partitionOf(end));
+            if (descending) {
+                Collections.reverse(partitions);
+                if (!visit(buffer, begin, end, true, visitor)) {
+                    return;
+                }
+            }
+            for (long partition : partitions) {
+                List<SeriesBlock> blocks = new ArrayList<>(SeriesSegment.read(segmentFile(partition)).getBlocks());
+                if (descending) {
+                    Collections.reverse(blocks);
+                }
+                for (SeriesBlock block : blocks) {
+                    if (block.getLastTimestamp() >= begin && block.getFirstTimestamp() <= end
+                            && !visit(block.decode(), begin, end, descending, visitor)) {
+                        return;
+                    }
+                }
+            }
+            if (!descending) {
+                visit(buffer, begin, end, false, visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queries a page of the points of a time range.
+     *
+     * @param begin the first timestamp (inclusive)
+     * @param end the last timestamp (inclusive)
+     * @param descending whether to return the newest point first
+     * @param filter the filter for the states of the points
+     * @param skip the number of matching points to skip
+     * @param limit the maximum number of points to return
+     * @return the points
+     * @throws IOException if a segment file can't be read
+     */
+    List<SeriesPoint> query(long begin, long end, boolean descending, Predicate<State> filter, long skip, int limit)
+            throws IOException {
+        List<SeriesPoint> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        long[] skipped = new long[1];
+        scan(begin, end, descending, point -> {
+            if (filter.test(point.state)) {
+                if (skipped[0] < skip) {
+                    skipped[0]++;
+                } else {
+                    result.add(point);
+                }
+            }
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    /**
+     * @return the newest point or null if there are no points
+     * @throws IOException if a segment file can't be read
+     */
+    @Nullable
+    SeriesPoint getNewest() throws IOException {
+        List<SeriesPoint> newest = query(Long.MIN_VALUE, Long.MAX_VALUE, true, state -> true, 0, 1);
+        return newest.isEmpty() ? null : newest.get(0);
+    }
+
+    /**
+     * Removes the points of a time range whose states match a filter. The directory is deleted if no points are left.
+     *
+     * @param begin the first timestamp (inclusive)
+     * @param end the last timestamp (inclusive)
+     * @param filter the filter for the states to remove, or null to remove all points of the range
+     * @throws IOException if a segment file can't be written
+     */
+    void remove(long begin, long end, @Nullable Predicate<State> filter) throws IOException {
+        initialize();
+        lock.writeLock().lock();
+        try {
+            flushBuffer();
+            for (long partition : getPartitions(partitionOf(begin), partitionOf(end))) {
+                Path file = segmentFile(partition);
+                if (filter == null && begin <= partition * PARTITION_MILLIS
+                        && end >= (partition + 1) * PARTITION_MILLIS - 1) {
+                    Files.delete(file);
+                } else {
+                    SeriesSegment segment = SeriesSegment.read(file);
+                    List<SeriesPoint> points = segment.readPoints();
+                    if (points.removeIf(point -> point.timestamp >= begin && point.timestamp <= end
+                            && (filter == null || filter.test(point.state)))) {
+                        SeriesSegment.replace(file, points,
+                                segment.isDownsampled() ? SeriesSegment.FLAG_DOWNSAMPLED : 0);
+                    }
+                }
+            }
+            List<Long> remaining = getPartitions(Long.MIN_VALUE, Long.MAX_VALUE);
+            if (remaining.isEmpty()) {
+                Files.deleteIfExists(directory);
+                flushedUntil = Long.MIN_VALUE;
+            } else {
+                List<SeriesBlock> blocks = SeriesSegment.read(segmentFile(remaining.get(remaining.size() - 1)))
+                        .getBlocks();
+                flushedUntil = blocks.isEmpty() ? Long.MIN_VALUE : blocks.get(blocks.size() - 1).getLastTimestamp();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the segment files whose points are all older than a timestamp.
+     *
+     * @param timestamp the timestamp
+     * @throws IOException if a segment file can't be deleted
+     */
+    void deleteBefore(long timestamp) throws IOException {
+        initialize();
+        lock.writeLock().lock();
+        try {
+            for (long partition : getPartitions(Long.MIN_VALUE, partitionOf(timestamp) - 1)) {
+                Files.delete(segmentFile(partition));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Downsamples the segment files whose points are all older than a timestamp and which aren't downsampled yet.
+     *
+     * @param timestamp the timestamp
+     * @param interval the length of the intervals in milliseconds which are reduced to a single point
+     * @throws IOException if a segment file can't be written
+     */
+    void downsampleBefore(long timestamp, long interval) throws IOException {
+        initialize();
+        lock.writeLock().lock();
+        try {
+            for (long partition : getPartitions(Long.MIN_VALUE, partitionOf(timestamp) - 1)) {
+                Path file = segmentFile(partition);
+                SeriesSegment segment = SeriesSegment.read(file);
+                if (!segment.isDownsampled()) {
+                    SeriesSegment.replace(file, downsample(segment.readPoints(), interval),
+                            SeriesSegment.FLAG_DOWNSAMPLED);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reduces the points of each interval to a single point with the timestamp of the last point in the interval.
+     * Numeric states of the same type and unit are averaged, otherwise the last state of the interval is kept.
+     *
+     * @param points the points in ascending order
+     * @param interval the length of the intervals in milliseconds
+     * @return the reduced points
+     */
+    static List<SeriesPoint> downsample(List<SeriesPoint> points, long interval) {
+        List<SeriesPoint> result = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= points.size(); i++) {
+            if (i == points.size() || Math.floorDiv(points.get(i).timestamp, interval) != Math
+                    .floorDiv(points.get(start).timestamp, interval)) {
+                result.add(reduce(points.subList(start, i)));
+                start = i;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static SeriesPoint reduce(List<SeriesPoint> points) {
+        SeriesPoint last = points.get(points.size() - 1);
+        double sum = 0;
+        for (SeriesPoint point : points) {
+            if (!isSameNumericType(point.state, last.state)) {
+                return last;
+            }
+            sum += point.state instanceof QuantityType ? ((QuantityType<?>) point.state).doubleValue()
+                    : ((DecimalType) point.state).doubleValue();
+        }
+        BigDecimal average = SeriesBlock.toDecimal(sum / points.size());
+        State state;
+        if (last.state instanceof QuantityType) {
+            state = new QuantityType(average, ((QuantityType<?>) last.state).getUnit());
+        } else if (last.state instanceof PercentType) {
+            state = new PercentType(average);
+        } else {
+            state = new DecimalType(average);
+        }
+        return new SeriesPoint(last.timestamp, state);
+    }
+
+    private static boolean isSameNumericType(State state, State other) {
+        if (state.getClass() != other.getClass()) {
+            return false;
+        } else if (state instanceof QuantityType) {
+            return ((QuantityType<?>) state).getUnit().equals(((QuantityType<?>) other).getUnit());
+        } else {
+            return state.getClass() == DecimalType.class || state.getClass() == PercentType.class;
+        }
+    }
+
+    private void initialize() throws IOException {
+        if (initialized) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                List<Long> partitions = getPartitions(Long.MIN_VALUE, Long.MAX_VALUE);
+                if (!partitions.isEmpty()) {
+                    Path file = segmentFile(partitions.get(partitions.size() - 1));
+                    SeriesSegment segment = SeriesSegment.read(file);
+                    if (segment.getValidLength() < Files.size(file)) {
+                        SeriesSegment.truncate(file, segment.getValidLength());
+                    }
+                    List<SeriesBlock> blocks = segment.getBlocks();
+                    if (!blocks.isEmpty()) {
+                        flushedUntil = blocks.get(blocks.size() - 1).getLastTimestamp();
+                    }
+                }
+                initialized = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        while (!buffer.isEmpty()) {
+            long partition = partitionOf(buffer.get(0).timestamp);
+            int end = 1;
+            while (end < buffer.size() && partitionOf(buffer.get(end).timestamp) == partition) {
+                end++;
+            }
+            List<SeriesPoint> points = buffer.subList(0, end);
+            SeriesSegment.append(segmentFile(partition), points);
+            flushedUntil = points.get(points.size() - 1).timestamp;
+            points.clear();
+        }
+    }
+
+    private List<Long> getPartitions(long first, long last) throws IOException {
+        TreeSet<Long> partitions = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long partition = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    if (partition >= first && partition <= last) {
+                        partitions.add(partition);
+                    }
+                } catch (NumberFormatException e) {
+                    // not a segment file
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // nothing flushed yet
+        }
+        return new ArrayList<>(partitions);
+    }
+
+    private Path segmentFile(long partition) {
+        return directory.resolve(partition + SEGMENT_SUFFIX);
+    }
+
+    private static long partitionOf(long timestamp) {
+        return Math.floorDiv(timestamp, PARTITION_MILLIS);
+    }
+
+    private static boolean visit(List<SeriesPoint> points, long begin, long end, boolean descending,
+            Predicate<SeriesPoint> visitor) {
+        for (int i = 0; i < points.size(); i++) {
+            SeriesPoint point = points.get(descending ? points.size() - 1 - i : i);
+            if (point.timestamp >= begin && point.timestamp <= end && !visitor.test(point)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void insert(List<SeriesPoint> points, SeriesPoint point) {
+        int index = points.size();
+        while (index > 0 && points.get(index - 1).timestamp > point.timestamp) {
+            index--;
+        }
+        if (index > 0 && points.get(index - 1).timestamp == point.timestamp) {
+            points.set(index - 1, point);
+        } else {
+            points.add(index, point);
+        }
+    }
+}
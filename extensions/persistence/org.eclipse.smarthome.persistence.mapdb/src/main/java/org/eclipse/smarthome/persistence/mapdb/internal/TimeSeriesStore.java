@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2014,2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Holds the {@link TimeSeries} of all items, each in a sub directory named after the encoded item name.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class TimeSeriesStore {
+
+    private final Path directory;
+    private final Map<String, TimeSeries> series = new ConcurrentHashMap<>();
+
+    TimeSeriesStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the time series of an item, which is empty if nothing has been stored for the item yet.
+     *
+     * @param name the item name
+     * @return the time series
+     */
+    TimeSeries get(String name) {
+        return series.computeIfAbsent(name, n -> new TimeSeries(directory.resolve(encode(n))));
+    }
+
+    /**
+     * @return the names of all items which have a time series on disk or in memory
+     * @throws IOException if the directory can't be listed
+     */
+    List<String> getNames() throws IOException {
+        List<String> names = new ArrayList<>(series.keySet());
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path path : directories) {
+                String name = decode(path.getFileName().toString());
+                if (!series.containsKey(name)) {
+                    names.add(name);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // nothing flushed yet
+        }
+        return names;
+    }
+
+    /**
+     * Flushes the buffered points of all time series.
+     *
+     * @throws IOException if a time series can't be flushed, the other time series are flushed anyway
+     */
+    void flush() throws IOException {
+        @Nullable
+        IOException failure = null;
+        for (TimeSeries timeSeries : series.values()) {
+            try {
+                timeSeries.flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    static String encode(String name) {
+        try {
+            // dots and asterisks are kept by the URL encoding, but would allow names like ".."
+            return URLEncoder.encode(name, StandardCharsets.UTF_8.name()).replace(".", "%2E").replace("*", "%2A");
+        } catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String decode(String fileName) {
+        try {
+            return URLDecoder.decode(fileName, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -16,6 +16,9 @@ import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.CompilableTransformationService;
+import org.eclipse.smarthome.core.transform.CompiledTransformation;
+import org.eclipse.smarthome.core.transform.CompiledTransformationCache;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.UnDefType;
@@ -38,28 +41,55 @@ import com.jayway.jsonpath.PathNotFoundException;
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
-public class JSonPathTransformationService implements TransformationService {
+public class JSonPathTransformationService implements CompilableTransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final CompiledTransformationCache cache = new CompiledTransformationCache();
+
+    /**
+     * Compiles the JSonPath expression.
+     *
+     * @param jsonPathExpression JsonPath expression
+     * @throws TransformationException If the JsonPath expression is invalid, a {@link InvalidPathException} is thrown,
+     *             which is encapsulated in a {@link TransformationException}.
+     */
+    @Override
+    public CompiledTransformation compile(String jsonPathExpression) throws TransformationException {
+        if (jsonPathExpression == null) {
+            throw new TransformationException("the given parameters 'JSonPath' and 'source' must not be null");
+        }
+        return cache.get(jsonPathExpression, this::compileJsonPath);
+    }
+
+    private CompiledTransformation compileJsonPath(String jsonPathExpression) throws TransformationException {
+        try {
+            JsonPath jsonPath = JsonPath.compile(jsonPathExpression);
+            return source -> transform(jsonPath, jsonPathExpression, source);
+        } catch (InvalidPathException e) {
+            throw new TransformationException("An error occurred while transforming JSON expression.", e);
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
-     * @param function JsonPath expression
+     * @param jsonPath the compiled JsonPath expression
+     * @param jsonPathExpression JsonPath expression
      * @param source String which contains JSON
      * @throws TransformationException If the JsonPath expression is invalid, a {@link InvalidPathException} is thrown,
      *             which is encapsulated in a {@link TransformationException}.
      */
-    @Override
-    public @Nullable String transform(String jsonPathExpression, String source) throws TransformationException {
-        if (jsonPathExpression == null || source == null) {
+    private @Nullable String transform(JsonPath jsonPath, String jsonPathExpression, String source)
+            throws TransformationException {
+        if (source == null) {
             throw new TransformationException("the given parameters 'JSonPath' and 'source' must not be null");
         }
 
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = jsonPath.read(source);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
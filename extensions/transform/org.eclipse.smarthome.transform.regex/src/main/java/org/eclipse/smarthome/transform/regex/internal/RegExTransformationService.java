@@ -14,9 +14,13 @@ package org.eclipse.smarthome.transform.regex.internal;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.CompilableTransformationService;
+import org.eclipse.smarthome.core.transform.CompiledTransformation;
+import org.eclipse.smarthome.core.transform.CompiledTransformationCache;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -34,39 +38,57 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=REGEX" })
-public class RegExTransformationService implements TransformationService {
+public class RegExTransformationService implements CompilableTransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    private final CompiledTransformationCache cache = new CompiledTransformationCache();
+
     @Override
-    public @Nullable String transform(String regExpression, String source) throws TransformationException {
-        if (regExpression == null || source == null) {
+    public CompiledTransformation compile(String regExpression) throws TransformationException {
+        if (regExpression == null) {
             throw new TransformationException("the given parameters 'regex' and 'source' must not be null");
         }
+        return cache.get(regExpression, this::compileRegex);
+    }
+
+    private CompiledTransformation compileRegex(String regExpression) throws TransformationException {
+        try {
+            Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+            if (substMatcher.matches()) {
+                Pattern regex = Pattern.compile(substMatcher.group(1));
+                String substitution = substMatcher.group(2);
+                boolean global = substMatcher.group(3).equals("g");
+                return source -> substitute(regExpression, regex, substitution, global, source);
+            }
+
+            Pattern pattern = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL);
+            return source -> extract(pattern, regExpression, source);
+        } catch (PatternSyntaxException e) {
+            throw new TransformationException("the given regex '" + regExpression + "' is invalid", e);
+        }
+    }
 
+    private String substitute(String regExpression, Pattern regex, String substitution, boolean global,
+            String source) throws TransformationException {
+        checkSource(source);
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
+        logger.debug("Using substitution form of regex transformation");
 
-        String result = "";
+        Matcher matcher = regex.matcher(source.trim());
+        return global ? matcher.replaceAll(substitution) : matcher.replaceFirst(substitution);
+    }
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
-            logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
-        }
+    private @Nullable String extract(Pattern pattern, String regExpression, String source)
+            throws TransformationException {
+        checkSource(source);
+        logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
+
+        String result = "";
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = pattern.matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -95,4 +117,10 @@ public class RegExTransformationService implements TransformationService {
         return result;
     }
 
+    private void checkSource(String source) throws TransformationException {
+        if (source == null) {
+            throw new TransformationException("the given parameters 'regex' and 'source' must not be null");
+        }
+    }
+
 }
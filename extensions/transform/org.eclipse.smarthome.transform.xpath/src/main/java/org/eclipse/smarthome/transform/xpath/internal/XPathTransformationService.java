@@ -16,6 +16,7 @@ import java.io.StringReader;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -23,6 +24,9 @@ import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.CompilableTransformationService;
+import org.eclipse.smarthome.core.transform.CompiledTransformation;
+import org.eclipse.smarthome.core.transform.CompiledTransformationCache;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -39,46 +43,73 @@ import org.xml.sax.InputSource;
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
-public class XPathTransformationService implements TransformationService {
+public class XPathTransformationService implements CompilableTransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final CompiledTransformationCache cache = new CompiledTransformationCache();
+
+    /* document builders are not thread-safe, but may be reused for parsing several documents */
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        try {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            return domFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     @Override
-    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
-        if (xpathExpression == null || source == null) {
+    public CompiledTransformation compile(String xpathExpression) throws TransformationException {
+        if (xpathExpression == null) {
             throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
         }
+        return cache.get(xpathExpression, this::compileXPath);
+    }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+    private CompiledTransformation compileXPath(String xpathExpression) throws TransformationException {
+        try {
+            XPath xpath = XPathFactory.newInstance().newXPath();
+            XPathExpression expr = xpath.compile(xpathExpression);
+            return source -> transform(expr, xpathExpression, source);
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
 
-        StringReader stringReader = null;
+    private @Nullable String transform(XPathExpression expr, String xpathExpression, String source)
+            throws TransformationException {
+        if (source == null) {
+            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+        }
 
-        try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-            stringReader = new StringReader(source);
+        try (StringReader stringReader = new StringReader(source)) {
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            DocumentBuilder builder = documentBuilder.get();
+            Document doc;
+            try {
+                doc = builder.parse(inputSource);
+            } finally {
+                builder.reset();
+            }
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            // compiled XPath expressions are not thread-safe
+            String transformationResult;
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
-            }
         }
     }
 
@@ -14,6 +14,9 @@ package org.eclipse.smarthome.transform.xslt.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,4 +43,15 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformStreamByXSLT() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor.transform("http/google_weather.xsl",
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+    }
+
 }
@@ -13,18 +13,20 @@
 package org.eclipse.smarthome.transform.xslt.internal;
 
 import java.io.File;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 
 import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -35,14 +37,18 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * The stylesheets are compiled once into {@link Templates} and kept until their file is modified or deleted.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+@Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=XSLT" })
+public class XsltTransformationService extends AbstractFileTransformationService<Templates> {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,35 +66,59 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
+
+        return transform(getTransform(filename), new StreamSource(new StringReader(source)));
+    }
+
+    /**
+     * Transforms the document read from <code>source</code> by XSLT without reading it into a string first.
+     *
+     * @param filename the name of the file which contains the XSLT transformation rule.
+     *            The name may contain subfoldernames as well
+     * @param source the stream providing the document to transform, which is not closed by this method
+     * @return the transformed document
+     */
+    public String transform(String filename, InputStream source) throws TransformationException {
+        if (filename == null || source == null) {
+            throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
+        }
+
+        logger.debug("about to transform a stream by the function '{}'", filename);
+
+        return transform(getTransform(filename), new StreamSource(source));
+    }
+
+    @Override
+    protected String internalTransform(Templates templates, String source) throws TransformationException {
+        return transform(templates, new StreamSource(new StringReader(source)));
+    }
 
+    @Override
+    protected Templates internalLoadTransform(String filename) throws TransformationException {
         try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
+            synchronized (transformerFactory) {
+                return transformerFactory.newTemplates(new StreamSource(new File(filename)));
+            }
+        } catch (TransformerConfigurationException e) {
             String message = "opening file '" + filename + "' throws exception";
 
             logger.error("{}", message, e);
             throw new TransformationException(message, e);
         }
+    }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
-
-        StringReader xml = new StringReader(source);
+    private String transform(Templates templates, Source xml) throws TransformationException {
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            templates.newTransformer().transform(xml, new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
         }
 
-        logger.debug("transformation resulted in '{}'", out.toString());
+        logger.debug("transformation resulted in '{}'", out);
 
         return out.toString();
     }